@@ -22,11 +22,15 @@ public abstract class BaseService<T, ID> {
     }
 
     public T create(T entity) {
-        return baseRepo.save(entity);
+        T saved = baseRepo.save(entity);
+        afterWrite();
+        return saved;
     }
 
     public List<T> createList(List<T> entity) {
-        return baseRepo.saveAll(entity);
+        List<T> saved = baseRepo.saveAll(entity);
+        afterWrite();
+        return saved;
     }
 
     public T update(ID id, T entity) {
@@ -34,7 +38,9 @@ public abstract class BaseService<T, ID> {
             throw new RuntimeException("Entity not found");
         }
         setEntityId(entity,id);
-        return baseRepo.save(entity);
+        T saved = baseRepo.save(entity);
+        afterWrite();
+        return saved;
     }
 
     public void delete(ID id) {
@@ -42,9 +48,16 @@ public abstract class BaseService<T, ID> {
             throw new RuntimeException("Entity not found");
         }
         baseRepo.deleteById(id);
+        afterWrite();
     }
 
     protected abstract void setEntityId(T entity, ID id);
 
+    /**
+     * Called after every successful create, update or delete, so subclasses can refresh derived in-memory state.
+     */
+    protected void afterWrite() {
+    }
+
 
 }
@@ -0,0 +1,63 @@
+package com.project.warehouse_management_system.BaseClasses;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk JDBC inserts into IDENTITY tables that return the generated ids, so children can be written against the ids
+ * of parents inserted just before. The database assigns every id, so concurrent JPA inserts and other nodes writing
+ * the same table never collide with a bulk insert.
+ */
+@Component
+public class GeneratedKeyBatchInserter {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${warehouse.jdbc.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Inserts rows in JDBC batches and returns their generated ids in row order.
+     */
+    public List<Long> insertReturningIds(String sql, List<Object[]> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Object[]> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            new ArgumentPreparedStatementSetter(batch.get(i)).setValues(ps);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keys);
+            if (keys.getKeyList().size() != batch.size()) {
+                throw new IllegalStateException("Expected " + batch.size() + " generated ids, got "
+                        + keys.getKeyList().size() + ".");
+            }
+            for (Map<String, Object> key : keys.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+}
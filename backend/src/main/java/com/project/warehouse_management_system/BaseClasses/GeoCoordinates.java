@@ -0,0 +1,48 @@
+package com.project.warehouse_management_system.BaseClasses;
+
+public final class GeoCoordinates {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoCoordinates() {
+    }
+
+    /**
+     * The latitude in degrees, or null when the text is not a number within [-90, 90]. Coordinates are entered as
+     * text; entities keep a parsed copy for spatial queries.
+     */
+    public static Double parseLatitude(String value) {
+        return parse(value, 90);
+    }
+
+    /**
+     * The longitude in degrees, or null when the text is not a number within [-180, 180].
+     */
+    public static Double parseLongitude(String value) {
+        return parse(value, 180);
+    }
+
+    /**
+     * Great-circle distance between two points given in degrees.
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double lat1 = Math.toRadians(latitude1);
+        double lat2 = Math.toRadians(latitude2);
+        double sinLat = Math.sin((lat2 - lat1) / 2);
+        double sinLon = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double h = sinLat * sinLat + Math.cos(lat1) * Math.cos(lat2) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    private static Double parse(String value, double limit) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            double degrees = Double.parseDouble(value.trim());
+            return Math.abs(degrees) <= limit ? degrees : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,19 +1,29 @@
 package com.project.warehouse_management_system.BinLocation.Controller;
 
-import com.project.warehouse_management_system.BinLocation.Model.BinLocation;
+import com.project.warehouse_management_system.BinLocation.Dto.BinCodeLinkResultDTO;
+import com.project.warehouse_management_system.BinLocation.Dto.BinGenerationResultDTO;
+import com.project.warehouse_management_system.BinLocation.Dto.BinLayoutDTO;
+import com.project.warehouse_management_system.BinLocation.Service.BinCodeLinkService;
+import com.project.warehouse_management_system.BinLocation.Service.BinCodeSpace;
 import com.project.warehouse_management_system.BinLocation.Service.BinLocationService;
 import com.project.warehouse_management_system.BinLocation.Service.PdfGeneratorService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
+import java.util.Iterator;
 
 @RestController
 @RequestMapping("/bin-locations")
@@ -22,32 +32,57 @@ public class BinLocationController {
     private BinLocationService binLocationService;
     @Autowired
     private PdfGeneratorService pdfGeneratorService;
+    @Autowired
+    private BinCodeLinkService binCodeLinkService;
 
     @PostMapping("/generate")
-    public ResponseEntity<String> generateAndSaveBinLocations() {
-        List<String> areas = Arrays.asList("A", "B"); // Define areas
-        int rows = 16;
-        int bays = 10;
-        int levels = 3;
-        List<String> positions = Arrays.asList("A", "B", "C","D","E");
-
-        // Generate and save locations
-        List<String> binCodes = binLocationService.generateBinLocations(areas, rows, bays, levels, positions);
-        binLocationService.saveBinLocations(binCodes);
-
-        return ResponseEntity.ok("Bin locations generated and saved successfully!");
+    public ResponseEntity<?> generateAndSaveBinLocations(@RequestBody(required = false) BinLayoutDTO layout) {
+        if (layout == null) {
+            layout = new BinLayoutDTO();
+        }
+        try {
+            // Generate and save locations; codes that already exist are kept, so this is safe to repeat
+            BinCodeSpace space = new BinCodeSpace(layout.getAreas(), layout.getRows(), layout.getBays(),
+                    layout.getLevels(), layout.getPositions());
+            BinGenerationResultDTO result = binLocationService.saveBinLocations(space);
+            return ResponseEntity.ok(result);
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
-    @GetMapping("/generate-pdf")
-    public ResponseEntity<String> generateStyledPdf() {
-        List<BinLocation> binLocations = binLocationService.getAllBinLocations(); // Fetch from DB
-        String outputPath = "styled_bin_locations.pdf";
+    @PostMapping("/link")
+    public ResponseEntity<BinCodeLinkResultDTO> linkPositions() {
+        // Rewrites position.bin_code for every position whose stored code differs from its Area/Row/Bay names
+        return ResponseEntity.ok(binCodeLinkService.backfill());
+    }
+
+    @GetMapping("/{code}/position")
+    public ResponseEntity<?> getPosition(@PathVariable String code) {
         try {
-            pdfGeneratorService.generateBinLocationsPdf(outputPath, binLocations);
-            return ResponseEntity.ok("PDF with bin locations and QR codes generated successfully!");
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to generate PDF.");
+            return ResponseEntity.ok(binCodeLinkService.findPosition(code));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/generate-pdf")
+    public ResponseEntity<?> generateStyledPdf(@RequestParam(required = false) String area,
+                                               @RequestParam(required = false) String row,
+                                               @RequestParam(required = false) Integer level,
+                                               @RequestParam(defaultValue = "false") boolean parallel) {
+        // The first page of codes is loaded here, so an empty selection is answered before any PDF bytes are sent
+        Iterator<String> binCodes = binLocationService.iterateCodes(area, row, level);
+        if (!binCodes.hasNext()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No bin locations match the given filters.");
         }
+        StreamingResponseBody body = parallel
+                ? out -> pdfGeneratorService.generateBinLocationsPdfParallel(out, binCodes)
+                : out -> pdfGeneratorService.generateBinLocationsPdf(out, binCodes);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"bin_locations.pdf\"")
+                .body(body);
     }
 }
 
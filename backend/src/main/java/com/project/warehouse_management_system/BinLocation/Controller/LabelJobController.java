@@ -0,0 +1,86 @@
+package com.project.warehouse_management_system.BinLocation.Controller;
+
+import com.project.warehouse_management_system.BinLocation.Dto.LabelJobDTO;
+import com.project.warehouse_management_system.BinLocation.Service.BinLocationService;
+import com.project.warehouse_management_system.BinLocation.Service.LabelJobService;
+import com.project.warehouse_management_system.BinLocation.Service.PdfGeneratorService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/label-jobs")
+public class LabelJobController {
+    @Autowired
+    private LabelJobService labelJobService;
+    @Autowired
+    private BinLocationService binLocationService;
+    @Autowired
+    private PdfGeneratorService pdfGeneratorService;
+
+    @PostMapping("/bin-locations")
+    public ResponseEntity<?> submitBinLabels(@RequestParam(required = false) String area,
+                                             @RequestParam(required = false) String row,
+                                             @RequestParam(required = false) Integer level,
+                                             @RequestParam(defaultValue = "false") boolean parallel) {
+        if (!binLocationService.iterateCodes(area, row, level).hasNext()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No bin locations match the given filters.");
+        }
+        String description = "Bin labels" + (area != null ? " area " + area : "") + (row != null ? " row " + row : "")
+                + (level != null ? " level " + level : "");
+        try {
+            LabelJobDTO job = labelJobService.submit(description,
+                    () -> binLocationService.countCodes(area, row, level),
+                    () -> binLocationService.iterateCodes(area, row, level),
+                    parallel ? pdfGeneratorService::generateBinLocationsPdfParallel : pdfGeneratorService::generateBinLocationsPdf);
+            return ResponseEntity.accepted().location(URI.create("/label-jobs/" + job.getId())).body(job);
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Too many label jobs are queued, try again later.");
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<LabelJobDTO>> getJobs() {
+        return ResponseEntity.ok(labelJobService.getJobs());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getJob(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(labelJobService.getJob(id));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String id) {
+        return labelJobService.subscribe(id);
+    }
+
+    @GetMapping("/{id}/download")
+    public ResponseEntity<?> download(@PathVariable String id) {
+        try {
+            Path file = labelJobService.getResult(id);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"labels-" + id + ".pdf\"")
+                    .body(new FileSystemResource(file));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.project.warehouse_management_system.BinLocation.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BinCodeLinkResultDTO {
+    private long positions;
+    private long linked;
+    private long updated;
+    private long unlinked;          // positions without a complete Area/Row/Bay path
+    private List<String> conflicts; // codes shared by several positions; only the lowest id keeps them
+    private long elapsedMillis;
+}
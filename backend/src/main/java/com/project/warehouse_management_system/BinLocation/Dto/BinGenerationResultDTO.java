@@ -0,0 +1,15 @@
+package com.project.warehouse_management_system.BinLocation.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BinGenerationResultDTO {
+    private long total;
+    private long created;
+    private long alreadyExisting;
+    private long elapsedMillis;
+}
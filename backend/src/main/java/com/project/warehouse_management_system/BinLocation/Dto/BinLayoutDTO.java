@@ -0,0 +1,21 @@
+package com.project.warehouse_management_system.BinLocation.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Layout for bin code generation; unset fields fall back to the original two-area layout.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BinLayoutDTO {
+    private List<String> areas = List.of("A", "B");
+    private int rows = 16;
+    private int bays = 10;
+    private int levels = 3;
+    private List<String> positions = List.of("A", "B", "C", "D", "E");
+}
@@ -0,0 +1,23 @@
+package com.project.warehouse_management_system.BinLocation.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LabelJobDTO {
+    private String id;
+    private String description;
+    private String status;      // QUEUED, RUNNING, DONE, FAILED
+    private Long total;         // known once the job starts running
+    private long completed;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+}
@@ -1,14 +1,12 @@
 package com.project.warehouse_management_system.BinLocation.Model;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
+import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_bin_location_code", columnNames = "code"))
 @Setter
 @Getter
 @NoArgsConstructor
@@ -17,6 +15,7 @@ public class BinLocation {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(nullable = false)
     private String code; // e.g., A-01-01-1-A
 
     public BinLocation(String code) {
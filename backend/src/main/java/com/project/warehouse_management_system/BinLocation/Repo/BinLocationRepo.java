@@ -1,7 +1,18 @@
 package com.project.warehouse_management_system.BinLocation.Repo;
 
 import com.project.warehouse_management_system.BinLocation.Model.BinLocation;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface BinLocationRepo extends JpaRepository<BinLocation, Long> {
+    // Keyset page: codes with the prefix after the given id
+    List<BinLocation> findByCodeStartingWithAndIdGreaterThanOrderByIdAsc(String prefix, Long afterId, Limit limit);
+
+    // Codes like the pattern ('!' escapes) with exactly four separators, so every '%' stands for one whole field
+    @Query("select count(b) from BinLocation b where b.code like :pattern escape '!' " +
+            "and length(b.code) - length(replace(b.code, '-', '')) = 4")
+    long countByCodePattern(String pattern);
 }
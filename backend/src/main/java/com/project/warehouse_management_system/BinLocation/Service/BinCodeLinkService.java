@@ -0,0 +1,220 @@
+package com.project.warehouse_management_system.BinLocation.Service;
+
+import com.project.warehouse_management_system.BinLocation.Dto.BinCodeLinkResultDTO;
+import com.project.warehouse_management_system.WareHouse.Dto.PositionPathDTO;
+import com.project.warehouse_management_system.WareHouse.event.TopologyRefreshedEvent;
+import com.project.warehouse_management_system.WareHouse.repo.PositionBinCodeRow;
+import com.project.warehouse_management_system.WareHouse.repo.PositionRepo;
+import com.project.warehouse_management_system.WareHouse.service.TopologyService;
+import com.project.warehouse_management_system.WareHouse.service.TopologySnapshot;
+import com.project.warehouse_management_system.WareHouse.model.Position;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Keeps {@code position.bin_code} equal to the code printed on the position's bin label, so a scanned code resolves
+ * with one lookup on the unique index. Every topology snapshot is compared with the stored codes and only the
+ * differences are written, which covers new positions as well as renamed areas, rows and bays. Linking runs after
+ * the refresh on its own thread, so codes of a just-changed layout resolve a moment later.
+ * Every linked code also gets its {@code bin_location} row.
+ */
+@Service
+public class BinCodeLinkService {
+
+    private static final Logger log = LoggerFactory.getLogger(BinCodeLinkService.class);
+
+    private static final String CLEAR_BIN_CODE = "update position set bin_code = null where id = ?";
+    private static final String SET_BIN_CODE = "update position set bin_code = ? where id = ?";
+
+    private static final int MAX_REPORTED_CONFLICTS = 50;
+
+    @Autowired
+    private PositionRepo positionRepo;
+    @Autowired
+    private TopologyService topologyService;
+    @Autowired
+    private BinLocationService binLocationService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    @Qualifier("binCodeLinkExecutor")
+    private Executor linkExecutor;
+
+    @Value("${warehouse.jdbc.batch-size:1000}")
+    private int batchSize;
+
+    // Stored codes by position id as last committed; loaded from the database on first use
+    private Map<Long, String> storedCodes;
+    // Version of the snapshot storedCodes was linked from
+    private long linkedVersion = -1;
+    // The newest refreshed snapshot not linked yet; non-null while a link run is queued
+    private final AtomicReference<TopologySnapshot> pending = new AtomicReference<>();
+
+    // The result of one link run and the codes it wrote, adopted as storedCodes once its transaction committed
+    private record Linked(BinCodeLinkResultDTO result, Map<Long, String> codes) {
+    }
+
+    /**
+     * The bin code of a position, or null if its Area/Row/Bay chain is incomplete or a name contains the code
+     * separator; such positions are reported as unlinked.
+     */
+    public static String binCode(PositionPathDTO path) {
+        if (path == null || !BinCodeSpace.isValidName(path.getAreaName()) || !BinCodeSpace.isValidName(path.getRowName())
+                || !BinCodeSpace.isValidName(path.getBayName()) || !BinCodeSpace.isValidName(path.getPositionName())) {
+            return null;
+        }
+        return BinCodeSpace.formatCode(path.getAreaName(), path.getRowName(), path.getBayName(), path.getLevel(),
+                path.getPositionName());
+    }
+
+    /**
+     * Links in the background, so the synchronized topology refresh does not wait for the position writes. Only the
+     * newest snapshot that arrived while a run was busy is linked next.
+     */
+    @EventListener
+    public void onTopologyRefreshed(TopologyRefreshedEvent event) {
+        TopologySnapshot previous = pending.getAndAccumulate(event.snapshot(),
+                (queued, latest) -> queued == null || latest.getVersion() > queued.getVersion() ? latest : queued);
+        if (previous != null) {
+            return;
+        }
+        try {
+            linkExecutor.execute(this::linkPending);
+        } catch (TaskRejectedException e) {
+            pending.set(null);
+            log.warn("Could not queue bin code linking for topology version {}", event.snapshot().getVersion(), e);
+        }
+    }
+
+    private synchronized void linkPending() {
+        TopologySnapshot snapshot = pending.getAndSet(null);
+        // backfill() may already have linked a newer snapshot
+        if (snapshot == null || snapshot.getVersion() <= linkedVersion) {
+            return;
+        }
+        try {
+            Map<Long, String> known = storedCodes;
+            storedCodes = inNewTransaction(() -> link(snapshot, known != null ? known : loadStoredCodes())).codes();
+            linkedVersion = snapshot.getVersion();
+        } catch (RuntimeException e) {
+            // The stored codes are reloaded next time
+            log.warn("Could not link bin codes for topology version {}", snapshot.getVersion(), e);
+            storedCodes = null;
+        }
+    }
+
+    /**
+     * Recomputes every position's code against what is actually in the database, e.g. after rows were changed
+     * with plain SQL.
+     */
+    public synchronized BinCodeLinkResultDTO backfill() {
+        TopologySnapshot snapshot = topologyService.getSnapshot();
+        storedCodes = null;
+        Linked linked = inNewTransaction(() -> link(snapshot, loadStoredCodes()));
+        storedCodes = linked.codes();
+        linkedVersion = snapshot.getVersion();
+        return linked.result();
+    }
+
+    /**
+     * Resolves a bin code through the unique index on {@code position.bin_code}.
+     */
+    public PositionPathDTO findPosition(String binCode) {
+        Position position = positionRepo.findByBinCode(binCode.trim())
+                .orElseThrow(() -> new EntityNotFoundException("No position is linked to bin code: " + binCode));
+        PositionPathDTO path = topologyService.getSnapshot().path(position.getId());
+        return path != null ? path : topologyService.refresh().path(position.getId());
+    }
+
+    /**
+     * Runs in its own transaction, so the codes are committed before they are adopted as storedCodes, also when
+     * backfill() is called from within a caller's transaction.
+     */
+    private Linked inNewTransaction(Supplier<Linked> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template.execute(status -> work.get());
+    }
+
+    private Linked link(TopologySnapshot snapshot, Map<Long, String> stored) {
+        long started = System.currentTimeMillis();
+        List<TopologySnapshot.PositionNode> positions = new ArrayList<>(snapshot.positions());
+        // The oldest position keeps a code that several positions share, e.g. equally named areas in two locations
+        positions.sort(Comparator.comparingLong(TopologySnapshot.PositionNode::id));
+
+        Map<String, Long> owners = new HashMap<>(positions.size() * 2);
+        Map<Long, String> desired = new HashMap<>(positions.size() * 2);
+        Set<String> conflicts = new TreeSet<>();
+        long unlinked = 0;
+        for (TopologySnapshot.PositionNode position : positions) {
+            String code = binCode(snapshot.path(position.id()));
+            if (code == null) {
+                unlinked++;
+            } else if (owners.putIfAbsent(code, position.id()) != null) {
+                conflicts.add(code);
+                code = null;
+            }
+            desired.put(position.id(), code);
+        }
+
+        List<Object[]> clears = new ArrayList<>();
+        List<Object[]> sets = new ArrayList<>();
+        List<String> newCodes = new ArrayList<>();
+        long updated = 0;
+        for (Map.Entry<Long, String> entry : desired.entrySet()) {
+            String previous = stored.get(entry.getKey());
+            String code = entry.getValue();
+            if (Objects.equals(previous, code)) {
+                continue;
+            }
+            updated++;
+            // Cleared first, so two positions can swap codes without tripping the unique index
+            if (previous != null) {
+                clears.add(new Object[]{entry.getKey()});
+            }
+            if (code != null) {
+                sets.add(new Object[]{code, entry.getKey()});
+                newCodes.add(code);
+            }
+        }
+        updateInBatches(CLEAR_BIN_CODE, clears);
+        updateInBatches(SET_BIN_CODE, sets);
+        binLocationService.saveBinLocations(newCodes);
+
+        // Deleted positions drop out of desired as well
+        return new Linked(new BinCodeLinkResultDTO(positions.size(), owners.size(), updated, unlinked,
+                conflicts.stream().limit(MAX_REPORTED_CONFLICTS).toList(), System.currentTimeMillis() - started), desired);
+    }
+
+    private Map<Long, String> loadStoredCodes() {
+        Map<Long, String> codes = new HashMap<>();
+        for (PositionBinCodeRow row : positionRepo.findBinCodeRows()) {
+            codes.put(row.getId(), row.getBinCode());
+        }
+        return codes;
+    }
+
+    private void updateInBatches(String sql, List<Object[]> args) {
+        for (int from = 0; from < args.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, args.subList(from, Math.min(from + batchSize, args.size())));
+        }
+    }
+}
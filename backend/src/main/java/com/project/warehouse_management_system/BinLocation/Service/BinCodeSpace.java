@@ -0,0 +1,289 @@
+package com.project.warehouse_management_system.BinLocation.Service;
+
+import jakarta.validation.ValidationException;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The cartesian product of a bin layout, generated lazily. Each bin is a packed {@code long}
+ * (area index 16 bits, row 16, bay 16, level 8, position index 8) and is only formatted as an
+ * {@code A-01-01-1-A} code when asked for, so even huge layouts never sit in memory as strings.
+ */
+public final class BinCodeSpace {
+
+    public static final char SEPARATOR = '-';
+
+    /**
+     * The fields of a bin code as written by {@link #formatCode}.
+     */
+    public record Fields(String area, String row, String bay, int level, String position) {
+    }
+
+    // Generated codes are listed and inserted in one request; larger layouts are split across areas
+    public static final long MAX_SIZE = 10_000_000L;
+
+    private static final int POSITION_BITS = 8;
+    private static final int LEVEL_BITS = 8;
+    private static final int BAY_BITS = 16;
+    private static final int ROW_BITS = 16;
+
+    private static final int LEVEL_SHIFT = POSITION_BITS;
+    private static final int BAY_SHIFT = LEVEL_SHIFT + LEVEL_BITS;
+    private static final int ROW_SHIFT = BAY_SHIFT + BAY_BITS;
+    private static final int AREA_SHIFT = ROW_SHIFT + ROW_BITS;
+
+    private final List<String> areas;
+    private final int rows;
+    private final int bays;
+    private final int levels;
+    private final List<String> positions;
+    private final long size;
+
+    public BinCodeSpace(List<String> areas, int rows, int bays, int levels, List<String> positions) {
+        if (areas == null || areas.isEmpty() || positions == null || positions.isEmpty()) {
+            throw new ValidationException("At least one area and one position must be specified.");
+        }
+        if (rows < 1 || bays < 1 || levels < 1) {
+            throw new ValidationException("Rows, bays and levels must be at least 1.");
+        }
+        if (areas.size() > 1 << 16 || rows >= 1 << ROW_BITS || bays >= 1 << BAY_BITS
+                || levels >= 1 << LEVEL_BITS || positions.size() > 1 << POSITION_BITS) {
+            throw new ValidationException("Layout exceeds the bin code limits (65536 areas, 65535 rows and bays, "
+                    + "255 levels, 256 positions).");
+        }
+        if (!areas.stream().allMatch(BinCodeSpace::isValidName) || !positions.stream().allMatch(BinCodeSpace::isValidName)) {
+            throw new ValidationException("Area and position names must not be blank or contain '" + SEPARATOR + "'.");
+        }
+        this.areas = List.copyOf(areas);
+        this.rows = rows;
+        this.bays = bays;
+        this.levels = levels;
+        this.positions = List.copyOf(positions);
+        this.size = sizeOf(areas.size(), rows, bays, levels, positions.size());
+    }
+
+    // The field limits alone allow 2^64 bins, which does not fit a long
+    private static long sizeOf(int areas, int rows, int bays, int levels, int positions) {
+        try {
+            long size = Math.multiplyExact(Math.multiplyExact(Math.multiplyExact(Math.multiplyExact(
+                    (long) areas, rows), bays), levels), positions);
+            if (size <= MAX_SIZE) {
+                return size;
+            }
+        } catch (ArithmeticException e) {
+            // Reported below like any other layout above the cap
+        }
+        throw new ValidationException("Layout has more than " + MAX_SIZE + " bins; generate it in smaller parts.");
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Packs the bin at {@code ordinal} in generation order: area, then row, bay, level and position.
+     */
+    public long packedAt(long ordinal) {
+        int position = (int) (ordinal % positions.size());
+        ordinal /= positions.size();
+        int level = (int) (ordinal % levels) + 1;
+        ordinal /= levels;
+        int bay = (int) (ordinal % bays) + 1;
+        ordinal /= bays;
+        int row = (int) (ordinal % rows) + 1;
+        int area = (int) (ordinal / rows);
+        return pack(area, row, bay, level, position);
+    }
+
+    public static long pack(int areaIndex, int row, int bay, int level, int positionIndex) {
+        return (long) areaIndex << AREA_SHIFT
+                | (long) row << ROW_SHIFT
+                | (long) bay << BAY_SHIFT
+                | (long) level << LEVEL_SHIFT
+                | positionIndex;
+    }
+
+    public static int areaIndex(long packed) {
+        return (int) (packed >>> AREA_SHIFT) & 0xFFFF;
+    }
+
+    public static int row(long packed) {
+        return (int) (packed >>> ROW_SHIFT) & 0xFFFF;
+    }
+
+    public static int bay(long packed) {
+        return (int) (packed >>> BAY_SHIFT) & 0xFFFF;
+    }
+
+    public static int level(long packed) {
+        return (int) (packed >>> LEVEL_SHIFT) & 0xFF;
+    }
+
+    public static int positionIndex(long packed) {
+        return (int) packed & 0xFF;
+    }
+
+    public String format(long packed) {
+        return formatCode(areas.get(areaIndex(packed)), row(packed), bay(packed), level(packed),
+                positions.get(positionIndex(packed)));
+    }
+
+    /**
+     * Same output as {@code String.format("%s-%02d-%02d-%d-%s", ...)} without parsing a format string per code.
+     */
+    public static String formatCode(String area, int row, int bay, int level, String position) {
+        StringBuilder code = new StringBuilder(area.length() + position.length() + 12);
+        code.append(area).append('-');
+        appendTwoDigits(code, row).append('-');
+        appendTwoDigits(code, bay).append('-');
+        return code.append(level).append('-').append(position).toString();
+    }
+
+    /**
+     * Bin code of a position from its Area/Row/Bay names; numeric row and bay names are padded like generated codes.
+     * Callers check the names with {@link #isValidName} first, otherwise the code cannot be parsed back.
+     */
+    public static String formatCode(String area, String rowName, String bayName, int level, String position) {
+        return area + "-" + twoDigits(rowName) + "-" + twoDigits(bayName) + "-" + level + "-" + position;
+    }
+
+    /**
+     * Whether a name can be a field of a bin code: not blank and without the separator.
+     */
+    public static boolean isValidName(String name) {
+        return name != null && !name.isBlank() && name.indexOf(SEPARATOR) < 0;
+    }
+
+    /**
+     * Splits a bin code into its five fields, or returns null when it has a different shape, e.g. a code stored
+     * before names containing the separator were rejected.
+     */
+    public static Fields parse(String code) {
+        if (code == null) {
+            return null;
+        }
+        String[] parts = code.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length != 5) {
+            return null;
+        }
+        try {
+            return new Fields(parts[0], parts[1], parts[2], Integer.parseInt(parts[3]), parts[4]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A row or bay name as it appears in a bin code: numbers get two digits without further leading zeros, so "3",
+     * "03" and "003" all become "03"; other names are only trimmed.
+     */
+    public static String twoDigits(String name) {
+        String trimmed = name.trim();
+        if (trimmed.isEmpty() || trimmed.length() > 9 || !trimmed.chars().allMatch(Character::isDigit)) {
+            return trimmed;
+        }
+        return appendTwoDigits(new StringBuilder(2), Integer.parseInt(trimmed)).toString();
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder code, int value) {
+        if (value < 10) {
+            code.append('0');
+        }
+        return code.append(value);
+    }
+
+    public LongStream packed() {
+        return packed(0, size);
+    }
+
+    public LongStream packed(long from, long to) {
+        return StreamSupport.longStream(new PackedSpliterator(from, Math.min(to, size)), false);
+    }
+
+    public Stream<String> codes() {
+        return packed().mapToObj(this::format);
+    }
+
+    public Stream<String> codes(long from, long to) {
+        return packed(from, to).mapToObj(this::format);
+    }
+
+    /**
+     * Walks a range of ordinals; splits in halves, so parallel streams divide the layout evenly.
+     */
+    private final class PackedSpliterator implements Spliterator.OfLong {
+        private long next;
+        private final long end;
+
+        PackedSpliterator(long from, long end) {
+            this.next = from;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (next >= end) {
+                return false;
+            }
+            action.accept(packedAt(next++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            // Counts the packed fields up like an odometer instead of dividing for every ordinal
+            if (next >= end) {
+                return;
+            }
+            long ordinal = next;
+            long packed = packedAt(ordinal);
+            int area = areaIndex(packed), row = row(packed), bay = bay(packed), level = level(packed);
+            int position = positionIndex(packed);
+            while (ordinal < end) {
+                action.accept(pack(area, row, bay, level, position));
+                ordinal++;
+                if (++position == positions.size()) {
+                    position = 0;
+                    if (++level > levels) {
+                        level = 1;
+                        if (++bay > bays) {
+                            bay = 1;
+                            if (++row > rows) {
+                                row = 1;
+                                area++;
+                            }
+                        }
+                    }
+                }
+            }
+            next = end;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            long remaining = end - next;
+            if (remaining < 1024) {
+                return null;
+            }
+            long middle = next + remaining / 2;
+            PackedSpliterator prefix = new PackedSpliterator(next, middle);
+            next = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - next;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | DISTINCT | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -1,46 +1,200 @@
 package com.project.warehouse_management_system.BinLocation.Service;
 
+import com.project.warehouse_management_system.BinLocation.Dto.BinGenerationResultDTO;
 import com.project.warehouse_management_system.BinLocation.Model.BinLocation;
 import com.project.warehouse_management_system.BinLocation.Repo.BinLocationRepo;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 public class BinLocationService {
 
+    private static final Logger log = LoggerFactory.getLogger(BinLocationService.class);
+
+    // Existing codes hit the unique index and are left as they are, so regenerating a layout is a no-op for them
+    private static final String UPSERT_BIN_LOCATION =
+            "insert into bin_location (code) values (?) on duplicate key update code = code";
+
+    // Keeps the oldest row of every code; the derived table lets MySQL read the table it deletes from
+    private static final String DELETE_DUPLICATE_CODES = "delete from bin_location where code is null or id not in " +
+            "(select id from (select min(id) as id from bin_location group by code) keep)";
+    private static final String ADD_UNIQUE_CODE =
+            "alter table bin_location add constraint uk_bin_location_code unique (code)";
+
     @Autowired
     private BinLocationRepo binLocationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
-    public List<String> generateBinLocations(List<String> areas, int rows, int bays, int levels, List<String> positions) {
-        List<String> binLocations = new ArrayList<>();
-
-        for (String area : areas) {
-            for (int row = 1; row <= rows; row++) {
-                for (int bay = 1; bay <= bays; bay++) {
-                    for (int level = 1; level <= levels; level++) {
-                        for (String position : positions) {
-                            String binCode = String.format("%s-%02d-%02d-%d-%s", area, row, bay, level, position);
-                            binLocations.add(binCode);
-                        }
+    @Value("${warehouse.bin-locations.batch-size:${warehouse.jdbc.batch-size:1000}}")
+    private int batchSize;
+
+    /**
+     * Makes sure {@code bin_location.code} is unique before anything upserts into it. Schema update cannot add the
+     * constraint while duplicate codes exist, and without it the upsert would keep inserting duplicates; so they are
+     * removed here and the constraint is added. Startup fails if that is still not possible.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void ensureUniqueCodes() {
+        if (hasUniqueCodeIndex()) {
+            return;
+        }
+        int removed = jdbcTemplate.update(DELETE_DUPLICATE_CODES);
+        log.warn("bin_location.code had no unique index; removed {} duplicate rows before adding it", removed);
+        jdbcTemplate.execute(ADD_UNIQUE_CODE);
+        if (!hasUniqueCodeIndex()) {
+            throw new IllegalStateException("bin_location.code has no unique index after adding uk_bin_location_code.");
+        }
+    }
+
+    private boolean hasUniqueCodeIndex() {
+        Boolean found = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                    "bin_location", true, false)) {
+                while (indexes.next()) {
+                    if ("code".equalsIgnoreCase(indexes.getString("COLUMN_NAME"))) {
+                        return true;
                     }
                 }
             }
+            return false;
+        });
+        return Boolean.TRUE.equals(found);
+    }
+
+    public List<String> generateBinLocations(List<String> areas, int rows, int bays, int levels, List<String> positions) {
+        return new BinCodeSpace(areas, rows, bays, levels, positions).codes().collect(Collectors.toList());
+    }
+
+    /**
+     * Upserts every code of the layout one batch at a time; only the current batch is ever formatted.
+     */
+    @Transactional
+    public BinGenerationResultDTO saveBinLocations(BinCodeSpace space) {
+        long started = System.currentTimeMillis();
+        long before = binLocationRepository.count();
+        for (long from = 0; from < space.size(); from += batchSize) {
+            upsert(space.codes(from, from + batchSize).toList());
         }
-        return binLocations;
+        long created = binLocationRepository.count() - before;
+        return new BinGenerationResultDTO(space.size(), created, space.size() - created,
+                System.currentTimeMillis() - started);
     }
 
+    @Transactional
     public void saveBinLocations(List<String> binCodes) {
-        List<BinLocation> binLocations = binCodes.stream()
-                .map(code -> new BinLocation(code))
-                .collect(Collectors.toList());
-        binLocationRepository.saveAll(binLocations);
+        for (int from = 0; from < binCodes.size(); from += batchSize) {
+            upsert(binCodes.subList(from, Math.min(from + batchSize, binCodes.size())));
+        }
+    }
+
+    private void upsert(List<String> codes) {
+        jdbcTemplate.batchUpdate(UPSERT_BIN_LOCATION, codes, codes.size(), (ps, code) -> ps.setString(1, code));
     }
 
     public List<BinLocation> getAllBinLocations() {
         return binLocationRepository.findAll();
     }
+
+    /**
+     * Iterates the codes matching the filters in id order, loading one page per batch.
+     * Area (and row within it) narrow the query by code prefix; a row without an area and the level are matched per code.
+     */
+    public Iterator<String> iterateCodes(String area, String row, Integer level) {
+        String normalizedRow = row == null || row.isBlank() ? null : BinCodeSpace.twoDigits(row);
+        String prefix = "";
+        if (area != null && !area.isBlank()) {
+            prefix = area + "-" + (normalizedRow != null ? normalizedRow + "-" : "");
+        }
+        String queryPrefix = prefix;
+        // The prefix only narrows the query; the decoded fields decide, so an area "A" does not match codes of "A-1"
+        String areaName = area == null || area.isBlank() ? null : area;
+        Predicate<String> matches = code -> {
+            BinCodeSpace.Fields fields = BinCodeSpace.parse(code);
+            return fields != null
+                    && (areaName == null || fields.area().equals(areaName))
+                    && (normalizedRow == null || fields.row().equals(normalizedRow))
+                    && (level == null || fields.level() == level);
+        };
+
+        return new Iterator<>() {
+            private Iterator<BinLocation> page = Collections.emptyIterator();
+            private long lastId = 0;
+            private boolean exhausted;
+            private String next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null) {
+                    if (!page.hasNext()) {
+                        if (exhausted) {
+                            return false;
+                        }
+                        List<BinLocation> loaded = binLocationRepository
+                                .findByCodeStartingWithAndIdGreaterThanOrderByIdAsc(queryPrefix, lastId, Limit.of(batchSize));
+                        exhausted = loaded.size() < batchSize;
+                        if (loaded.isEmpty()) {
+                            return false;
+                        }
+                        lastId = loaded.get(loaded.size() - 1).getId();
+                        page = loaded.iterator();
+                    }
+                    String code = page.next().getCode();
+                    if (matches.test(code)) {
+                        next = code;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String code = next;
+                next = null;
+                return code;
+            }
+        };
+    }
+
+    /**
+     * Counts the codes {@link #iterateCodes} returns for the same filters with a single count query.
+     */
+    public long countCodes(String area, String row, Integer level) {
+        String pattern = String.join("-",
+                area == null || area.isBlank() ? "%" : escapeLike(area),
+                row == null || row.isBlank() ? "%" : escapeLike(BinCodeSpace.twoDigits(row)),
+                "%",
+                level == null ? "%" : String.valueOf(level),
+                "%");
+        return binLocationRepository.countByCodePattern(pattern);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
 }
@@ -0,0 +1,269 @@
+package com.project.warehouse_management_system.BinLocation.Service;
+
+import com.project.warehouse_management_system.BinLocation.Dto.LabelJobDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Runs label PDFs as background jobs on the bounded {@code labelJobExecutor}. Finished documents are kept under
+ * {@code labels.jobs.dir} until the retention period ends; progress can be polled or followed as server-sent events.
+ */
+@Service
+public class LabelJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(LabelJobService.class);
+
+    // Minimum time between two progress events to the same job's subscribers
+    private static final long PROGRESS_EVENT_INTERVAL_MS = 250;
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    /**
+     * Renders a job's labels into {@code out}; every label taken from the iterator counts as progress.
+     */
+    @FunctionalInterface
+    public interface LabelRenderer<T> {
+        void render(OutputStream out, Iterator<T> labels) throws IOException;
+    }
+
+    @Autowired
+    @Qualifier("labelJobExecutor")
+    private TaskExecutor labelJobExecutor;
+
+    @Value("${labels.jobs.dir:label-jobs}")
+    private Path jobsDir;
+
+    @Value("${labels.jobs.retention-minutes:1440}")
+    private long retentionMinutes;
+
+    @Value("${labels.jobs.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void createJobsDir() throws IOException {
+        Files.createDirectories(jobsDir);
+    }
+
+    /**
+     * Queues a job. {@code counter} and {@code labels} are only called on the job thread, so counting and
+     * loading never block the submitting request. Throws {@link org.springframework.core.task.TaskRejectedException}
+     * when the job queue is full.
+     */
+    public <T> LabelJobDTO submit(String description, Supplier<Long> counter, Supplier<Iterator<T>> labels,
+                                  LabelRenderer<T> renderer) {
+        Job job = new Job(UUID.randomUUID().toString(), description);
+        jobs.put(job.id, job);
+        try {
+            labelJobExecutor.execute(() -> run(job, counter, labels, renderer));
+        } catch (RuntimeException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        return job.toDTO();
+    }
+
+    public LabelJobDTO getJob(String id) {
+        return find(id).toDTO();
+    }
+
+    public List<LabelJobDTO> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((Job j) -> j.submittedAt).reversed())
+                .map(Job::toDTO)
+                .toList();
+    }
+
+    /**
+     * Returns the finished document, or throws {@link IllegalStateException} while the job is not done.
+     */
+    public Path getResult(String id) {
+        Job job = find(id);
+        if (job.status != Status.DONE) {
+            throw new IllegalStateException("Label job " + id + " is " + job.status + ".");
+        }
+        return job.file;
+    }
+
+    /**
+     * Streams the job's state as {@code progress} events; the stream completes when the job has finished.
+     */
+    public SseEmitter subscribe(String id) {
+        Job job = find(id);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        emitter.onCompletion(() -> job.emitters.remove(emitter));
+        emitter.onTimeout(() -> job.emitters.remove(emitter));
+        emitter.onError(e -> job.emitters.remove(emitter));
+        job.emitters.add(emitter);
+        // The job may have finished between find and add; sending the current state covers both cases
+        send(job, emitter);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${labels.jobs.cleanup-interval-ms:600000}")
+    public void cleanUp() {
+        Instant cutOff = Instant.now().minus(Duration.ofMinutes(retentionMinutes));
+        jobs.values().removeIf(job -> {
+            if (job.finished == null || job.finished.isAfter(cutOff)) {
+                return false;
+            }
+            deleteQuietly(job.file);
+            return true;
+        });
+        // Files left behind by an earlier run of the application
+        try (Stream<Path> files = Files.list(jobsDir)) {
+            files.filter(file -> !jobs.containsKey(jobId(file)))
+                    .filter(file -> lastModified(file).isBefore(cutOff))
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not clean up label jobs in {}", jobsDir, e);
+        }
+    }
+
+    private <T> void run(Job job, Supplier<Long> counter, Supplier<Iterator<T>> labels, LabelRenderer<T> renderer) {
+        job.status = Status.RUNNING;
+        Path partial = jobsDir.resolve(job.id + ".pdf.part");
+        try {
+            job.total = counter.get();
+            publish(job, true);
+            Iterator<T> source = labels.get();
+            Iterator<T> counted = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return source.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    T label = source.next();
+                    job.completed++;
+                    publish(job, false);
+                    return label;
+                }
+            };
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                renderer.render(out, counted);
+            }
+            Files.move(partial, job.file, StandardCopyOption.REPLACE_EXISTING);
+            job.status = Status.DONE;
+        } catch (Exception e) {
+            log.error("Label job {} failed", job.id, e);
+            deleteQuietly(partial);
+            job.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.status = Status.FAILED;
+        } finally {
+            job.finished = Instant.now();
+            publish(job, true);
+            job.emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void publish(Job job, boolean force) {
+        long now = System.currentTimeMillis();
+        if (job.emitters.isEmpty() || (!force && now - job.lastEvent < PROGRESS_EVENT_INTERVAL_MS)) {
+            return;
+        }
+        job.lastEvent = now;
+        job.emitters.forEach(emitter -> send(job, emitter));
+    }
+
+    private void send(Job job, SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(job.toDTO()));
+            if (job.finished != null) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter callbacks remove it
+            job.emitters.remove(emitter);
+        }
+    }
+
+    private Job find(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new EntityNotFoundException("Label job not found with id: " + id);
+        }
+        return job;
+    }
+
+    private static String jobId(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.indexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.MAX;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete label job file {}", file, e);
+        }
+    }
+
+    private final class Job {
+        final String id;
+        final String description;
+        final Instant submittedAt = Instant.now();
+        final Path file;
+        final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        volatile Status status = Status.QUEUED;
+        volatile Long total;
+        volatile long completed;     // only written by the job thread
+        volatile String error;
+        volatile Instant finished;
+        volatile long lastEvent;
+
+        Job(String id, String description) {
+            this.id = id;
+            this.description = description;
+            this.file = jobsDir.resolve(id + ".pdf");
+        }
+
+        LabelJobDTO toDTO() {
+            return new LabelJobDTO(id, description, status.name(), total, completed, error,
+                    toLocal(submittedAt), finished == null ? null : toLocal(finished));
+        }
+
+        private LocalDateTime toLocal(Instant instant) {
+            return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        }
+    }
+}
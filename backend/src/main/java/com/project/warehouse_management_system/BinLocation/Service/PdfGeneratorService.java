@@ -1,92 +1,246 @@
 package com.project.warehouse_management_system.BinLocation.Service;
 
-import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.colors.Color;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.kernel.utils.PdfMerger;
+import com.itextpdf.kernel.utils.PdfMergerProperties;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.element.*;
-import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.project.warehouse_management_system.BinLocation.Model.BinLocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.awt.image.BufferedImage;
-import java.util.List;
-import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
 @Service
 public class PdfGeneratorService {
-    public BufferedImage generateQRCode(String text) {
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
+
+    /**
+     * Adds one label to a document. Label documents use Helvetica Bold as their default font.
+     */
+    @FunctionalInterface
+    public interface LabelWriter<T> {
+        void write(Document document, T label);
+    }
+
+    public static final PageSize BIN_LABEL_SIZE = new PageSize(400, 200);
+
+    private static final int QR_QUIET_ZONE = 4;
+
+    // Colours are immutable, so one instance per level is shared by every label and worker
+    private static final Color[] LEVEL_COLORS = {
+            new DeviceRgb(0, 0, 0),       // unknown level
+            new DeviceRgb(255, 255, 0),   // Yellow
+            new DeviceRgb(128, 0, 128),   // Purple
+            new DeviceRgb(0, 0, 255),     // Blue
+            new DeviceRgb(0, 255, 0),     // green
+            new DeviceRgb(255, 0, 0)      // red
+    };
+    // Only the text is a constant; each label lays out its own header paragraph
+    private static final String BIN_CODE_HEADER = "AREA" + "     " + "ROW" + "        " + "BAY" + "      " + "LEVEL" + "   " + "POS";
+
+    @Autowired
+    @Qualifier("labelRenderExecutor")
+    private Executor labelRenderExecutor;
+
+    @Value("${labels.render.chunk-size:250}")
+    private int chunkSize;
+
+    @Value("${labels.render.max-chunks-in-flight:8}")
+    private int maxChunksInFlight;
+
+    /**
+     * Draws the QR code of {@code text} as vector rectangles into a Form XObject, one rectangle per
+     * horizontal run of dark modules, including the standard four-module quiet zone.
+     */
+    public PdfFormXObject createQRCode(String text, PdfDocument pdf) {
+        ByteMatrix matrix;
         try {
-            BitMatrix bitMatrix = qrCodeWriter.encode(text, BarcodeFormat.QR_CODE, 150, 150);
-            return MatrixToImageWriter.toBufferedImage(bitMatrix);
+            matrix = Encoder.encode(text, ErrorCorrectionLevel.L).getMatrix();
         } catch (WriterException e) {
-            e.printStackTrace();
-            return null;
+            throw new IllegalArgumentException("Cannot encode QR code for: " + text, e);
+        }
+        int modules = matrix.getWidth() + 2 * QR_QUIET_ZONE;
+        PdfFormXObject qrCode = new PdfFormXObject(new Rectangle(modules, modules));
+        PdfCanvas canvas = new PdfCanvas(qrCode, pdf);
+        canvas.setFillColor(ColorConstants.WHITE).rectangle(0, 0, modules, modules).fill();
+        canvas.setFillColor(ColorConstants.BLACK);
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            // PDF space grows upwards, matrix rows grow downwards
+            float rowBottom = modules - QR_QUIET_ZONE - y - 1;
+            int x = 0;
+            while (x < matrix.getWidth()) {
+                if (matrix.get(x, y) != 1) {
+                    x++;
+                    continue;
+                }
+                int runStart = x;
+                while (x < matrix.getWidth() && matrix.get(x, y) == 1) {
+                    x++;
+                }
+                canvas.rectangle(QR_QUIET_ZONE + runStart, rowBottom, x - runStart, 1);
+            }
         }
+        canvas.fill();
+        canvas.release();
+        return qrCode;
     }
 
     public void generateBinLocationsPdf(String outputPath, List<BinLocation> binLocations) throws IOException {
-        float containerWidth = 400;
-        float containerHeight = 200;
-        PageSize pageSize = new PageSize(containerWidth, containerHeight);
-        PdfWriter writer = new PdfWriter(outputPath);
-        PdfDocument pdf = new PdfDocument(writer);
+        try (OutputStream out = new FileOutputStream(outputPath)) {
+            generateBinLocationsPdf(out, binLocations.stream().map(BinLocation::getCode).iterator());
+        }
+    }
+
+    /**
+     * Writes one label page per code to {@code out} as the codes arrive. Each finished page is flushed
+     * when the next one starts, so neither the codes nor the document are held in memory.
+     * The stream is left open for the caller.
+     */
+    public void generateBinLocationsPdf(OutputStream out, Iterator<String> binCodes) throws IOException {
+        writeLabels(out, BIN_LABEL_SIZE, binCodes, this::addBinLabel);
+    }
+
+    /**
+     * Same output as {@link #generateBinLocationsPdf(OutputStream, Iterator)}, rendered in chunks on the label workers.
+     */
+    public void generateBinLocationsPdfParallel(OutputStream out, Iterator<String> binCodes) throws IOException {
+        writeLabelsParallel(out, BIN_LABEL_SIZE, binCodes, this::addBinLabel);
+    }
+
+    public <T> void writeLabels(OutputStream out, PageSize pageSize, Iterator<T> labels, LabelWriter<T> labelWriter)
+            throws IOException {
+        PdfWriter writer = new PdfWriter(out, new WriterProperties().setFullCompressionMode(true));
+        writer.setCloseStream(false);
+        addLabels(new PdfDocument(writer), pageSize, labels, labelWriter);
+    }
+
+    /**
+     * Renders the labels in chunks of {@code labels.render.chunk-size} on the label workers and merges the chunks
+     * into {@code out} in their original order. Only a bounded number of chunks is pending at any time, so the
+     * merge streams just like the sequential path.
+     */
+    public <T> void writeLabelsParallel(OutputStream out, PageSize pageSize, Iterator<T> labels,
+                                        LabelWriter<T> labelWriter) throws IOException {
+        PdfWriter writer = new PdfWriter(out, new WriterProperties().setFullCompressionMode(true));
+        writer.setCloseStream(false);
+        Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>();
+        // Closed on failure as well, so the writer's buffers are released; the caller discards the partial output
+        try (PdfDocument target = new PdfDocument(writer)) {
+            PdfMerger merger = new PdfMerger(target, new PdfMergerProperties()
+                    .setMergeTags(false)
+                    .setMergeOutlines(false));
+            while (labels.hasNext() || !inFlight.isEmpty()) {
+                while (labels.hasNext() && inFlight.size() < maxChunksInFlight) {
+                    List<T> chunk = new ArrayList<>(chunkSize);
+                    while (labels.hasNext() && chunk.size() < chunkSize) {
+                        chunk.add(labels.next());
+                    }
+                    inFlight.add(CompletableFuture.supplyAsync(
+                            () -> renderChunk(pageSize, chunk, labelWriter), labelRenderExecutor));
+                }
+                byte[] rendered = inFlight.removeFirst().join();
+                try (PdfDocument source = new PdfDocument(new PdfReader(new ByteArrayInputStream(rendered)))) {
+                    merger.merge(source, 1, source.getNumberOfPages());
+                    target.flushCopiedObjects(source);
+                }
+            }
+        } catch (CompletionException e) {
+            inFlight.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private <T> byte[] renderChunk(PageSize pageSize, List<T> chunk, LabelWriter<T> labelWriter) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(chunk.size() * 1024);
+        try {
+            addLabels(new PdfDocument(new PdfWriter(buffer)), pageSize, chunk.iterator(), labelWriter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private <T> void addLabels(PdfDocument pdf, PageSize pageSize, Iterator<T> labels, LabelWriter<T> labelWriter)
+            throws IOException {
         pdf.setDefaultPageSize(pageSize);
         Document document = new Document(pdf);
+        // One font resource per document instead of simulating bold on every paragraph
+        document.setFont(PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD));
 
-        for (BinLocation binLocation : binLocations) {
-            // Extract level and determine color
-            String binCode = binLocation.getCode();
-            // Add colored section
-            document.add(createBinCodeWithQRCode(binCode).setPadding(20).setFixedPosition(25,40,5));
-            document.add(new AreaBreak());
+        boolean firstPage = true;
+        while (labels.hasNext()) {
+            T label = labels.next();
+            if (!firstPage) {
+                document.add(new AreaBreak());
+            }
+            firstPage = false;
+            labelWriter.write(document, label);
         }
 
         document.close();
     }
 
+    private void addBinLabel(Document document, String binCode) {
+        // Add colored section
+        document.add(createBinCodeWithQRCode(binCode, document.getPdfDocument()).setPadding(20).setFixedPosition(25,40,5));
+    }
+
+    // Codes that do not parse get the colour of an unknown level
     private int extractLevelFromCode(String code) {
-        String[] parts = code.split("-");
-        return Integer.parseInt(parts[3]); // Assumes level is the 4th part
+        BinCodeSpace.Fields fields = BinCodeSpace.parse(code);
+        return fields != null ? fields.level() : 0;
     }
 
     private Color getBackgroundColor(int level) {
-        return switch (level) {
-            case 1 -> new DeviceRgb(255, 255, 0); // Yellow
-            case 2 -> new DeviceRgb(128, 0, 128); // Purple
-            case 3 -> new DeviceRgb(0, 0, 255); // Blue
-            case 4 -> new DeviceRgb(0, 255, 0); //green
-            case 5 -> new DeviceRgb(255, 0, 0); //red
-            default -> new DeviceRgb(0, 0, 0); // green
-        };
+        return level >= 1 && level < LEVEL_COLORS.length ? LEVEL_COLORS[level] : LEVEL_COLORS[0];
     }
 
-    private Div createBinCodeWithQRCode(String binCode) throws IOException {
+    private Div createBinCodeWithQRCode(String binCode, PdfDocument pdf) {
         // Generate QR code image
         int level = extractLevelFromCode(binCode);
         Color backgroundColor = getBackgroundColor(level);
-        BufferedImage qrCodeImage = generateQRCode(binCode);
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ImageIO.write(qrCodeImage, "png", baos);
-        Image qrImage = new Image(ImageDataFactory.create(baos.toByteArray()))
+        Image qrImage = new Image(createQRCode(binCode, pdf))
                 .setWidth(100)
                 .setHeight(100);
 
         // Bin code text
-        Paragraph binCodeHeader = new Paragraph("AREA"+"     "+"ROW"+"        "+"BAY"+"      "+"LEVEL"+"   "+"POS")
-                .setBold()
+        Paragraph binCodeHeader = new Paragraph(BIN_CODE_HEADER)
                 .setWidth(182)
                 .setBackgroundColor(ColorConstants.WHITE)
                 .setFontSize(9)
@@ -94,7 +248,6 @@ public class PdfGeneratorService {
                 .setPaddingLeft(18);
         // Bin code text
         Paragraph binCodeText = new Paragraph(binCode)
-                .setBold()
                 .setWidth(200)
                 .setBackgroundColor(ColorConstants.WHITE)
                 .setFontSize(30);
@@ -113,6 +266,3 @@ public class PdfGeneratorService {
         return container;
     }
 }
-
-
-
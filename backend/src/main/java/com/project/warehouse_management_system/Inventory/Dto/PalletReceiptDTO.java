@@ -0,0 +1,19 @@
+package com.project.warehouse_management_system.Inventory.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PalletReceiptDTO {
+    private Long purchaseOrderId;
+    private int palletsReceived;
+    private long unitsReceived;
+    private List<Long> palletIds;
+    private List<ReceiptLineDTO> lines;   // totals per product after this receipt
+    private long elapsedMillis;
+}
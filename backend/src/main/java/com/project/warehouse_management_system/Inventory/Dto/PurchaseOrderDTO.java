@@ -18,4 +18,5 @@ public class PurchaseOrderDTO {
     private String status;
     private List<PurchaseOrderProductDTO> products;
     private List<PalletDTO> pallets;
+    private Long version;
 }
@@ -0,0 +1,16 @@
+package com.project.warehouse_management_system.Inventory.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceiptLineDTO {
+    private Long productId;
+    private long orderedQuantity;
+    private long receivedQuantity;
+    private Integer expectedPallets;   // null when the line's expectedPallets is not a number
+    private long receivedPallets;
+}
@@ -4,13 +4,21 @@ import com.project.warehouse_management_system.BaseClasses.BaseController;
 import com.project.warehouse_management_system.Inventory.Dto.PalletDTO;
 import com.project.warehouse_management_system.Inventory.Dto.PurchaseOrderDTO;
 import com.project.warehouse_management_system.Inventory.model.PurchaseOrder;
+import com.project.warehouse_management_system.Inventory.repo.PalletLabelRow;
+import com.project.warehouse_management_system.Inventory.service.PalletLabelService;
 import com.project.warehouse_management_system.Inventory.service.PurchaseOrderService;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,38 +29,141 @@ public class PurchaseOrderController extends BaseController<PurchaseOrder, Long>
     @Autowired
     private PurchaseOrderService purchaseOrderService;
 
+    @Autowired
+    private PalletLabelService palletLabelService;
+
+    // Covers the inherited generic endpoints; the purchase-order specific ones answer with the order id
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> onConcurrentChange(OptimisticLockingFailureException e) {
+        return new ResponseEntity<>("Purchase order was changed by another request.", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> onRejectedChange(IllegalStateException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<String> onNotFound(EntityNotFoundException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
     @PostMapping
     @Operation(summary = "Create a new purchase order")
-    public ResponseEntity<PurchaseOrderDTO> createPurchaseOrder(@RequestBody PurchaseOrderDTO purchaseOrderDTO) {
-        return new ResponseEntity<>(purchaseOrderService.createPurchaseOrder(purchaseOrderDTO), HttpStatus.CREATED);
+    public ResponseEntity<?> createPurchaseOrder(@RequestBody PurchaseOrderDTO purchaseOrderDTO) {
+        try {
+            return new ResponseEntity<>(purchaseOrderService.createPurchaseOrder(purchaseOrderDTO), HttpStatus.CREATED);
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @PutMapping("/{id}/status")
-    @Operation(summary = "Update purchase order status")
-    public ResponseEntity<PurchaseOrderDTO> updatePurchaseOrderStatus(
+    @Operation(summary = "Update purchase order status; with version, only if the order has not changed since it was read")
+    public ResponseEntity<?> updatePurchaseOrderStatus(
             @PathVariable Long id,
-            @RequestParam String status) {
-        return ResponseEntity.ok(purchaseOrderService.updatePurchaseOrderStatus(id, status));
+            @RequestParam String status,
+            @RequestParam(required = false) Long version) {
+        try {
+            return ResponseEntity.ok(purchaseOrderService.updatePurchaseOrderStatus(id, status, version));
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Purchase order " + id + " was changed by another request.", HttpStatus.CONFLICT);
+        }
     }
 
     @PostMapping("/{id}/pallets")
     @Operation(summary = "Add pallet to purchase order")
-    public ResponseEntity<PurchaseOrderDTO> addPalletToPurchaseOrder(
+    public ResponseEntity<?> addPalletToPurchaseOrder(
             @PathVariable Long id,
             @RequestBody PalletDTO palletDTO) {
-        return ResponseEntity.ok(purchaseOrderService.addPalletToPurchaseOrder(id, palletDTO));
+        try {
+            return ResponseEntity.ok(purchaseOrderService.addPalletToPurchaseOrder(id, palletDTO));
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Purchase order " + id + " was changed by another request.", HttpStatus.CONFLICT);
+        }
+    }
+
+    @PostMapping("/{id}/pallets/bulk")
+    @Operation(summary = "Receive many pallets for a purchase order, checked against its lines")
+    public ResponseEntity<?> receivePallets(@PathVariable Long id, @RequestBody List<PalletDTO> pallets) {
+        try {
+            return new ResponseEntity<>(purchaseOrderService.receivePallets(id, pallets), HttpStatus.CREATED);
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Purchase order " + id + " was changed by another request.", HttpStatus.CONFLICT);
+        }
+    }
+
+    @GetMapping("/{id}/pallet-labels")
+    @Operation(summary = "Print labels with license plate barcodes for all pallets of a purchase order")
+    public ResponseEntity<?> getPalletLabels(@PathVariable Long id,
+                                             @RequestParam(defaultValue = "false") boolean parallel) {
+        List<PalletLabelRow> pallets;
+        try {
+            pallets = palletLabelService.getLabelRows(id);
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+        if (pallets.isEmpty()) {
+            return new ResponseEntity<>("Purchase order " + id + " has no pallets.", HttpStatus.NOT_FOUND);
+        }
+        StreamingResponseBody body = out -> palletLabelService.writePalletLabels(out, pallets, parallel);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"pallet_labels_po_" + id + ".pdf\"")
+                .body(body);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get one page of purchase orders, newest first, optionally filtered by status and supplier")
+    public ResponseEntity<?> getPurchaseOrders(@RequestParam(required = false) String status,
+                                               @RequestParam(required = false) String supplierName,
+                                               @RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(purchaseOrderService.getPurchaseOrders(status, supplierName, page, size));
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @GetMapping("/supplier/{supplierName}")
-    @Operation(summary = "Get purchase orders by supplier name")
-    public ResponseEntity<List<PurchaseOrderDTO>> getPurchaseOrdersBySupplier(@PathVariable String supplierName) {
-        return ResponseEntity.ok(purchaseOrderService.getPurchaseOrdersBySupplier(supplierName));
+    @Operation(summary = "Get one page of a supplier's purchase orders, newest first")
+    public ResponseEntity<?> getPurchaseOrdersBySupplier(@PathVariable String supplierName,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(purchaseOrderService.getPurchaseOrdersBySupplier(supplierName, page, size));
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @GetMapping("/status/{status}")
-    @Operation(summary = "Get purchase orders by status")
-    public ResponseEntity<List<PurchaseOrderDTO>> getPurchaseOrdersByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(purchaseOrderService.getPurchaseOrdersByStatus(status));
+    @Operation(summary = "Get one page of purchase orders in a status, newest first")
+    public ResponseEntity<?> getPurchaseOrdersByStatus(@PathVariable String status,
+                                                       @RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(purchaseOrderService.getPurchaseOrdersByStatus(status, page, size));
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,7 @@
+package com.project.warehouse_management_system.Inventory.event;
+
+/**
+ * Published after an order was created, changed, canceled or deleted; listeners reload it by id.
+ */
+public record OrderChangedEvent(Long orderId) {
+}
@@ -0,0 +1,7 @@
+package com.project.warehouse_management_system.Inventory.event;
+
+/**
+ * Published after a pallet was created, changed or deleted; listeners reload it by id.
+ */
+public record PalletChangedEvent(Long palletId) {
+}
@@ -0,0 +1,9 @@
+package com.project.warehouse_management_system.Inventory.event;
+
+import java.util.List;
+
+/**
+ * Published when pallets were received for a purchase order in bulk; one event for the whole receipt.
+ */
+public record PalletsReceivedEvent(Long purchaseOrderId, List<Long> palletIds) {
+}
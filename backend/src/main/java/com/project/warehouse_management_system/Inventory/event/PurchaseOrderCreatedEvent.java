@@ -0,0 +1,7 @@
+package com.project.warehouse_management_system.Inventory.event;
+
+/**
+ * Published when a purchase order was created together with its lines.
+ */
+public record PurchaseOrderCreatedEvent(Long purchaseOrderId) {
+}
@@ -0,0 +1,8 @@
+package com.project.warehouse_management_system.Inventory.event;
+
+/**
+ * Published inside the deleting transaction, before the purchase order row is removed; listeners delete the rows
+ * that reference it.
+ */
+public record PurchaseOrderDeletingEvent(Long purchaseOrderId) {
+}
@@ -15,7 +15,9 @@ import java.util.List;
 @Getter
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "purchase_orders")
+@Table(name = "purchase_orders",
+        indexes = {@Index(name = "idx_purchase_orders_status_supplier", columnList = "status, supplier_name"),
+                @Index(name = "idx_purchase_orders_supplier", columnList = "supplier_name")})
 public class PurchaseOrder {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,6 +42,12 @@ public class PurchaseOrder {
     @OneToMany(mappedBy = "purchaseOrder", cascade = CascadeType.ALL)
     private List<Pallet> pallets = new ArrayList<>();
 
+    // Rows created before versioning start at 0; every status change and receipt increments it.
+    // Null only in request bodies that did not send it; Hibernate sets 0 on insert.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
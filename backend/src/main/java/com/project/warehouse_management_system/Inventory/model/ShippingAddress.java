@@ -4,6 +4,8 @@ import jakarta.persistence.Embeddable;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Locale;
+
 @Embeddable
 @Setter
 @Getter
@@ -13,4 +15,20 @@ public class ShippingAddress {
     private String city;
     private String state;
     private String zipCode;
+
+    /**
+     * Where an order to this address is delivered to, as a key that outbound loads are grouped by: city and zip
+     * code, trimmed and upper case. Orders without a city share one "UNKNOWN" destination.
+     */
+    public static String destinationOf(ShippingAddress address) {
+        return address == null ? destinationOf(null, null) : destinationOf(address.getCity(), address.getZipCode());
+    }
+
+    public static String destinationOf(String city, String zipCode) {
+        if (city == null || city.isBlank()) {
+            return "UNKNOWN";
+        }
+        String zip = zipCode == null ? "" : " " + zipCode.trim();
+        return (city.trim() + zip).toUpperCase(Locale.ROOT);
+    }
 }
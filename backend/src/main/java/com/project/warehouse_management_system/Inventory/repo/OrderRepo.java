@@ -3,11 +3,22 @@ package com.project.warehouse_management_system.Inventory.repo;
 import com.project.warehouse_management_system.BaseClasses.BaseRepo;
 import com.project.warehouse_management_system.Inventory.model.Orders;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderRepo extends BaseRepo<Orders,Long> {
     List<Orders> findByUserId(String userId);
+
+    @Query("select distinct o from Orders o left join fetch o.products op left join fetch op.product where o.id in :ids")
+    List<Orders> findWithProductsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select distinct o from Orders o left join fetch o.products op left join fetch op.product " +
+            "where lower(o.status) = 'pending' and o.createdAt <= :cutOff order by o.createdAt, o.id")
+    List<Orders> findPendingWithProductsCreatedBefore(@Param("cutOff") LocalDateTime cutOff);
 }
@@ -0,0 +1,26 @@
+package com.project.warehouse_management_system.Inventory.repo;
+
+import java.util.Date;
+
+/**
+ * Everything printed on a pallet label, read in one query per purchase order.
+ */
+public interface PalletLabelRow {
+    Long getPalletId();
+
+    String getPalletName();
+
+    String getProductName();
+
+    String getBatchNumber();
+
+    String getSupplierName();
+
+    int getQuantity();
+
+    Date getManufacturingDate();
+
+    Date getExpiryDate();
+
+    Long getPurchaseOrderId();
+}
@@ -1,13 +1,55 @@
 package com.project.warehouse_management_system.Inventory.repo;
 
 import com.project.warehouse_management_system.BaseClasses.BaseRepo;
+import com.project.warehouse_management_system.Inventory.Dto.PalletDTO;
 import com.project.warehouse_management_system.Inventory.model.Pallet;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PalletRepo extends BaseRepo<Pallet,Long> {
 
     List<Pallet> getPalletsByProductId(Long productId);
+
+    // First-expiry-first-out order, so pick allocation can take pallets front to back; pallets that never expire go last
+    @Query("select p.id as palletId, p.product.id as productId, p.position.id as positionId, " +
+            "p.quantity as quantity, p.expiryDate as expiryDate " +
+            "from Pallet p where lower(p.status) = 'stored' and p.position is not null and p.product.id in :productIds " +
+            "order by p.expiryDate asc nulls last, p.id")
+    List<StoredPalletRow> findStoredByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    // The pallet's own supplier wins over the purchase order's, matching what was received
+    @Query("select p.id as palletId, p.palletName as palletName, pr.name as productName, pr.batchNumber as batchNumber, " +
+            "coalesce(p.supplierName, po.supplierName) as supplierName, p.quantity as quantity, " +
+            "p.manufacturingDate as manufacturingDate, p.expiryDate as expiryDate, po.id as purchaseOrderId " +
+            "from Pallet p join p.purchaseOrder po left join p.product pr where po.id = :purchaseOrderId order by p.id")
+    List<PalletLabelRow> findLabelRowsByPurchaseOrderId(@Param("purchaseOrderId") Long purchaseOrderId);
+
+    @Query("select new com.project.warehouse_management_system.Inventory.Dto.PalletDTO(p.id, p.palletName, " +
+            "p.quantity, p.maximumCapacity, p.status, p.manufacturingDate, p.expiryDate, p.supplierName, " +
+            "pr.id, pr.name, po.id) " +
+            "from Pallet p join p.purchaseOrder po left join p.product pr where po.id in :ids order by p.id")
+    List<PalletDTO> findDTOsByPurchaseOrderIds(@Param("ids") Collection<Long> purchaseOrderIds);
+
+    String SCAN_ROW_SELECT = "select p.id as palletId, p.palletName as palletName, p.status as status, " +
+            "p.quantity as quantity, p.expiryDate as expiryDate, pr.id as productId, pr.name as productName, " +
+            "pos.id as positionId from Pallet p left join p.product pr left join p.position pos ";
+
+    @Query(SCAN_ROW_SELECT)
+    List<PalletScanRow> findAllScanRows();
+
+    @Query(SCAN_ROW_SELECT + "where p.id = :id")
+    Optional<PalletScanRow> findScanRowById(@Param("id") Long id);
+
+    @Query(SCAN_ROW_SELECT + "where p.id in :ids")
+    List<PalletScanRow> findScanRowsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.product.id as productId, count(p) as pallets, coalesce(sum(p.quantity), 0) as quantity " +
+            "from Pallet p where p.purchaseOrder.id = :purchaseOrderId group by p.product.id")
+    List<ReceivedProductRow> findReceivedByPurchaseOrderId(@Param("purchaseOrderId") Long purchaseOrderId);
 }
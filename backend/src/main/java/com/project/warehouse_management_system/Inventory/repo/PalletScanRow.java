@@ -0,0 +1,24 @@
+package com.project.warehouse_management_system.Inventory.repo;
+
+import java.util.Date;
+
+/**
+ * The pallet fields a scan resolves to.
+ */
+public interface PalletScanRow {
+    Long getPalletId();
+
+    String getPalletName();
+
+    String getStatus();
+
+    int getQuantity();
+
+    Date getExpiryDate();
+
+    Long getProductId();
+
+    String getProductName();
+
+    Long getPositionId();
+}
@@ -0,0 +1,22 @@
+package com.project.warehouse_management_system.Inventory.repo;
+
+import java.math.BigDecimal;
+
+/**
+ * One purchase order line with its product name, read for a whole page of purchase orders at once.
+ */
+public interface PurchaseOrderLineRow {
+    Long getPurchaseOrderId();
+
+    Long getId();
+
+    Long getProductId();
+
+    String getProductName();
+
+    Integer getQuantity();
+
+    String getExpectedPallets();
+
+    BigDecimal getPrice();
+}
@@ -2,12 +2,51 @@ package com.project.warehouse_management_system.Inventory.repo;
 
 import com.project.warehouse_management_system.BaseClasses.BaseRepo;
 import com.project.warehouse_management_system.Inventory.model.PurchaseOrder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PurchaseOrderRepo extends BaseRepo<PurchaseOrder, Long> {
-    List<PurchaseOrder> findBySupplierName(String supplierName);
     List<PurchaseOrder> findByStatus(String status);
+
+    // Served by idx_purchase_orders_status_supplier, or idx_purchase_orders_supplier without a status; only header columns are read, the collections stay unloaded
+    @Query("select po from PurchaseOrder po where (:status is null or po.status = :status) " +
+            "and (:supplierName is null or po.supplierName = :supplierName)")
+    Page<PurchaseOrder> findPage(@Param("status") String status, @Param("supplierName") String supplierName,
+                                 Pageable pageable);
+
+    @Query("select po.id as purchaseOrderId, l.id as id, pr.id as productId, pr.name as productName, " +
+            "l.quantity as quantity, l.expectedPallets as expectedPallets, l.price as price " +
+            "from PurchaseOrder po join po.products l left join l.product pr where po.id in :ids order by l.id")
+    List<PurchaseOrderLineRow> findLineRows(@Param("ids") Collection<Long> purchaseOrderIds);
+
+    /**
+     * Moves the order to {@code newStatus} only if it is still in {@code currentStatus} at {@code version}; returns 0
+     * when another writer got there first.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update PurchaseOrder po set po.status = :newStatus, po.version = po.version + 1, " +
+            "po.lastModified = local datetime where po.id = :id and po.status = :currentStatus and po.version = :version")
+    int transitionStatus(@Param("id") Long id, @Param("currentStatus") String currentStatus,
+                         @Param("newStatus") String newStatus, @Param("version") long version);
+
+    /**
+     * Increments the version of an order that is still in {@code status} at {@code version}; returns 0 when it
+     * changed since it was read.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update PurchaseOrder po set po.version = po.version + 1, po.lastModified = local datetime " +
+            "where po.id = :id and po.status = :status and po.version = :version")
+    int incrementVersion(@Param("id") Long id, @Param("status") String status, @Param("version") long version);
+
+    @Query("select po.status as status, po.version as version from PurchaseOrder po where po.id = :id")
+    Optional<PurchaseOrderStateRow> findStateById(@Param("id") Long id);
 }
@@ -0,0 +1,10 @@
+package com.project.warehouse_management_system.Inventory.repo;
+
+/**
+ * Status and version of a purchase order, read to check a full replacement before it is applied.
+ */
+public interface PurchaseOrderStateRow {
+    String getStatus();
+
+    Long getVersion();
+}
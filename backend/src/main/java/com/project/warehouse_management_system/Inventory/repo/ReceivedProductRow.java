@@ -0,0 +1,12 @@
+package com.project.warehouse_management_system.Inventory.repo;
+
+/**
+ * Pallets and units already received for one product of a purchase order.
+ */
+public interface ReceivedProductRow {
+    Long getProductId();
+
+    long getPallets();
+
+    long getQuantity();
+}
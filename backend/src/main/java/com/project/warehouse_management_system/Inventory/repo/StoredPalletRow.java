@@ -0,0 +1,18 @@
+package com.project.warehouse_management_system.Inventory.repo;
+
+import java.util.Date;
+
+/**
+ * A stored pallet reduced to what picking needs, read without loading the pallet's relations.
+ */
+public interface StoredPalletRow {
+    Long getPalletId();
+
+    Long getProductId();
+
+    Long getPositionId();
+
+    int getQuantity();
+
+    Date getExpiryDate();
+}
@@ -1,6 +1,7 @@
 package com.project.warehouse_management_system.Inventory.service;
 import com.itextpdf.layout.element.Paragraph;
 import com.project.warehouse_management_system.BaseClasses.BaseService;
+import com.project.warehouse_management_system.Inventory.event.OrderChangedEvent;
 import com.project.warehouse_management_system.Inventory.model.OrderProduct;
 import com.project.warehouse_management_system.Inventory.model.Orders;
 import com.project.warehouse_management_system.Inventory.model.Product;
@@ -10,6 +11,7 @@ import jakarta.transaction.Transactional;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.awt.*;
@@ -27,6 +29,8 @@ public class OrderService extends BaseService<Orders,Long> {
     OrderRepo orderRepository;
     @Autowired
     private ProductService productService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     protected void setEntityId(Orders entity, Long id) {
@@ -78,7 +82,9 @@ public class OrderService extends BaseService<Orders,Long> {
             }
         }
 
-        return orderRepository.save(order);
+        Orders saved = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Transactional
@@ -167,7 +173,15 @@ public class OrderService extends BaseService<Orders,Long> {
             existingOrder.setPayment(updatedOrder.getPayment());
         }
 
-        return orderRepository.save(existingOrder);
+        Orders saved = orderRepository.save(existingOrder);
+        eventPublisher.publishEvent(new OrderChangedEvent(id));
+        return saved;
+    }
+
+    @Override
+    public void delete(Long id) {
+        super.delete(id);
+        eventPublisher.publishEvent(new OrderChangedEvent(id));
     }
 
     @Transactional
@@ -191,7 +205,9 @@ public class OrderService extends BaseService<Orders,Long> {
         }
 
         order.setStatus("Canceled");
-        return orderRepository.save(order);
+        Orders saved = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderChangedEvent(id));
+        return saved;
     }
 
         public byte[] exportOrders(String format) {
@@ -0,0 +1,129 @@
+package com.project.warehouse_management_system.Inventory.service;
+
+import com.itextpdf.barcodes.Barcode128;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.HorizontalAlignment;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.project.warehouse_management_system.BinLocation.Service.PdfGeneratorService;
+import com.project.warehouse_management_system.Inventory.repo.PalletLabelRow;
+import com.project.warehouse_management_system.Inventory.repo.PalletRepo;
+import com.project.warehouse_management_system.Inventory.repo.PurchaseOrderRepo;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Prints 4x6 inch pallet labels carrying a QR code and a Code 128 barcode of the pallet's license plate.
+ */
+@Service
+public class PalletLabelService {
+
+    public static final PageSize PALLET_LABEL_SIZE = new PageSize(288, 432);
+
+    private static final String LICENSE_PLATE_PREFIX = "PLT-";
+
+    @Autowired
+    private PalletRepo palletRepo;
+    @Autowired
+    private PurchaseOrderRepo purchaseOrderRepo;
+    @Autowired
+    private PdfGeneratorService pdfGeneratorService;
+
+    public static String licensePlate(Long palletId) {
+        return String.format(LICENSE_PLATE_PREFIX + "%08d", palletId);
+    }
+
+    /**
+     * Returns the pallet id of a license plate, or null when the text is not one.
+     */
+    public static Long parseLicensePlate(String text) {
+        if (text == null || !text.regionMatches(true, 0, LICENSE_PLATE_PREFIX, 0, LICENSE_PLATE_PREFIX.length())) {
+            return null;
+        }
+        try {
+            return Long.parseLong(text.substring(LICENSE_PLATE_PREFIX.length()).trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public List<PalletLabelRow> getLabelRows(Long purchaseOrderId) {
+        if (!purchaseOrderRepo.existsById(purchaseOrderId)) {
+            throw new EntityNotFoundException("Purchase order not found with id: " + purchaseOrderId);
+        }
+        return palletRepo.findLabelRowsByPurchaseOrderId(purchaseOrderId);
+    }
+
+    public void writePalletLabels(OutputStream out, List<PalletLabelRow> pallets, boolean parallel) throws IOException {
+        if (parallel) {
+            pdfGeneratorService.writeLabelsParallel(out, PALLET_LABEL_SIZE, pallets.iterator(), this::addPalletLabel);
+        } else {
+            pdfGeneratorService.writeLabels(out, PALLET_LABEL_SIZE, pallets.iterator(), this::addPalletLabel);
+        }
+    }
+
+    private void addPalletLabel(Document document, PalletLabelRow pallet) {
+        PdfDocument pdf = document.getPdfDocument();
+        String licensePlate = licensePlate(pallet.getPalletId());
+
+        document.add(new Paragraph(pallet.getPalletName())
+                .setFontSize(20)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setMargin(0));
+
+        document.add(new Image(pdfGeneratorService.createQRCode(licensePlate, pdf))
+                .setWidth(110)
+                .setHeight(110)
+                .setHorizontalAlignment(HorizontalAlignment.CENTER));
+
+        Table details = new Table(UnitValue.createPercentArray(new float[]{35, 65})).useAllAvailableWidth();
+        addDetail(details, "PRODUCT", pallet.getProductName());
+        addDetail(details, "BATCH", pallet.getBatchNumber());
+        addDetail(details, "SUPPLIER", pallet.getSupplierName());
+        addDetail(details, "QUANTITY", String.valueOf(pallet.getQuantity()));
+        addDetail(details, "MFG DATE", formatDate(pallet.getManufacturingDate()));
+        addDetail(details, "EXPIRY", formatDate(pallet.getExpiryDate()));
+        addDetail(details, "PO", String.valueOf(pallet.getPurchaseOrderId()));
+        document.add(details);
+
+        // Human-readable text is printed separately, so the barcode does not create a font of its own per label
+        Barcode128 barcode = new Barcode128(pdf);
+        barcode.setCode(licensePlate);
+        barcode.setFont(null);
+        barcode.setBarHeight(40);
+        document.add(new Image(barcode.createFormXObject(ColorConstants.BLACK, ColorConstants.BLACK, pdf))
+                .setWidth(220)
+                .setHeight(40)
+                .setMarginTop(6)
+                .setHorizontalAlignment(HorizontalAlignment.CENTER));
+        document.add(new Paragraph(licensePlate)
+                .setMargin(0)
+                .setFontSize(14)
+                .setTextAlignment(TextAlignment.CENTER));
+    }
+
+    private static void addDetail(Table details, String label, String value) {
+        details.addCell(new Cell().add(new Paragraph(label).setFontSize(9).setMargin(0)).setBorder(Border.NO_BORDER).setPadding(1));
+        details.addCell(new Cell().add(new Paragraph(value == null ? "-" : value).setFontSize(11).setMargin(0))
+                .setBorder(Border.NO_BORDER).setPadding(1));
+    }
+
+    private static String formatDate(Date date) {
+        // %tF works for java.sql.Date as well, whose toInstant is unsupported
+        return date == null ? null : String.format("%tF", date);
+    }
+}
@@ -1,15 +1,18 @@
 package com.project.warehouse_management_system.Inventory.service;
 
 import com.project.warehouse_management_system.BaseClasses.BaseService;
+import com.project.warehouse_management_system.Inventory.event.PalletChangedEvent;
 import com.project.warehouse_management_system.Inventory.model.Product;
 import com.project.warehouse_management_system.Inventory.repo.ProductRepo;
 import com.project.warehouse_management_system.Inventory.model.Pallet;
 import com.project.warehouse_management_system.Inventory.repo.PalletRepo;
+import com.project.warehouse_management_system.WareHouse.event.PositionOccupancyChangedEvent;
 import com.project.warehouse_management_system.WareHouse.model.Position;
 import com.project.warehouse_management_system.WareHouse.repo.PositionRepo;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -23,6 +26,8 @@ public class PalletService extends BaseService<Pallet,Long> {
     private ProductRepo productRepo;
     @Autowired
     private PositionRepo positionRepo;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     protected void setEntityId(Pallet entity, Long id) {
@@ -34,7 +39,9 @@ public class PalletService extends BaseService<Pallet,Long> {
                 () -> new EntityNotFoundException("Pallet not found with id: " + id)
         );
         setEntityId(entity,id);
-        return palletRepo.save(entity);
+        Pallet saved = palletRepo.save(entity);
+        publishChanged(id);
+        return saved;
     }
 
     @Override
@@ -47,20 +54,22 @@ public class PalletService extends BaseService<Pallet,Long> {
               throw new ValidationException("Position must be specified.");
           }
            // Fetch the position and mark it as not empty
-              Position position = positionRepo.findById(entity.getPosition().getId())
-                      .orElseThrow(() -> new ValidationException("Invalid position ID."));
-              position.setIsEmpty(false);
-              positionRepo.save(position);
+              Position position = setPositionEmpty(entity.getPosition().getId(), false, "Invalid position ID.");
 
               // Update product stock
               Product product = productRepo.findById(entity.getProduct().getId()).orElseThrow();
               product.setQuantityInStock(product.getQuantityInStock() + entity.getQuantity());
               productRepo.save(product);
 
-              return palletRepo.save(entity);
+              Pallet saved = palletRepo.save(entity);
+              publishOccupancy(position.getId(), saved.getId(), true);
+              publishChanged(saved.getId());
+              return saved;
          }
 
-        return palletRepo.save(entity);
+        Pallet saved = palletRepo.save(entity);
+        publishChanged(saved.getId());
+        return saved;
     }
 
     @Override
@@ -112,9 +121,8 @@ public class PalletService extends BaseService<Pallet,Long> {
 
         // Handle status change and unlink if removed from storage
         if (wasStored && !isNowStored && existingPallet.getPosition() != null) {
-            Position oldPosition = positionRepo.findById(existingPallet.getPosition().getId()).orElseThrow();
-            oldPosition.setIsEmpty(true);
-            positionRepo.save(oldPosition);
+            Position oldPosition = setPositionEmpty(existingPallet.getPosition().getId(), true, "Invalid position ID.");
+            publishOccupancy(oldPosition.getId(), palletId, false);
             existingPallet.setPosition(null);
         }
 
@@ -128,22 +136,21 @@ public class PalletService extends BaseService<Pallet,Long> {
             if (newPositionId != null && !newPositionId.equals(oldPositionId)) {
                 // Empty old position
                 if (oldPositionId != null) {
-                    Position oldPosition = positionRepo.findById(oldPositionId).orElseThrow();
-                    oldPosition.setIsEmpty(true);
-                    positionRepo.save(oldPosition);
+                    setPositionEmpty(oldPositionId, true, "Invalid position ID.");
+                    publishOccupancy(oldPositionId, palletId, false);
                 }
 
                 // Occupy new position
-                Position newPosition = positionRepo.findById(newPositionId)
-                        .orElseThrow(() -> new ValidationException("New position ID is invalid."));
-                newPosition.setIsEmpty(false);
-                positionRepo.save(newPosition);
+                Position newPosition = setPositionEmpty(newPositionId, false, "New position ID is invalid.");
+                publishOccupancy(newPositionId, palletId, true);
 
                 existingPallet.setPosition(newPosition);
             }
         }
 
-        return palletRepo.save(existingPallet);
+        Pallet saved = palletRepo.save(existingPallet);
+        publishChanged(palletId);
+        return saved;
     }
 
 
@@ -167,10 +174,8 @@ public class PalletService extends BaseService<Pallet,Long> {
           productRepo.save(product);
 
           // Fetch the position and mark it as empty
-          Position position = positionRepo.findById(plt.getPosition().getId())
-                  .orElseThrow(() -> new ValidationException("Invalid position ID."));
-          position.setIsEmpty(true);
-          positionRepo.save(position);
+          Position position = setPositionEmpty(plt.getPosition().getId(), true, "Invalid position ID.");
+          publishOccupancy(position.getId(), palletId, false);
 
           // Delete the package
           palletRepo.delete(plt);}
@@ -178,8 +183,25 @@ public class PalletService extends BaseService<Pallet,Long> {
               // Delete the package
               palletRepo.delete(plt);
           }
+          publishChanged(palletId);
+
+
+    }
 
+    private Position setPositionEmpty(Long positionId, boolean empty, String notFoundMessage) {
+        Position position = positionRepo.findById(positionId)
+                .orElseThrow(() -> new ValidationException(notFoundMessage));
+        position.setIsEmpty(empty);
+        return positionRepo.save(position);
+    }
+
+    // Listeners such as the occupancy counters apply this after the surrounding transaction commits
+    private void publishOccupancy(Long positionId, Long palletId, boolean occupied) {
+        eventPublisher.publishEvent(new PositionOccupancyChangedEvent(positionId, palletId, occupied));
+    }
 
+    private void publishChanged(Long palletId) {
+        eventPublisher.publishEvent(new PalletChangedEvent(palletId));
     }
 
 }
@@ -1,73 +1,199 @@
 package com.project.warehouse_management_system.Inventory.service;
 
 import com.project.warehouse_management_system.BaseClasses.BaseService;
+import com.project.warehouse_management_system.BaseClasses.GeneratedKeyBatchInserter;
+import com.project.warehouse_management_system.BaseClasses.PageDTO;
 import com.project.warehouse_management_system.Inventory.Dto.PalletDTO;
+import com.project.warehouse_management_system.Inventory.Dto.PalletReceiptDTO;
 import com.project.warehouse_management_system.Inventory.Dto.PurchaseOrderDTO;
 import com.project.warehouse_management_system.Inventory.Dto.PurchaseOrderProductDTO;
+import com.project.warehouse_management_system.Inventory.Dto.ReceiptLineDTO;
+import com.project.warehouse_management_system.Inventory.event.PalletChangedEvent;
+import com.project.warehouse_management_system.Inventory.event.PalletsReceivedEvent;
+import com.project.warehouse_management_system.Inventory.event.PurchaseOrderCreatedEvent;
+import com.project.warehouse_management_system.Inventory.event.PurchaseOrderDeletingEvent;
 import com.project.warehouse_management_system.Inventory.model.Pallet;
 import com.project.warehouse_management_system.Inventory.model.Product;
 import com.project.warehouse_management_system.Inventory.model.PurchaseOrder;
-import com.project.warehouse_management_system.Inventory.model.PurchaseOrderProduct;
+import com.project.warehouse_management_system.Inventory.repo.PalletRepo;
 import com.project.warehouse_management_system.Inventory.repo.ProductRepo;
+import com.project.warehouse_management_system.Inventory.repo.PurchaseOrderLineRow;
+import com.project.warehouse_management_system.Inventory.repo.PurchaseOrderStateRow;
+import com.project.warehouse_management_system.Inventory.repo.ReceivedProductRow;
 import com.project.warehouse_management_system.Inventory.repo.PurchaseOrderRepo;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class PurchaseOrderService extends BaseService<PurchaseOrder, Long> {
 
+    private static final String INSERT_LINE = "insert into purchase_order_products " +
+            "(purchase_order_id, product_id, quantity, expected_pallets, price, created_at) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PALLET = "insert into pallet (`pallet-name`, quantity, maximum_capacity, " +
+            "status, manufacturing_date, expiry_date, supplier_name, product_id, position_id, purchase_order_id, " +
+            "created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String NAME_PALLET = "update pallet set `pallet-name` = ? where id = ?";
+
     @Autowired
     private PurchaseOrderRepo purchaseOrderRepository;
 
     @Autowired
     private ProductRepo productRepository;
 
+    @Autowired
+    private PalletRepo palletRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GeneratedKeyBatchInserter batchInserter;
+
+    @Value("${warehouse.jdbc.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${purchase-orders.page.max-size:200}")
+    private int maxPageSize;
+
     @Override
     protected void setEntityId(PurchaseOrder entity, Long id) {
         entity.setId(id);
     }
 
+    /**
+     * Replaces the purchase order through the generic endpoint, only if it is still at the version the body was read
+     * at. The status is left to {@link #updatePurchaseOrderStatus}, which checks the transition. Throws
+     * {@link IllegalStateException} for a body without a version or with another status, and
+     * {@link ObjectOptimisticLockingFailureException} when the order changed since it was read.
+     */
+    @Override
+    public PurchaseOrder update(Long id, PurchaseOrder entity) {
+        PurchaseOrderStateRow stored = purchaseOrderRepository.findStateById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Purchase order not found"));
+        if (entity.getVersion() == null) {
+            throw new IllegalStateException("Send the version of purchase order " + id + " you are replacing.");
+        }
+        if (!entity.getVersion().equals(stored.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(PurchaseOrder.class, id);
+        }
+        if (entity.getStatus() == null) {
+            entity.setStatus(stored.getStatus());
+        } else if (!entity.getStatus().equals(stored.getStatus())) {
+            throw new IllegalStateException("Change the status of purchase order " + id + " through /purchase-orders/"
+                    + id + "/status.");
+        }
+        return super.update(id, entity);
+    }
+
+    /**
+     * Deletes the purchase order after its listeners removed what references it, such as its dock appointment.
+     */
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        eventPublisher.publishEvent(new PurchaseOrderDeletingEvent(id));
+        super.delete(id);
+    }
+
+    /**
+     * Creates the purchase order and its lines. All products are resolved with one query before anything is
+     * written, and the lines are inserted in JDBC batches that return their generated ids.
+     */
     @Transactional
     public PurchaseOrderDTO createPurchaseOrder(PurchaseOrderDTO purchaseOrderDTO) {
+        List<PurchaseOrderProductDTO> lines = purchaseOrderDTO.getProducts() != null
+                ? purchaseOrderDTO.getProducts() : List.of();
+        for (PurchaseOrderProductDTO line : lines) {
+            if (line.getProductId() == null || line.getQuantity() == null || line.getExpectedPallets() == null) {
+                throw new ValidationException("Every line needs a productId, a quantity and expectedPallets.");
+            }
+        }
+        Map<Long, Product> products = resolveProducts(lines);
+
         PurchaseOrder purchaseOrder = new PurchaseOrder();
         purchaseOrder.setSupplierName(purchaseOrderDTO.getSupplierName());
         purchaseOrder.setExpectedArrivalTime(purchaseOrderDTO.getExpectedArrivalTime());
         purchaseOrder.setTotalPrice(purchaseOrderDTO.getTotalPrice());
         purchaseOrder.setStatus("Pending");
+        purchaseOrder = purchaseOrderRepository.save(purchaseOrder);
 
-        // Add products to purchase order
-        if (purchaseOrderDTO.getProducts() != null) {
-            List<PurchaseOrderProduct> products = new ArrayList<>();
-            for (PurchaseOrderProductDTO productDTO : purchaseOrderDTO.getProducts()) {
-                PurchaseOrderProduct orderProduct = new PurchaseOrderProduct();
-
-                Product product = productRepository.findById(productDTO.getProductId())
-                        .orElseThrow(() -> new EntityNotFoundException("Product not found"));
-
-                orderProduct.setProduct(product);
-                orderProduct.setQuantity(productDTO.getQuantity());
-                orderProduct.setExpectedPallets(productDTO.getExpectedPallets());
-                orderProduct.setPrice(product.getUnitPrice());
+        List<PurchaseOrderProductDTO> lineDTOs = insertLines(purchaseOrder.getId(), lines, products);
+        eventPublisher.publishEvent(new PurchaseOrderCreatedEvent(purchaseOrder.getId()));
+        return new PurchaseOrderDTO(purchaseOrder.getId(), purchaseOrder.getSupplierName(),
+                purchaseOrder.getExpectedArrivalTime(), purchaseOrder.getTotalPrice(), purchaseOrder.getStatus(),
+                lineDTOs, new ArrayList<>(), purchaseOrder.getVersion());
+    }
 
-                products.add(orderProduct);
-            }
-            purchaseOrder.setProducts(products);
+    private Map<Long, Product> resolveProducts(List<PurchaseOrderProductDTO> lines) {
+        Set<Long> ids = lines.stream().map(PurchaseOrderProductDTO::getProductId).collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Long> missing = ids.stream().filter(id -> !products.containsKey(id)).sorted().toList();
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException("Products not found with ids: " + missing);
         }
+        return products;
+    }
 
-        // Save purchase order with products
-        purchaseOrder = purchaseOrderRepository.save(purchaseOrder);
-
-        return mapToDTO(purchaseOrder);
+    private List<PurchaseOrderProductDTO> insertLines(Long purchaseOrderId, List<PurchaseOrderProductDTO> lines,
+                                                      Map<Long, Product> products) {
+        if (lines.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(lines.size());
+        for (PurchaseOrderProductDTO line : lines) {
+            Product product = products.get(line.getProductId());
+            args.add(new Object[]{purchaseOrderId, product.getId(), line.getQuantity(), line.getExpectedPallets(),
+                    product.getUnitPrice(), now});
+        }
+        List<Long> ids = batchInserter.insertReturningIds(INSERT_LINE, args);
+        List<PurchaseOrderProductDTO> lineDTOs = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            PurchaseOrderProductDTO line = lines.get(i);
+            Product product = products.get(line.getProductId());
+            lineDTOs.add(new PurchaseOrderProductDTO(ids.get(i), product.getId(), product.getName(), line.getQuantity(),
+                    line.getExpectedPallets(), product.getUnitPrice()));
+        }
+        return lineDTOs;
     }
 
     @Transactional
     public PurchaseOrderDTO updatePurchaseOrderStatus(Long id, String status) {
+        return updatePurchaseOrderStatus(id, status, null);
+    }
+
+    /**
+     * Applies a status transition with one conditional update on status and version, without locking the order
+     * while the caller works. Throws {@link ObjectOptimisticLockingFailureException} when the order is no longer at
+     * {@code expectedVersion} (if given) or changed between the read and the update.
+     */
+    @Transactional
+    public PurchaseOrderDTO updatePurchaseOrderStatus(Long id, String status, Long expectedVersion) {
         PurchaseOrder purchaseOrder = purchaseOrderRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Purchase order not found"));
 
@@ -76,11 +202,31 @@ public class PurchaseOrderService extends BaseService<PurchaseOrder, Long> {
         if (!isValidStatusTransition(currentStatus, status)) {
             throw new IllegalStateException("Invalid status transition from " + currentStatus + " to " + status);
         }
+        if (expectedVersion != null && !expectedVersion.equals(purchaseOrder.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(PurchaseOrder.class, id);
+        }
+        if (purchaseOrderRepository.transitionStatus(id, currentStatus, status, purchaseOrder.getVersion()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(PurchaseOrder.class, id);
+        }
 
-        purchaseOrder.setStatus(status);
-        purchaseOrder = purchaseOrderRepository.save(purchaseOrder);
+        return getPurchaseOrderById(id);
+    }
 
-        return mapToDTO(purchaseOrder);
+    /**
+     * Reads an order that pallets are about to be added to and increments its version, so a concurrent status
+     * change or receipt for the same order fails instead of being overwritten.
+     */
+    private PurchaseOrder checkOutForReceiving(Long purchaseOrderId) {
+        PurchaseOrder purchaseOrder = purchaseOrderRepository.findById(purchaseOrderId)
+                .orElseThrow(() -> new EntityNotFoundException("Purchase order not found"));
+        if (!purchaseOrder.getStatus().equals("Processing")) {
+            throw new IllegalStateException("Cannot add pallets to purchase order in " + purchaseOrder.getStatus() + " status");
+        }
+        if (purchaseOrderRepository.incrementVersion(purchaseOrderId, "Processing", purchaseOrder.getVersion()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(PurchaseOrder.class, purchaseOrderId);
+        }
+        // Read again: the update cleared the persistence context
+        return purchaseOrderRepository.findById(purchaseOrderId).orElseThrow();
     }
 
     private boolean isValidStatusTransition(String currentStatus, String newStatus) {
@@ -98,13 +244,7 @@ public class PurchaseOrderService extends BaseService<PurchaseOrder, Long> {
 
     @Transactional
     public PurchaseOrderDTO addPalletToPurchaseOrder(Long purchaseOrderId, PalletDTO palletDTO) {
-        PurchaseOrder purchaseOrder = purchaseOrderRepository.findById(purchaseOrderId)
-                .orElseThrow(() -> new EntityNotFoundException("Purchase order not found"));
-
-        // Check if purchase order is in a valid state to add pallets
-        if (!purchaseOrder.getStatus().equals("Processing")) {
-            throw new IllegalStateException("Cannot add pallets to purchase order in " + purchaseOrder.getStatus() + " status");
-        }
+        PurchaseOrder purchaseOrder = checkOutForReceiving(purchaseOrderId);
 
         Product product = productRepository.findById(palletDTO.getProductId())
                 .orElseThrow(() -> new EntityNotFoundException("Product not found"));
@@ -120,83 +260,192 @@ public class PurchaseOrderService extends BaseService<PurchaseOrder, Long> {
         pallet.setProduct(product);
         pallet.setPurchaseOrder(purchaseOrder);
 
-        purchaseOrder.getPallets().add(pallet);
-        purchaseOrder = purchaseOrderRepository.save(purchaseOrder);
+        // Saved on its own: merging the whole order would write the header again
+        pallet = palletRepository.save(pallet);
+        eventPublisher.publishEvent(new PalletChangedEvent(pallet.getId()));
 
-        return mapToDTO(purchaseOrder);
+        return toDTOs(List.of(purchaseOrder)).get(0);
     }
 
-    public List<PurchaseOrderDTO> getAllPurchaseOrders() {
-        return purchaseOrderRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    /**
+     * Receives a truck's worth of pallets for a purchase order in one call. Every pallet is checked against the
+     * order's lines first, counting what was received before, so ordered quantities and expectedPallets are never
+     * exceeded; all problems are reported together and nothing is written unless the whole receipt is valid.
+     */
+    @Transactional
+    public PalletReceiptDTO receivePallets(Long purchaseOrderId, List<PalletDTO> palletDTOs) {
+        return receivePallets(purchaseOrderId, palletDTOs, null);
     }
 
-    public List<PurchaseOrderDTO> getPurchaseOrdersBySupplier(String supplierName) {
-        return purchaseOrderRepository.findBySupplierName(supplierName).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    /**
+     * With {@code positionIds}, one per pallet, the pallets are inserted as stored at those positions. Claiming the
+     * positions and posting the stock is left to the caller, which does both in bulk for the whole receipt.
+     */
+    @Transactional
+    public PalletReceiptDTO receivePallets(Long purchaseOrderId, List<PalletDTO> palletDTOs, List<Long> positionIds) {
+        long started = System.currentTimeMillis();
+        PurchaseOrder purchaseOrder = checkOutForReceiving(purchaseOrderId);
+        if (palletDTOs == null || palletDTOs.isEmpty()) {
+            throw new ValidationException("At least one pallet must be received.");
+        }
+
+        // Ordered and already received totals per product; a product may appear on several lines
+        Map<Long, ReceiptLineDTO> receipt = new LinkedHashMap<>();
+        for (PurchaseOrderLineRow line : purchaseOrderRepository.findLineRows(List.of(purchaseOrderId))) {
+            ReceiptLineDTO total = receipt.computeIfAbsent(line.getProductId(), id -> new ReceiptLineDTO(id, 0, 0, 0, 0));
+            total.setOrderedQuantity(total.getOrderedQuantity() + line.getQuantity());
+            Integer expectedPallets = parseExpectedPallets(line.getExpectedPallets());
+            total.setExpectedPallets(expectedPallets == null || total.getExpectedPallets() == null
+                    ? null : total.getExpectedPallets() + expectedPallets);
+        }
+        for (ReceivedProductRow received : palletRepository.findReceivedByPurchaseOrderId(purchaseOrderId)) {
+            ReceiptLineDTO total = receipt.get(received.getProductId());
+            if (total != null) {
+                total.setReceivedPallets(received.getPallets());
+                total.setReceivedQuantity(received.getQuantity());
+            }
+        }
+
+        List<String> problems = new ArrayList<>();
+        for (int i = 0; i < palletDTOs.size(); i++) {
+            PalletDTO pallet = palletDTOs.get(i);
+            ReceiptLineDTO total = receipt.get(pallet.getProductId());
+            if (total == null) {
+                problems.add("Pallet " + i + ": product " + pallet.getProductId() + " is not on this purchase order.");
+                continue;
+            }
+            if (pallet.getQuantity() < 1) {
+                problems.add("Pallet " + i + ": quantity must be at least 1.");
+            }
+            if (pallet.getMaximumCapacity() > 0 && pallet.getQuantity() > pallet.getMaximumCapacity()) {
+                problems.add("Pallet " + i + ": quantity " + pallet.getQuantity() + " exceeds its maximum capacity "
+                        + pallet.getMaximumCapacity() + ".");
+            }
+            total.setReceivedPallets(total.getReceivedPallets() + 1);
+            total.setReceivedQuantity(total.getReceivedQuantity() + pallet.getQuantity());
+        }
+        for (ReceiptLineDTO total : receipt.values()) {
+            if (total.getReceivedQuantity() > total.getOrderedQuantity()) {
+                problems.add("Product " + total.getProductId() + ": " + total.getReceivedQuantity()
+                        + " units would be received, " + total.getOrderedQuantity() + " were ordered.");
+            }
+            if (total.getExpectedPallets() != null && total.getReceivedPallets() > total.getExpectedPallets()) {
+                problems.add("Product " + total.getProductId() + ": " + total.getReceivedPallets()
+                        + " pallets would be received, " + total.getExpectedPallets() + " were expected.");
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new ValidationException(String.join(" ", problems));
+        }
+
+        if (positionIds != null && positionIds.size() != palletDTOs.size()) {
+            throw new IllegalArgumentException("Expected one position per pallet.");
+        }
+        List<Long> palletIds = insertPallets(purchaseOrder, palletDTOs, positionIds);
+        eventPublisher.publishEvent(new PalletsReceivedEvent(purchaseOrderId, palletIds));
+
+        long units = palletDTOs.stream().mapToLong(PalletDTO::getQuantity).sum();
+        return new PalletReceiptDTO(purchaseOrderId, palletIds.size(), units, palletIds,
+                new ArrayList<>(receipt.values()), System.currentTimeMillis() - started);
+    }
+
+    private List<Long> insertPallets(PurchaseOrder purchaseOrder, List<PalletDTO> palletDTOs, List<Long> positionIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(palletDTOs.size());
+        for (int i = 0; i < palletDTOs.size(); i++) {
+            PalletDTO pallet = palletDTOs.get(i);
+            // Unnamed pallets get their license plate as name once their id is known
+            String name = isUnnamed(pallet) ? "" : pallet.getPalletName();
+            Long positionId = positionIds != null ? positionIds.get(i) : null;
+            args.add(new Object[]{name, pallet.getQuantity(), pallet.getMaximumCapacity(),
+                    positionId != null ? "stored" : "Ready to Ship", pallet.getManufacturingDate(),
+                    pallet.getExpiryDate(), purchaseOrder.getSupplierName(), pallet.getProductId(), positionId,
+                    purchaseOrder.getId(), now});
+        }
+        List<Long> palletIds = batchInserter.insertReturningIds(INSERT_PALLET, args);
+
+        List<Object[]> names = new ArrayList<>();
+        for (int i = 0; i < palletDTOs.size(); i++) {
+            if (isUnnamed(palletDTOs.get(i))) {
+                names.add(new Object[]{PalletLabelService.licensePlate(palletIds.get(i)), palletIds.get(i)});
+            }
+        }
+        for (int from = 0; from < names.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(NAME_PALLET, names.subList(from, Math.min(from + batchSize, names.size())));
+        }
+        return palletIds;
+    }
+
+    private static boolean isUnnamed(PalletDTO pallet) {
+        return pallet.getPalletName() == null || pallet.getPalletName().isBlank();
+    }
+
+    /**
+     * The pallet count of a line's {@code expectedPallets}, or null when it is not a number.
+     */
+    public static Integer parseExpectedPallets(String expectedPallets) {
+        try {
+            return expectedPallets == null ? null : Integer.valueOf(expectedPallets.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public PageDTO<PurchaseOrderDTO> getPurchaseOrdersBySupplier(String supplierName, int page, int size) {
+        return getPurchaseOrders(null, supplierName, page, size);
     }
 
-    public List<PurchaseOrderDTO> getPurchaseOrdersByStatus(String status) {
-        return purchaseOrderRepository.findByStatus(status).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public PageDTO<PurchaseOrderDTO> getPurchaseOrdersByStatus(String status, int page, int size) {
+        return getPurchaseOrders(status, null, page, size);
     }
 
     public PurchaseOrderDTO getPurchaseOrderById(Long id) {
         PurchaseOrder purchaseOrder = purchaseOrderRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Purchase order not found"));
-        return mapToDTO(purchaseOrder);
-    }
-
-    private PurchaseOrderDTO mapToDTO(PurchaseOrder purchaseOrder) {
-        PurchaseOrderDTO dto = new PurchaseOrderDTO();
-        dto.setId(purchaseOrder.getId());
-        dto.setSupplierName(purchaseOrder.getSupplierName());
-        dto.setExpectedArrivalTime(purchaseOrder.getExpectedArrivalTime());
-        dto.setTotalPrice(purchaseOrder.getTotalPrice());
-        dto.setStatus(purchaseOrder.getStatus());
-
-        // Map products
-        if (purchaseOrder.getProducts() != null) {
-            List<PurchaseOrderProductDTO> productDTOs = purchaseOrder.getProducts().stream()
-                    .map(product -> {
-                        PurchaseOrderProductDTO productDTO = new PurchaseOrderProductDTO();
-                        productDTO.setId(product.getId());
-                        productDTO.setProductId(product.getProduct().getId());
-                        productDTO.setProductName(product.getProduct().getName());
-                        productDTO.setQuantity(product.getQuantity());
-                        productDTO.setExpectedPallets(product.getExpectedPallets());
-                        productDTO.setPrice(product.getPrice());
-                        return productDTO;
-                    })
-                    .collect(Collectors.toList());
-            dto.setProducts(productDTOs);
-        }
-
-        // Map pallets
-        if (purchaseOrder.getPallets() != null) {
-            List<PalletDTO> palletDTOs = purchaseOrder.getPallets().stream()
-                    .map(pallet -> {
-                        PalletDTO palletDTO = new PalletDTO();
-                        palletDTO.setId(pallet.getId());
-                        palletDTO.setPalletName(pallet.getPalletName());
-                        palletDTO.setQuantity(pallet.getQuantity());
-                        palletDTO.setMaximumCapacity(pallet.getMaximumCapacity());
-                        palletDTO.setStatus(pallet.getStatus());
-                        palletDTO.setManufacturingDate(pallet.getManufacturingDate());
-                        palletDTO.setExpiryDate(pallet.getExpiryDate());
-                        palletDTO.setSupplierName(pallet.getSupplierName());
-                        palletDTO.setProductId(pallet.getProduct().getId());
-                        palletDTO.setProductName(pallet.getProduct().getName());
-                        palletDTO.setPurchaseOrderId(purchaseOrder.getId());
-                        return palletDTO;
-                    })
-                    .collect(Collectors.toList());
-            dto.setPallets(palletDTOs);
-        }
-
-        return dto;
+        return toDTOs(List.of(purchaseOrder)).get(0);
+    }
+
+    /**
+     * One page of purchase orders, newest first, optionally filtered by status and supplier.
+     * Costs four queries whatever the page size: count, headers, lines and pallets.
+     */
+    public PageDTO<PurchaseOrderDTO> getPurchaseOrders(String status, String supplierName, int page, int size) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new ValidationException("Page must be at least 0 and size between 1 and " + maxPageSize + ".");
+        }
+        Page<PurchaseOrder> headers = purchaseOrderRepository.findPage(status, supplierName,
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id")));
+        return new PageDTO<>(toDTOs(headers.getContent()), page, size, headers.getTotalElements(),
+                headers.getTotalPages());
+    }
+
+    /**
+     * Maps purchase orders without touching their lazy collections: lines and pallets of all orders are read
+     * with one projection query each.
+     */
+    private List<PurchaseOrderDTO> toDTOs(List<PurchaseOrder> purchaseOrders) {
+        if (purchaseOrders.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = purchaseOrders.stream().map(PurchaseOrder::getId).toList();
+
+        Map<Long, List<PurchaseOrderProductDTO>> linesByOrder = new HashMap<>();
+        for (PurchaseOrderLineRow line : purchaseOrderRepository.findLineRows(ids)) {
+            linesByOrder.computeIfAbsent(line.getPurchaseOrderId(), k -> new ArrayList<>())
+                    .add(new PurchaseOrderProductDTO(line.getId(), line.getProductId(), line.getProductName(),
+                            line.getQuantity(), line.getExpectedPallets(), line.getPrice()));
+        }
+        Map<Long, List<PalletDTO>> palletsByOrder = palletRepository.findDTOsByPurchaseOrderIds(ids).stream()
+                .collect(Collectors.groupingBy(PalletDTO::getPurchaseOrderId));
+
+        List<PurchaseOrderDTO> dtos = new ArrayList<>(purchaseOrders.size());
+        for (PurchaseOrder purchaseOrder : purchaseOrders) {
+            dtos.add(new PurchaseOrderDTO(purchaseOrder.getId(), purchaseOrder.getSupplierName(),
+                    purchaseOrder.getExpectedArrivalTime(), purchaseOrder.getTotalPrice(), purchaseOrder.getStatus(),
+                    linesByOrder.getOrDefault(purchaseOrder.getId(), new ArrayList<>()),
+                    palletsByOrder.getOrDefault(purchaseOrder.getId(), new ArrayList<>()),
+                    purchaseOrder.getVersion()));
+        }
+        return dtos;
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.project.warehouse_management_system.Picking.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickLineDTO {
+    private Long orderId;
+    private Long productId;
+    private Long palletId;
+    private Long positionId;
+    private int quantity;
+}
@@ -0,0 +1,19 @@
+package com.project.warehouse_management_system.Picking.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickRouteDTO {
+    private String strategy;
+    private double totalDistance;       // depot -> stops -> depot
+    private List<PickStopDTO> stops;
+    private List<Long> unroutablePositionIds;
+    private List<PickLineDTO> shortages; // order quantities no stored pallet could cover
+    private long computeMicros;
+}
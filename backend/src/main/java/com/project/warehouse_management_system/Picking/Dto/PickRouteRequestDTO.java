@@ -0,0 +1,16 @@
+package com.project.warehouse_management_system.Picking.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickRouteRequestDTO {
+    private List<Long> positionIds;
+    private List<Long> orderIds;
+    private String strategy; // S_SHAPE, LARGEST_GAP, TWO_OPT
+}
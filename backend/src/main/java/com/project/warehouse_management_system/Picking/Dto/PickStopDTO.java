@@ -0,0 +1,24 @@
+package com.project.warehouse_management_system.Picking.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class PickStopDTO {
+    private int sequence;
+    private Long positionId;
+    private String areaName;
+    private String rowName;
+    private String bayName;
+    private int level;
+    private String positionName;
+    private double distanceFromPrevious;
+    private List<PickLineDTO> lines;
+}
@@ -0,0 +1,20 @@
+package com.project.warehouse_management_system.Picking.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaveDTO {
+    private int waveNumber;
+    private List<Long> orderIds;
+    private int lines;
+    private int units;
+    private int positions;
+    private int orderVisitsSaved; // position visits avoided compared to picking order by order
+    private List<WaveZoneDTO> zones;
+}
@@ -0,0 +1,17 @@
+package com.project.warehouse_management_system.Picking.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WavePlanDTO {
+    private List<WaveDTO> waves;
+    private List<Long> heldOrderIds;      // pending orders stock cannot fully cover right now
+    private List<PickLineDTO> shortages;
+    private long elapsedMillis;
+}
@@ -0,0 +1,18 @@
+package com.project.warehouse_management_system.Picking.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WavePlanRequestDTO {
+    private LocalDateTime cutOff;     // only orders created up to this time are released, defaults to now
+    private Integer maxOrdersPerWave;
+    private Integer maxLinesPerWave;
+    private Integer maxUnitsPerWave;
+    private String strategy;          // routing strategy for each zone pick list
+}
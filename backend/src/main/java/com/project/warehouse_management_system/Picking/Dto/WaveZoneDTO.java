@@ -0,0 +1,14 @@
+package com.project.warehouse_management_system.Picking.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaveZoneDTO {
+    private Long areaId;
+    private String areaName;
+    private PickRouteDTO pickList;
+}
@@ -0,0 +1,38 @@
+package com.project.warehouse_management_system.Picking.controller;
+
+import com.project.warehouse_management_system.Picking.Dto.PickRouteDTO;
+import com.project.warehouse_management_system.Picking.Dto.PickRouteRequestDTO;
+import com.project.warehouse_management_system.Picking.service.PickRoutingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("pick-routes")
+@SecurityRequirement(name = "Keycloak")
+public class PickRouteController {
+
+    @Autowired
+    private PickRoutingService pickRoutingService;
+
+    @PostMapping
+    @Operation(summary = "Sequence pick stops for positions or orders using S_SHAPE, LARGEST_GAP or TWO_OPT routing")
+    public ResponseEntity<?> route(@RequestBody PickRouteRequestDTO request) {
+        try {
+            PickRouteDTO route = pickRoutingService.route(request);
+            return new ResponseEntity<>(route, HttpStatus.OK);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.warehouse_management_system.Picking.controller;
+
+import com.project.warehouse_management_system.Picking.Dto.WavePlanDTO;
+import com.project.warehouse_management_system.Picking.Dto.WavePlanRequestDTO;
+import com.project.warehouse_management_system.Picking.service.WavePlanningService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("waves")
+@SecurityRequirement(name = "Keycloak")
+public class WaveController {
+
+    @Autowired
+    private WavePlanningService wavePlanningService;
+
+    @PostMapping("/plan")
+    @Operation(summary = "Group pending orders into pick waves with one routed pick list per area")
+    public ResponseEntity<?> plan(@RequestBody(required = false) WavePlanRequestDTO request) {
+        try {
+            WavePlanDTO plan = wavePlanningService.plan(request != null ? request : new WavePlanRequestDTO());
+            return new ResponseEntity<>(plan, HttpStatus.OK);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
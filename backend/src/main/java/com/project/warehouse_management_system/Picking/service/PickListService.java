@@ -0,0 +1,117 @@
+package com.project.warehouse_management_system.Picking.service;
+
+import com.project.warehouse_management_system.Inventory.model.OrderProduct;
+import com.project.warehouse_management_system.Inventory.model.Orders;
+import com.project.warehouse_management_system.Inventory.repo.OrderRepo;
+import com.project.warehouse_management_system.Inventory.repo.PalletRepo;
+import com.project.warehouse_management_system.Inventory.repo.StoredPalletRow;
+import com.project.warehouse_management_system.Picking.Dto.PickLineDTO;
+import com.project.warehouse_management_system.Receiving.repo.AllocatedLineRow;
+import com.project.warehouse_management_system.Receiving.repo.CrossDockAllocationRepo;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Turns order lines into pick lines by allocating stored pallets first-expiry-first-out.
+ */
+@Service
+public class PickListService {
+
+    @Autowired
+    private OrderRepo orderRepo;
+    @Autowired
+    private PalletRepo palletRepo;
+    @Autowired
+    private CrossDockAllocationRepo crossDockAllocationRepo;
+
+    public record PickList(List<PickLineDTO> lines, List<PickLineDTO> shortages) {}
+
+    public PickList resolveOrders(Collection<Long> orderIds) {
+        List<Orders> orders = new ArrayList<>(orderRepo.findWithProductsByIdIn(orderIds));
+        Set<Long> found = new HashSet<>();
+        orders.forEach(o -> found.add(o.getId()));
+        List<Long> missing = orderIds.stream().filter(id -> !found.contains(id)).distinct().toList();
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException("Orders not found with ids: " + missing);
+        }
+        orders.sort(Comparator.comparing(Orders::getId));
+        return allocate(orders);
+    }
+
+    public PickList allocate(List<Orders> orders) {
+        return allocate(orders, false);
+    }
+
+    /**
+     * Allocates the given orders in list order; earlier orders get the earlier-expiring pallets.
+     * Quantities are shared across all orders of the call, so a pallet is never promised twice.
+     * With {@code wholeOrdersOnly} an order that cannot be covered completely gets no pick lines at all
+     * and its quantities stay available to later orders. Units already covered by cross-docked pallets are not picked.
+     */
+    public PickList allocate(List<Orders> orders, boolean wholeOrdersOnly) {
+        Set<Long> productIds = new HashSet<>();
+        List<Long> lineIds = new ArrayList<>();
+        for (Orders order : orders) {
+            for (OrderProduct line : order.getProducts()) {
+                if (line.getProduct() != null) {
+                    productIds.add(line.getProduct().getId());
+                    lineIds.add(line.getId());
+                }
+            }
+        }
+        Map<Long, Long> crossDocked = new HashMap<>();
+        if (!lineIds.isEmpty()) {
+            for (AllocatedLineRow row : crossDockAllocationRepo.findAllocatedByOrderLineIds(lineIds)) {
+                crossDocked.put(row.getOrderLineId(), row.getQuantity());
+            }
+        }
+
+        Map<Long, List<StoredPalletRow>> palletsByProduct = new HashMap<>();
+        Map<Long, Integer> remaining = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            for (StoredPalletRow pallet : palletRepo.findStoredByProductIds(productIds)) {
+                palletsByProduct.computeIfAbsent(pallet.getProductId(), k -> new ArrayList<>()).add(pallet);
+                remaining.put(pallet.getPalletId(), pallet.getQuantity());
+            }
+        }
+
+        List<PickLineDTO> lines = new ArrayList<>();
+        List<PickLineDTO> shortages = new ArrayList<>();
+        for (Orders order : orders) {
+            int firstLine = lines.size();
+            int firstShortage = shortages.size();
+            for (OrderProduct line : order.getProducts()) {
+                int needed = line.getQuantity() - crossDocked.getOrDefault(line.getId(), 0L).intValue();
+                if (line.getProduct() == null || needed <= 0) {
+                    continue;
+                }
+                Long productId = line.getProduct().getId();
+                for (StoredPalletRow pallet : palletsByProduct.getOrDefault(productId, List.of())) {
+                    int available = remaining.get(pallet.getPalletId());
+                    if (available <= 0) {
+                        continue;
+                    }
+                    int take = Math.min(available, needed);
+                    remaining.put(pallet.getPalletId(), available - take);
+                    lines.add(new PickLineDTO(order.getId(), productId, pallet.getPalletId(), pallet.getPositionId(), take));
+                    needed -= take;
+                    if (needed == 0) {
+                        break;
+                    }
+                }
+                if (needed > 0) {
+                    shortages.add(new PickLineDTO(order.getId(), productId, null, null, needed));
+                }
+            }
+            if (wholeOrdersOnly && shortages.size() > firstShortage) {
+                List<PickLineDTO> allocated = lines.subList(firstLine, lines.size());
+                allocated.forEach(l -> remaining.merge(l.getPalletId(), l.getQuantity(), Integer::sum));
+                allocated.clear();
+            }
+        }
+        return new PickList(lines, shortages);
+    }
+}
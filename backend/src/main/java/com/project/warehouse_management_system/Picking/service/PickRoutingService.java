@@ -0,0 +1,337 @@
+package com.project.warehouse_management_system.Picking.service;
+
+import com.project.warehouse_management_system.Picking.Dto.PickLineDTO;
+import com.project.warehouse_management_system.Picking.Dto.PickRouteDTO;
+import com.project.warehouse_management_system.Picking.Dto.PickRouteRequestDTO;
+import com.project.warehouse_management_system.Picking.Dto.PickStopDTO;
+import com.project.warehouse_management_system.WareHouse.Dto.PositionPathDTO;
+import com.project.warehouse_management_system.WareHouse.service.TopologyService;
+import com.project.warehouse_management_system.WareHouse.service.TopologySnapshot;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Sequences pick stops over the {@link WarehouseGrid}. Each request builds the distance matrix of its stops once
+ * (depot at index 0) and all heuristics work on that matrix only.
+ */
+@Service
+public class PickRoutingService {
+
+    public enum Strategy { S_SHAPE, LARGEST_GAP, TWO_OPT }
+
+    private static final int MAX_TWO_OPT_PASSES = 50;
+
+    @Autowired
+    private TopologyService topologyService;
+    @Autowired
+    private PickListService pickListService;
+
+    @Value("${picking.grid.bay-depth:1.5}")
+    private double bayDepth;
+    @Value("${picking.grid.aisle-spacing:3.0}")
+    private double aisleSpacing;
+    @Value("${picking.grid.level-height:1.2}")
+    private double levelHeight;
+    @Value("${picking.grid.area-gap:6.0}")
+    private double areaGap;
+
+    private volatile WarehouseGrid grid;
+
+    public WarehouseGrid getGrid() {
+        TopologySnapshot snapshot = topologyService.getSnapshot();
+        WarehouseGrid current = grid;
+        if (current != null && current.getVersion() == snapshot.getVersion()) {
+            return current;
+        }
+        synchronized (this) {
+            if (grid == null || grid.getVersion() != snapshot.getVersion()) {
+                grid = WarehouseGrid.build(snapshot, new WarehouseGrid.Params(bayDepth, aisleSpacing, levelHeight, areaGap));
+            }
+            return grid;
+        }
+    }
+
+    public PickRouteDTO route(PickRouteRequestDTO request) {
+        Strategy strategy = parseStrategy(request.getStrategy());
+        List<PickLineDTO> lines = new ArrayList<>();
+        List<PickLineDTO> shortages = List.of();
+        if (request.getOrderIds() != null && !request.getOrderIds().isEmpty()) {
+            PickListService.PickList pickList = pickListService.resolveOrders(request.getOrderIds());
+            lines.addAll(pickList.lines());
+            shortages = pickList.shortages();
+        }
+
+        Set<Long> positionIds = new LinkedHashSet<>();
+        if (request.getPositionIds() != null) {
+            positionIds.addAll(request.getPositionIds());
+        }
+        lines.forEach(line -> positionIds.add(line.getPositionId()));
+        if (positionIds.isEmpty()) {
+            throw new ValidationException("At least one position or order must be specified.");
+        }
+
+        PickRouteDTO route = route(positionIds, lines, strategy);
+        route.setShortages(shortages);
+        return route;
+    }
+
+    /**
+     * Routes the given positions; pick lines are attached to the stop of their position.
+     */
+    public PickRouteDTO route(Collection<Long> positionIds, List<PickLineDTO> lines, Strategy strategy) {
+        long started = System.nanoTime();
+        WarehouseGrid grid = getGrid();
+        TopologySnapshot snapshot = topologyService.getSnapshot();
+
+        List<Integer> indices = new ArrayList<>();
+        List<Long> unroutable = new ArrayList<>();
+        for (Long positionId : new LinkedHashSet<>(positionIds)) {
+            int index = grid.indexOf(positionId);
+            if (index < 0) {
+                unroutable.add(positionId);
+            } else {
+                indices.add(index);
+            }
+        }
+
+        int[] stops = indices.stream().mapToInt(Integer::intValue).toArray();
+        double[][] matrix = distanceMatrix(grid, stops);
+        int[] tour = switch (strategy) {
+            case S_SHAPE -> sShape(grid, stops);
+            case LARGEST_GAP -> largestGap(grid, stops);
+            case TWO_OPT -> twoOpt(matrix, nearestNeighbour(matrix));
+        };
+
+        Map<Long, List<PickLineDTO>> linesByPosition = new HashMap<>();
+        for (PickLineDTO line : lines) {
+            linesByPosition.computeIfAbsent(line.getPositionId(), k -> new ArrayList<>()).add(line);
+        }
+
+        List<PickStopDTO> result = new ArrayList<>(tour.length);
+        double total = 0;
+        int previous = 0;
+        for (int i = 0; i < tour.length; i++) {
+            int stop = tour[i];
+            double leg = matrix[previous][stop];
+            total += leg;
+            previous = stop;
+
+            long positionId = grid.positionId(stops[stop - 1]);
+            PositionPathDTO path = snapshot.path(positionId);
+            result.add(new PickStopDTO(i + 1, positionId,
+                    path == null ? null : path.getAreaName(),
+                    path == null ? null : path.getRowName(),
+                    path == null ? null : path.getBayName(),
+                    path == null ? 0 : path.getLevel(),
+                    path == null ? null : path.getPositionName(),
+                    leg,
+                    linesByPosition.getOrDefault(positionId, List.of())));
+        }
+        total += matrix[previous][0];
+
+        return new PickRouteDTO(strategy.name(), total, result, unroutable, List.of(),
+                (System.nanoTime() - started) / 1_000);
+    }
+
+    public static Strategy parseStrategy(String strategy) {
+        if (strategy == null || strategy.isBlank()) {
+            return Strategy.TWO_OPT;
+        }
+        try {
+            return Strategy.valueOf(strategy.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown routing strategy: " + strategy + ". Use S_SHAPE, LARGEST_GAP or TWO_OPT.");
+        }
+    }
+
+    // Index 0 is the depot, index i (1..n) is stops[i - 1]
+    private static double[][] distanceMatrix(WarehouseGrid grid, int[] stops) {
+        int n = stops.length + 1;
+        double[][] matrix = new double[n][n];
+        for (int i = 1; i < n; i++) {
+            matrix[0][i] = matrix[i][0] = grid.distanceFromDepot(stops[i - 1]);
+            for (int j = i + 1; j < n; j++) {
+                matrix[i][j] = matrix[j][i] = grid.distance(stops[i - 1], stops[j - 1]);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Traverses every aisle that holds a pick end to end, alternating direction, block by block.
+     */
+    private static int[] sShape(WarehouseGrid grid, int[] stops) {
+        Integer[] order = byBlockAisleAndDepth(grid, stops);
+        int[] tour = new int[order.length];
+        int t = 0;
+        int i = 0;
+        int block = -1;
+        boolean up = true;
+        while (i < order.length) {
+            int aisle = grid.aisle(stops[order[i] - 1]);
+            if (grid.block(stops[order[i] - 1]) != block) {
+                block = grid.block(stops[order[i] - 1]);
+                up = true;
+            }
+            int end = i;
+            while (end < order.length && grid.aisle(stops[order[end] - 1]) == aisle) {
+                end++;
+            }
+            t = appendRun(tour, t, order, i, end, up);
+            up = !up;
+            i = end;
+        }
+        return tour;
+    }
+
+    /**
+     * Largest-gap routing per block: the first and last pick aisles are traversed completely, every aisle in
+     * between is entered from the front and from the back only up to its largest gap between picks.
+     */
+    private static int[] largestGap(WarehouseGrid grid, int[] stops) {
+        Integer[] order = byBlockAisleAndDepth(grid, stops);
+        int[] tour = new int[order.length];
+        int t = 0;
+        int i = 0;
+        while (i < order.length) {
+            int block = grid.block(stops[order[i] - 1]);
+            double length = grid.blockLength(block);
+
+            // Aisle runs of this block as [start, end) ranges into order
+            List<int[]> aisles = new ArrayList<>();
+            while (i < order.length && grid.block(stops[order[i] - 1]) == block) {
+                int aisle = grid.aisle(stops[order[i] - 1]);
+                int end = i;
+                while (end < order.length && grid.aisle(stops[order[end] - 1]) == aisle) {
+                    end++;
+                }
+                aisles.add(new int[]{i, end});
+                i = end;
+            }
+
+            if (aisles.size() == 1) {
+                int[] only = aisles.get(0);
+                t = appendRun(tour, t, order, only[0], only[1], true);
+                continue;
+            }
+
+            // Split each middle aisle at its largest gap: picks before it are reached from the front, the rest from the back
+            int[] split = new int[aisles.size()];
+            for (int a = 1; a < aisles.size() - 1; a++) {
+                int[] run = aisles.get(a);
+                double bestGap = -1;
+                int bestSplit = run[0];
+                double previousY = 0;
+                for (int k = run[0]; k <= run[1]; k++) {
+                    double y = k < run[1] ? grid.y(stops[order[k] - 1]) : length;
+                    if (y - previousY > bestGap) {
+                        bestGap = y - previousY;
+                        bestSplit = k;
+                    }
+                    previousY = y;
+                }
+                split[a] = bestSplit;
+            }
+
+            int[] first = aisles.get(0);
+            t = appendRun(tour, t, order, first[0], first[1], true);
+            for (int a = 1; a < aisles.size() - 1; a++) {
+                int[] run = aisles.get(a);
+                t = appendRun(tour, t, order, split[a], run[1], false);
+            }
+            int[] last = aisles.get(aisles.size() - 1);
+            t = appendRun(tour, t, order, last[0], last[1], false);
+            for (int a = aisles.size() - 2; a >= 1; a--) {
+                int[] run = aisles.get(a);
+                t = appendRun(tour, t, order, run[0], split[a], true);
+            }
+        }
+        return tour;
+    }
+
+    private static int appendRun(int[] tour, int t, Integer[] order, int from, int to, boolean ascending) {
+        if (ascending) {
+            for (int k = from; k < to; k++) {
+                tour[t++] = order[k];
+            }
+        } else {
+            for (int k = to - 1; k >= from; k--) {
+                tour[t++] = order[k];
+            }
+        }
+        return t;
+    }
+
+    // Matrix indices 1..n sorted by block, aisle position and depth along the aisle
+    private static Integer[] byBlockAisleAndDepth(WarehouseGrid grid, int[] stops) {
+        Integer[] order = new Integer[stops.length];
+        for (int i = 0; i < stops.length; i++) {
+            order[i] = i + 1;
+        }
+        Arrays.sort(order, Comparator
+                .comparingInt((Integer s) -> grid.block(stops[s - 1]))
+                .thenComparingDouble(s -> grid.x(stops[s - 1]))
+                .thenComparingInt(s -> grid.aisle(stops[s - 1]))
+                .thenComparingDouble(s -> grid.y(stops[s - 1])));
+        return order;
+    }
+
+    static int[] nearestNeighbour(double[][] matrix) {
+        int n = matrix.length - 1;
+        int[] tour = new int[n];
+        boolean[] visited = new boolean[n + 1];
+        int current = 0;
+        for (int t = 0; t < n; t++) {
+            int best = -1;
+            for (int candidate = 1; candidate <= n; candidate++) {
+                if (!visited[candidate] && (best < 0 || matrix[current][candidate] < matrix[current][best])) {
+                    best = candidate;
+                }
+            }
+            visited[best] = true;
+            tour[t] = best;
+            current = best;
+        }
+        return tour;
+    }
+
+    /**
+     * Classic 2-opt on the closed tour depot -> tour -> depot: reverse any segment that shortens it,
+     * until a full pass finds no improvement.
+     */
+    static int[] twoOpt(double[][] matrix, int[] tour) {
+        int n = tour.length;
+        boolean improved = true;
+        for (int pass = 0; improved && pass < MAX_TWO_OPT_PASSES; pass++) {
+            improved = false;
+            for (int i = 0; i < n - 1; i++) {
+                int before = i == 0 ? 0 : tour[i - 1];
+                int first = tour[i];
+                for (int k = i + 1; k < n; k++) {
+                    int last = tour[k];
+                    int after = k == n - 1 ? 0 : tour[k + 1];
+                    double delta = matrix[before][last] + matrix[first][after]
+                            - matrix[before][first] - matrix[last][after];
+                    if (delta < -1e-9) {
+                        reverse(tour, i, k);
+                        first = tour[i];
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return tour;
+    }
+
+    private static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int tmp = tour[from];
+            tour[from++] = tour[to];
+            tour[to--] = tmp;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.project.warehouse_management_system.Picking.service;
+
+import com.project.warehouse_management_system.WareHouse.service.TopologySnapshot;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Travel-distance model derived from the warehouse topology.
+ * <p>
+ * Every area is a rectangular block. Its rows are parallel aisles, ordered by name and laid out side by side;
+ * bays are slots along an aisle. Each block has a front cross-aisle (y = 0) and a back cross-aisle
+ * (y = {@link #blockLength(int)}); blocks sit next to each other along the front cross-aisle, with the depot
+ * at the front of the first aisle of the first block. Levels add a vertical cost per level difference.
+ * <p>
+ * Coordinates are precomputed per position, so a distance is a handful of array reads.
+ */
+public final class WarehouseGrid {
+
+    public record Params(double bayDepth, double aisleSpacing, double levelHeight, double areaGap) {}
+
+    private final long version;
+    private final Params params;
+    private final Map<Long, Integer> indexByPositionId;
+    private final long[] positionIds;
+    private final int[] block;
+    private final int[] aisle;
+    private final int[] level;
+    private final double[] x;
+    private final double[] y;
+    private final double[] blockLength;
+
+    private WarehouseGrid(long version, Params params, int size, int blocks) {
+        this.version = version;
+        this.params = params;
+        this.indexByPositionId = new HashMap<>(size * 2);
+        this.positionIds = new long[size];
+        this.block = new int[size];
+        this.aisle = new int[size];
+        this.level = new int[size];
+        this.x = new double[size];
+        this.y = new double[size];
+        this.blockLength = new double[blocks];
+    }
+
+    public static WarehouseGrid build(TopologySnapshot snapshot, Params params) {
+        List<TopologySnapshot.AreaNode> areas = new ArrayList<>(snapshot.areas());
+        areas.sort(Comparator.comparing(TopologySnapshot.AreaNode::name, WarehouseGrid::compareNames));
+
+        WarehouseGrid grid = new WarehouseGrid(snapshot.getVersion(), params, snapshot.positions().size(), areas.size());
+        int next = 0;
+        int globalAisle = 0;
+        double blockX = 0;
+
+        for (int b = 0; b < areas.size(); b++) {
+            List<TopologySnapshot.RowNode> rows = sorted(snapshot.rowsOf(areas.get(b).id()), TopologySnapshot.RowNode::name);
+            int deepest = 0;
+            for (TopologySnapshot.RowNode row : rows) {
+                deepest = Math.max(deepest, snapshot.baysOf(row.id()).size());
+            }
+            grid.blockLength[b] = (deepest + 1) * params.bayDepth();
+
+            for (int a = 0; a < rows.size(); a++) {
+                double aisleX = blockX + a * params.aisleSpacing();
+                List<TopologySnapshot.BayNode> bays = sorted(snapshot.baysOf(rows.get(a).id()), TopologySnapshot.BayNode::name);
+                for (int depth = 0; depth < bays.size(); depth++) {
+                    double bayY = (depth + 0.5) * params.bayDepth();
+                    for (TopologySnapshot.PositionNode position : snapshot.positionsOf(bays.get(depth).id())) {
+                        grid.positionIds[next] = position.id();
+                        grid.block[next] = b;
+                        grid.aisle[next] = globalAisle;
+                        grid.level[next] = position.level();
+                        grid.x[next] = aisleX;
+                        grid.y[next] = bayY;
+                        grid.indexByPositionId.put(position.id(), next);
+                        next++;
+                    }
+                }
+                globalAisle++;
+            }
+            blockX += Math.max(rows.size() - 1, 0) * params.aisleSpacing() + params.areaGap();
+        }
+        return grid.trim(next);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Dense index of a position, or -1 when it is not part of a complete Area/Row/Bay chain.
+     */
+    public int indexOf(Long positionId) {
+        Integer index = indexByPositionId.get(positionId);
+        return index == null ? -1 : index;
+    }
+
+    public long positionId(int index) {
+        return positionIds[index];
+    }
+
+    public int block(int index) {
+        return block[index];
+    }
+
+    public int aisle(int index) {
+        return aisle[index];
+    }
+
+    public double x(int index) {
+        return x[index];
+    }
+
+    public double y(int index) {
+        return y[index];
+    }
+
+    public double blockLength(int block) {
+        return blockLength[block];
+    }
+
+    public double distance(int a, int b) {
+        double vertical = Math.abs(level[a] - level[b]) * params.levelHeight();
+        if (aisle[a] == aisle[b]) {
+            return Math.abs(y[a] - y[b]) + vertical;
+        }
+        double across = Math.abs(x[a] - x[b]);
+        if (block[a] != block[b]) {
+            // Blocks are only connected along their front cross-aisles
+            return y[a] + across + y[b] + vertical;
+        }
+        double length = blockLength[block[a]];
+        double viaFront = y[a] + y[b];
+        double viaBack = (length - y[a]) + (length - y[b]);
+        return Math.min(viaFront, viaBack) + across + vertical;
+    }
+
+    public double distanceFromDepot(int a) {
+        return x[a] + y[a] + Math.max(level[a] - 1, 0) * params.levelHeight();
+    }
+
+    private WarehouseGrid trim(int size) {
+        if (size == positionIds.length) {
+            return this;
+        }
+        WarehouseGrid trimmed = new WarehouseGrid(version, params, size, blockLength.length);
+        System.arraycopy(positionIds, 0, trimmed.positionIds, 0, size);
+        System.arraycopy(block, 0, trimmed.block, 0, size);
+        System.arraycopy(aisle, 0, trimmed.aisle, 0, size);
+        System.arraycopy(level, 0, trimmed.level, 0, size);
+        System.arraycopy(x, 0, trimmed.x, 0, size);
+        System.arraycopy(y, 0, trimmed.y, 0, size);
+        System.arraycopy(blockLength, 0, trimmed.blockLength, 0, blockLength.length);
+        trimmed.indexByPositionId.putAll(indexByPositionId);
+        return trimmed;
+    }
+
+    private static <T> List<T> sorted(List<T> nodes, Function<T, String> name) {
+        List<T> copy = new ArrayList<>(nodes);
+        copy.sort(Comparator.comparing(name, WarehouseGrid::compareNames));
+        return copy;
+    }
+
+    /**
+     * Orders numeric names by value ("2" before "10") and ahead of non-numeric names, which compare as text.
+     */
+    static int compareNames(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : 1) : -1;
+        }
+        Long na = parseNumber(a);
+        Long nb = parseNumber(b);
+        if (na != null && nb != null) {
+            return Long.compare(na, nb);
+        }
+        if (na != null || nb != null) {
+            return na != null ? -1 : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    private static Long parseNumber(String name) {
+        try {
+            return Long.parseLong(name.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
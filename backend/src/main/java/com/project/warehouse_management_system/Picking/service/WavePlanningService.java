@@ -0,0 +1,207 @@
+package com.project.warehouse_management_system.Picking.service;
+
+import com.project.warehouse_management_system.Inventory.model.Orders;
+import com.project.warehouse_management_system.Inventory.repo.OrderRepo;
+import com.project.warehouse_management_system.Picking.Dto.*;
+import com.project.warehouse_management_system.WareHouse.Dto.PositionPathDTO;
+import com.project.warehouse_management_system.WareHouse.service.TopologyService;
+import com.project.warehouse_management_system.WareHouse.service.TopologySnapshot;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Groups pending orders into pick waves. Orders are allocated FEFO, then waves are grown greedily from the oldest
+ * unassigned order by adding the orders that share the most positions with the wave so far, within the wave limits.
+ * Each wave is returned as one routed pick list per area, so a position is visited once per wave.
+ */
+@Service
+public class WavePlanningService {
+
+    @Autowired
+    private OrderRepo orderRepo;
+    @Autowired
+    private PickListService pickListService;
+    @Autowired
+    private PickRoutingService pickRoutingService;
+    @Autowired
+    private TopologyService topologyService;
+
+    @Value("${picking.wave.max-orders:25}")
+    private int defaultMaxOrders;
+    @Value("${picking.wave.max-lines:200}")
+    private int defaultMaxLines;
+    @Value("${picking.wave.max-units:0}")
+    private int defaultMaxUnits;
+
+    public WavePlanDTO plan(WavePlanRequestDTO request) {
+        long started = System.currentTimeMillis();
+        PickRoutingService.Strategy strategy = PickRoutingService.parseStrategy(request.getStrategy());
+        Limits limits = new Limits(
+                limit(request.getMaxOrdersPerWave(), defaultMaxOrders, 1, "maxOrdersPerWave"),
+                limit(request.getMaxLinesPerWave(), defaultMaxLines, 0, "maxLinesPerWave"),
+                limit(request.getMaxUnitsPerWave(), defaultMaxUnits, 0, "maxUnitsPerWave"));
+        LocalDateTime cutOff = request.getCutOff() != null ? request.getCutOff() : LocalDateTime.now();
+
+        List<Orders> orders = orderRepo.findPendingWithProductsCreatedBefore(cutOff);
+        PickListService.PickList pickList = pickListService.allocate(orders, true);
+
+        // Candidates keep the age order of the query, which is also the seed order
+        Map<Long, Candidate> byOrder = new LinkedHashMap<>();
+        for (Orders order : orders) {
+            byOrder.put(order.getId(), new Candidate(order.getId(), byOrder.size()));
+        }
+        for (PickLineDTO line : pickList.lines()) {
+            byOrder.get(line.getOrderId()).add(line);
+        }
+        List<Candidate> candidates = byOrder.values().stream().filter(c -> !c.lines.isEmpty()).toList();
+
+        Map<Long, List<Candidate>> byPosition = new HashMap<>();
+        for (Candidate candidate : candidates) {
+            for (Long positionId : candidate.positions) {
+                byPosition.computeIfAbsent(positionId, k -> new ArrayList<>()).add(candidate);
+            }
+        }
+
+        List<WaveDTO> waves = new ArrayList<>();
+        int next = 0;
+        while (true) {
+            while (next < candidates.size() && candidates.get(next).assigned) {
+                next++;
+            }
+            if (next == candidates.size()) {
+                break;
+            }
+            Wave wave = grow(candidates, next, byPosition, limits);
+            waves.add(toDTO(waves.size() + 1, wave, strategy));
+        }
+
+        List<Long> held = pickList.shortages().stream().map(PickLineDTO::getOrderId).distinct().toList();
+        return new WavePlanDTO(waves, held, pickList.shortages(), System.currentTimeMillis() - started);
+    }
+
+    private Wave grow(List<Candidate> candidates, int seed, Map<Long, List<Candidate>> byPosition, Limits limits) {
+        Wave wave = new Wave();
+        // Number of positions each unassigned order shares with the wave, updated as positions join the wave
+        Map<Candidate, Integer> shared = new HashMap<>();
+        Candidate candidate = candidates.get(seed);
+        int oldest = seed;
+        while (candidate != null) {
+            candidate.assigned = true;
+            wave.orders.add(candidate);
+            wave.lines += candidate.lines.size();
+            wave.units += candidate.units;
+            shared.remove(candidate);
+            for (Long positionId : candidate.positions) {
+                if (wave.positions.add(positionId)) {
+                    for (Candidate other : byPosition.get(positionId)) {
+                        if (!other.assigned) {
+                            shared.merge(other, 1, Integer::sum);
+                        }
+                    }
+                }
+            }
+            if (wave.orders.size() >= limits.orders) {
+                break;
+            }
+
+            candidate = null;
+            double bestScore = 0;
+            for (Map.Entry<Candidate, Integer> entry : shared.entrySet()) {
+                Candidate other = entry.getKey();
+                if (!limits.fits(wave, other)) {
+                    continue;
+                }
+                double score = (double) entry.getValue() / other.positions.size();
+                if (score > bestScore || (score == bestScore && candidate != null && other.age < candidate.age)) {
+                    bestScore = score;
+                    candidate = other;
+                }
+            }
+            // Nothing overlaps any more: top the wave up with the oldest order that still fits
+            while (candidate == null && oldest < candidates.size()) {
+                Candidate other = candidates.get(oldest++);
+                if (!other.assigned && limits.fits(wave, other)) {
+                    candidate = other;
+                }
+            }
+        }
+        return wave;
+    }
+
+    private WaveDTO toDTO(int number, Wave wave, PickRoutingService.Strategy strategy) {
+        TopologySnapshot snapshot = topologyService.getSnapshot();
+        Map<Long, List<PickLineDTO>> linesByArea = new HashMap<>();
+        List<Long> orderIds = new ArrayList<>(wave.orders.size());
+        int orderVisits = 0;
+        for (Candidate candidate : wave.orders) {
+            orderIds.add(candidate.orderId);
+            orderVisits += candidate.positions.size();
+            for (PickLineDTO line : candidate.lines) {
+                PositionPathDTO path = snapshot.path(line.getPositionId());
+                linesByArea.computeIfAbsent(path == null ? null : path.getAreaId(), k -> new ArrayList<>()).add(line);
+            }
+        }
+
+        List<WaveZoneDTO> zones = new ArrayList<>(linesByArea.size());
+        for (Map.Entry<Long, List<PickLineDTO>> entry : linesByArea.entrySet()) {
+            Set<Long> positionIds = new LinkedHashSet<>();
+            entry.getValue().forEach(line -> positionIds.add(line.getPositionId()));
+            TopologySnapshot.AreaNode area = entry.getKey() == null ? null : snapshot.area(entry.getKey());
+            zones.add(new WaveZoneDTO(entry.getKey(), area == null ? null : area.name(),
+                    pickRoutingService.route(positionIds, entry.getValue(), strategy)));
+        }
+        zones.sort(Comparator.comparing(WaveZoneDTO::getAreaName, Comparator.nullsLast(WarehouseGrid::compareNames)));
+
+        return new WaveDTO(number, orderIds, wave.lines, wave.units, wave.positions.size(),
+                orderVisits - wave.positions.size(), zones);
+    }
+
+    private static int limit(Integer requested, int fallback, int minimum, String name) {
+        int value = requested != null ? requested : fallback;
+        if (value < minimum) {
+            throw new ValidationException(name + " must be at least " + minimum + ".");
+        }
+        return value;
+    }
+
+    // A limit of 0 means unlimited for lines and units
+    private record Limits(int orders, int lines, int units) {
+        boolean fits(Wave wave, Candidate candidate) {
+            return wave.orders.size() < orders
+                    && (lines == 0 || wave.lines + candidate.lines.size() <= lines)
+                    && (units == 0 || wave.units + candidate.units <= units);
+        }
+    }
+
+    private static final class Candidate {
+        final Long orderId;
+        final int age;
+        final List<PickLineDTO> lines = new ArrayList<>();
+        final Set<Long> positions = new LinkedHashSet<>();
+        int units;
+        boolean assigned;
+
+        Candidate(Long orderId, int age) {
+            this.orderId = orderId;
+            this.age = age;
+        }
+
+        void add(PickLineDTO line) {
+            lines.add(line);
+            positions.add(line.getPositionId());
+            units += line.getQuantity();
+        }
+    }
+
+    private static final class Wave {
+        final List<Candidate> orders = new ArrayList<>();
+        final Set<Long> positions = new HashSet<>();
+        int lines;
+        int units;
+    }
+}
@@ -0,0 +1,18 @@
+package com.project.warehouse_management_system.Receiving.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrossDockDTO {
+    private Long palletId;
+    private Long productId;
+    private Long shipmentId;
+    private String destination;
+    private Map<Long, Integer> orderUnits;     // units per order id
+}
@@ -0,0 +1,21 @@
+package com.project.warehouse_management_system.Receiving.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DockAppointmentDTO {
+    private Long purchaseOrderId;
+    private String supplierName;
+    private String dockDoor;
+    private Date startTime;
+    private Date endTime;
+    private int pallets;
+    private Date expectedArrivalTime;
+    private long delayMinutes;   // how much later than expected the truck is booked
+}
@@ -0,0 +1,16 @@
+package com.project.warehouse_management_system.Receiving.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DockAppointmentRequestDTO {
+    private Long purchaseOrderId;
+    private String dockDoor;     // any door when empty
+    private Date startTime;      // earliest free slot from the expected arrival when empty
+}
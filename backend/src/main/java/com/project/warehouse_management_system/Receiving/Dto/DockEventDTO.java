@@ -0,0 +1,18 @@
+package com.project.warehouse_management_system.Receiving.Dto;
+
+import com.project.warehouse_management_system.Inventory.Dto.PalletDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DockEventDTO {
+    private Long purchaseOrderId;
+    private String dockDoor;
+    private Long areaId;               // optional put-away area; any empty position when null
+    private List<PalletDTO> pallets;
+}
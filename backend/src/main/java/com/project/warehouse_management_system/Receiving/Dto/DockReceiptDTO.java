@@ -0,0 +1,25 @@
+package com.project.warehouse_management_system.Receiving.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DockReceiptDTO {
+    private Long purchaseOrderId;
+    private String dockDoor;
+    private String outcome;                      // RECEIVED, REJECTED or FAILED
+    private String error;
+    private List<PutAwayDTO> putAway;
+    private List<CrossDockDTO> crossDocked;
+    private Map<Long, Long> stockIncrements;     // units added per product id
+    private int attempts;
+    private long elapsedMillis;
+}
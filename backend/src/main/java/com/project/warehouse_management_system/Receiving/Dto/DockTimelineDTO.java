@@ -0,0 +1,20 @@
+package com.project.warehouse_management_system.Receiving.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DockTimelineDTO {
+    private Date from;
+    private Date to;
+    private int crews;                   // trucks that can be unloaded at the same time
+    private int peakConcurrentUnloads;
+    private long pallets;
+    private List<DockAppointmentDTO> appointments;
+}
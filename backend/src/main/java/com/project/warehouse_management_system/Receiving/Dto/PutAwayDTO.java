@@ -0,0 +1,15 @@
+package com.project.warehouse_management_system.Receiving.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PutAwayDTO {
+    private Long palletId;
+    private Long productId;
+    private Long positionId;
+    private String binCode;
+}
@@ -0,0 +1,65 @@
+package com.project.warehouse_management_system.Receiving.controller;
+
+import com.project.warehouse_management_system.Receiving.Dto.DockAppointmentDTO;
+import com.project.warehouse_management_system.Receiving.Dto.DockAppointmentRequestDTO;
+import com.project.warehouse_management_system.Receiving.service.DockSchedulerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("dock-appointments")
+@SecurityRequirement(name = "Keycloak")
+public class DockAppointmentController {
+
+    @Autowired
+    private DockSchedulerService dockSchedulerService;
+
+    @PostMapping
+    @Operation(summary = "Book or move the dock appointment of a pending purchase order")
+    public ResponseEntity<?> schedule(@RequestBody DockAppointmentRequestDTO request) {
+        try {
+            return new ResponseEntity<>(dockSchedulerService.schedule(request), HttpStatus.CREATED);
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+
+    @PostMapping("/pending")
+    @Operation(summary = "Book every pending purchase order that has no dock appointment yet")
+    public ResponseEntity<List<DockAppointmentDTO>> schedulePending() {
+        return ResponseEntity.ok(dockSchedulerService.schedulePending());
+    }
+
+    @DeleteMapping("/{purchaseOrderId}")
+    @Operation(summary = "Cancel the dock appointment of a purchase order")
+    public ResponseEntity<?> cancel(@PathVariable Long purchaseOrderId) {
+        try {
+            dockSchedulerService.cancel(purchaseOrderId);
+            return ResponseEntity.noContent().build();
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @GetMapping("/timeline")
+    @Operation(summary = "Upcoming truck arrivals over all dock doors and the peak number of concurrent unloads")
+    public ResponseEntity<?> getTimeline(@RequestParam(defaultValue = "24") int hours) {
+        try {
+            return ResponseEntity.ok(dockSchedulerService.getTimeline(hours));
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.project.warehouse_management_system.Receiving.controller;
+
+import com.project.warehouse_management_system.Receiving.Dto.DockEventDTO;
+import com.project.warehouse_management_system.Receiving.Dto.DockReceiptDTO;
+import com.project.warehouse_management_system.Receiving.service.CrossDockService;
+import com.project.warehouse_management_system.Receiving.service.ReceivingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("receiving")
+@SecurityRequirement(name = "Keycloak")
+public class ReceivingController {
+
+    @Autowired
+    private ReceivingService receivingService;
+    @Autowired
+    private CrossDockService crossDockService;
+
+    @PostMapping("/dock-events")
+    @Operation(summary = "Receive a truck: create its pallets, put them away and post the stock in one transaction")
+    public CompletableFuture<ResponseEntity<?>> receive(@RequestBody DockEventDTO event) {
+        CompletableFuture<DockReceiptDTO> receipt;
+        try {
+            receipt = receivingService.submit(event);
+        } catch (ValidationException e) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.completedFuture(
+                    new ResponseEntity<>("Too many dock events queued, try again later.", HttpStatus.TOO_MANY_REQUESTS));
+        }
+        return receipt.handle((result, error) -> {
+            if (error == null) {
+                return new ResponseEntity<>(result, HttpStatus.CREATED);
+            }
+            Throwable cause = ReceivingService.unwrap(error);
+            if (cause instanceof ValidationException) {
+                return new ResponseEntity<>(cause.getMessage(), HttpStatus.BAD_REQUEST);
+            } else if (cause instanceof EntityNotFoundException) {
+                return new ResponseEntity<>(cause.getMessage(), HttpStatus.NOT_FOUND);
+            } else if (cause instanceof IllegalStateException || cause instanceof OptimisticLockingFailureException) {
+                return new ResponseEntity<>(cause.getMessage(), HttpStatus.CONFLICT);
+            }
+            return new ResponseEntity<>(cause.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        });
+    }
+
+    @PostMapping("/dock-events/batch")
+    @Operation(summary = "Receive several trucks concurrently; every truck gets its own outcome")
+    public CompletableFuture<List<DockReceiptDTO>> receiveAll(@RequestBody List<DockEventDTO> events) {
+        return receivingService.submitAll(events);
+    }
+
+    @GetMapping("/cross-dock/demand")
+    @Operation(summary = "Units per product that pending orders are waiting for and incoming pallets would be cross-docked to")
+    public ResponseEntity<Map<Long, Long>> getCrossDockDemand() {
+        return ResponseEntity.ok(crossDockService.getOpenDemand());
+    }
+}
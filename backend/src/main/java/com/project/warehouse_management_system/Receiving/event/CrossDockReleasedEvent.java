@@ -0,0 +1,9 @@
+package com.project.warehouse_management_system.Receiving.event;
+
+import java.util.List;
+
+/**
+ * Published after cross-docked pallets lost the orders they were waiting for; they still need a position.
+ */
+public record CrossDockReleasedEvent(List<Long> palletIds) {
+}
@@ -0,0 +1,48 @@
+package com.project.warehouse_management_system.Receiving.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Units of an inbound pallet that go straight to an order line instead of being put away. Written in bulk while
+ * receiving, so the ids are plain columns rather than relations.
+ */
+@Setter
+@Getter
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "cross_dock_allocations", indexes = {
+        @Index(name = "idx_cross_dock_allocations_order", columnList = "order_id"),
+        @Index(name = "idx_cross_dock_allocations_order_line", columnList = "order_line_id"),
+        @Index(name = "idx_cross_dock_allocations_pallet", columnList = "pallet_id")})
+public class CrossDockAllocation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "order_line_id", nullable = false)
+    private Long orderLineId;
+
+    @Column(name = "pallet_id", nullable = false)
+    private Long palletId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "shipment_id", nullable = false)
+    private Long shipmentId;
+
+    private int quantity;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
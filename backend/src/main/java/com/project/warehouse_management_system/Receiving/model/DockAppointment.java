@@ -0,0 +1,47 @@
+package com.project.warehouse_management_system.Receiving.model;
+
+import com.project.warehouse_management_system.Inventory.model.PurchaseOrder;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+@Setter
+@Getter
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "dock_appointments", indexes = @Index(name = "idx_dock_appointments_end_time", columnList = "end_time"))
+public class DockAppointment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // One appointment per purchase order; rescheduling moves it
+    @OneToOne
+    @JoinColumn(name = "purchase_order_id", nullable = false, unique = true)
+    private PurchaseOrder purchaseOrder;
+
+    @Column(name = "dock_door", nullable = false)
+    private String dockDoor;
+
+    @Column(name = "start_time", nullable = false)
+    private Date startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private Date endTime;
+
+    private int pallets;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "last_modified", insertable = false)
+    private LocalDateTime lastModified;
+}
@@ -0,0 +1,10 @@
+package com.project.warehouse_management_system.Receiving.repo;
+
+/**
+ * Units of an order line that are already covered by cross-docked pallets.
+ */
+public interface AllocatedLineRow {
+    Long getOrderLineId();
+
+    long getQuantity();
+}
@@ -0,0 +1,27 @@
+package com.project.warehouse_management_system.Receiving.repo;
+
+import com.project.warehouse_management_system.BaseClasses.BaseRepo;
+import com.project.warehouse_management_system.Receiving.model.CrossDockAllocation;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CrossDockAllocationRepo extends BaseRepo<CrossDockAllocation, Long> {
+
+    @Query("select a.orderLineId as orderLineId, sum(a.quantity) as quantity from CrossDockAllocation a " +
+            "where a.orderLineId in :orderLineIds group by a.orderLineId")
+    List<AllocatedLineRow> findAllocatedByOrderLineIds(@Param("orderLineIds") Collection<Long> orderLineIds);
+
+    @Query("select a.orderLineId as orderLineId, sum(a.quantity) as quantity from CrossDockAllocation a " +
+            "join Orders o on o.id = a.orderId where lower(o.status) = 'pending' group by a.orderLineId")
+    List<AllocatedLineRow> findAllocatedForPendingOrders();
+
+    List<CrossDockAllocation> findByOrderId(Long orderId);
+
+    @Query("select distinct a.palletId from CrossDockAllocation a where a.palletId in :palletIds")
+    List<Long> findAllocatedPalletIds(@Param("palletIds") Collection<Long> palletIds);
+}
@@ -0,0 +1,19 @@
+package com.project.warehouse_management_system.Receiving.repo;
+
+import com.project.warehouse_management_system.BaseClasses.BaseRepo;
+import com.project.warehouse_management_system.Receiving.model.DockAppointment;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DockAppointmentRepo extends BaseRepo<DockAppointment, Long> {
+    Optional<DockAppointment> findByPurchaseOrderId(Long purchaseOrderId);
+
+    @Query("select a from DockAppointment a join fetch a.purchaseOrder where a.endTime > :after")
+    List<DockAppointment> findEndingAfter(@Param("after") Date after);
+}
@@ -0,0 +1,427 @@
+package com.project.warehouse_management_system.Receiving.service;
+
+import com.project.warehouse_management_system.Inventory.Dto.PalletDTO;
+import com.project.warehouse_management_system.Inventory.event.OrderChangedEvent;
+import com.project.warehouse_management_system.Inventory.event.PalletChangedEvent;
+import com.project.warehouse_management_system.Inventory.model.OrderProduct;
+import com.project.warehouse_management_system.Inventory.model.Orders;
+import com.project.warehouse_management_system.Inventory.model.ShippingAddress;
+import com.project.warehouse_management_system.Inventory.repo.OrderRepo;
+import com.project.warehouse_management_system.Receiving.Dto.CrossDockDTO;
+import com.project.warehouse_management_system.Receiving.event.CrossDockReleasedEvent;
+import com.project.warehouse_management_system.Receiving.model.CrossDockAllocation;
+import com.project.warehouse_management_system.Receiving.repo.AllocatedLineRow;
+import com.project.warehouse_management_system.Receiving.repo.CrossDockAllocationRepo;
+import com.project.warehouse_management_system.Shipment.event.ShipmentsChangedEvent;
+import com.project.warehouse_management_system.Shipment.model.Shipment;
+import com.project.warehouse_management_system.Shipment.repo.ShipmentOrderRow;
+import com.project.warehouse_management_system.Shipment.repo.ShipmentRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Sends inbound pallets straight to outbound orders. Open demand of pending orders is kept in memory per product
+ * and destination, oldest order line first, so matching a pallet is a map lookup plus walking the lines it fills.
+ * <p>
+ * A pallet is cross-docked only when open demand of one destination takes all of its units; pallets are not broken
+ * down at the dock. Matches are reserved before the receipt's transaction and confirmed or released after it, the
+ * same way put-away positions are. Routing then attaches the orders to an open cross-dock shipment of their
+ * destination and records which pallet covers which order line, which pick lists subtract from what is left to pick.
+ * When such an order is cancelled or deleted its allocations are dropped and its pallets are put away after all.
+ */
+@Service
+public class CrossDockService {
+
+    public static final String CROSS_DOCK = "Cross-dock";
+    // Cross-docked pallets whose orders were cancelled, until put-away finds them a position
+    public static final String AWAITING_PUT_AWAY = "Awaiting put-away";
+
+    private static final String INSERT_ALLOCATION = "insert into cross_dock_allocations (order_id, order_line_id, " +
+            "pallet_id, product_id, shipment_id, quantity, created_at) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String MARK_PALLET = "update pallet set status = '" + CROSS_DOCK + "' where id = ?";
+    private static final String UNMARK_PALLET = "update pallet set status = '" + AWAITING_PUT_AWAY + "' " +
+            "where id = ? and status = '" + CROSS_DOCK + "'";
+    // Fully covered orders leave the pending pick queue
+    private static final String START_ORDER = "update orders set status = 'Processing' where id = ? and lower(status) = 'pending'";
+
+    @Autowired
+    private OrderRepo orderRepo;
+    @Autowired
+    private ShipmentRepo shipmentRepo;
+    @Autowired
+    private CrossDockAllocationRepo crossDockAllocationRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${crossdock.enabled:true}")
+    private boolean enabled;
+
+    // How often a read is retried because the index changed while it ran, before it is taken under the lock
+    @Value("${crossdock.reconcile-attempts:3}")
+    private int reconcileAttempts;
+
+    private final Map<Long, Map<String, Bucket>> buckets = new HashMap<>();
+    private final Map<Long, Demand> demandByLine = new HashMap<>();
+    private final Map<Long, List<Demand>> demandByOrder = new HashMap<>();
+    // Units reserved by receipts whose transaction has not ended yet, per order line
+    private final Map<Long, Integer> inFlight = new HashMap<>();
+    // Bumped by every confirmed receipt and every applied read, so a read can tell whether it is still current
+    private long changes;
+
+    private static final class Demand {
+        final Long orderId;
+        final Long orderLineId;
+        final Long productId;
+        final String destination;
+        int remaining;
+
+        Demand(Long orderId, Long orderLineId, Long productId, String destination, int remaining) {
+            this.orderId = orderId;
+            this.orderLineId = orderLineId;
+            this.productId = productId;
+            this.destination = destination;
+            this.remaining = remaining;
+        }
+    }
+
+    // Open lines of one product for one destination; line ids grow with order age
+    private static final class Bucket {
+        final TreeMap<Long, Demand> open = new TreeMap<>();
+        long units;
+    }
+
+    public record Allocation(Long orderId, Long orderLineId, Long productId, String destination, int quantity) {
+    }
+
+    /**
+     * Per pallet of a receipt, the order lines it goes to, or null when it is put away.
+     */
+    public record Plan(List<List<Allocation>> byPallet) {
+        public boolean isCrossDocked(int pallet) {
+            return byPallet.get(pallet) != null;
+        }
+
+        public int putAwayCount() {
+            return (int) byPallet.stream().filter(Objects::isNull).count();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${crossdock.reload-interval-ms:300000}", initialDelayString = "${crossdock.reload-interval-ms:300000}")
+    public void reload() {
+        reconcile(() -> {
+            List<Orders> pending = orderRepo.findPendingWithProductsCreatedBefore(LocalDateTime.now());
+            Map<Long, Long> allocated = toMap(crossDockAllocationRepo.findAllocatedForPendingOrders());
+            return () -> {
+                buckets.clear();
+                demandByLine.clear();
+                demandByOrder.clear();
+                pending.forEach(order -> addOrder(order, allocated));
+            };
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        // A fresh persistence context: the one of the committed transaction still holds the order being re-read
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<Orders> orders = new ArrayList<>();
+        reconcile(() -> {
+            Map<Long, Long> allocated = new HashMap<>();
+            orders.clear();
+            template.executeWithoutResult(status -> {
+                orders.addAll(orderRepo.findWithProductsByIdIn(List.of(event.orderId())));
+                List<Long> lineIds = orders.stream().flatMap(o -> o.getProducts().stream()).map(OrderProduct::getId).toList();
+                if (!lineIds.isEmpty()) {
+                    allocated.putAll(toMap(crossDockAllocationRepo.findAllocatedByOrderLineIds(lineIds)));
+                }
+            });
+            return () -> {
+                removeOrder(event.orderId());
+                orders.stream().filter(o -> "pending".equalsIgnoreCase(o.getStatus()))
+                        .forEach(order -> addOrder(order, allocated));
+            };
+        });
+        // Pending orders only leave that status by being cancelled, or by starting processing once they are covered
+        if (orders.isEmpty() || "canceled".equalsIgnoreCase(orders.get(0).getStatus())) {
+            releaseAllocations(event.orderId());
+        }
+    }
+
+    /**
+     * Matches every pallet against open demand and takes the matched units out of the index. The caller must
+     * {@link #confirm} the plan once the receipt committed or {@link #release} it otherwise.
+     */
+    public synchronized Plan reserve(List<PalletDTO> pallets) {
+        List<List<Allocation>> byPallet = new ArrayList<>(pallets.size());
+        for (PalletDTO pallet : pallets) {
+            Bucket bucket = enabled && pallet.getProductId() != null && pallet.getQuantity() > 0
+                    ? bucketFor(pallet.getProductId(), pallet.getQuantity()) : null;
+            byPallet.add(bucket == null ? null : take(bucket, pallet.getQuantity()));
+        }
+        return new Plan(byPallet);
+    }
+
+    public synchronized void confirm(Plan plan) {
+        forEachAllocation(plan, allocation -> inFlight.merge(allocation.orderLineId(), -allocation.quantity(),
+                (a, b) -> a + b == 0 ? null : a + b));
+        // Its allocations are committed now but may be missing from a read that is still being reconciled
+        changes++;
+    }
+
+    public synchronized void release(Plan plan) {
+        forEachAllocation(plan, allocation -> {
+            inFlight.merge(allocation.orderLineId(), -allocation.quantity(), (a, b) -> a + b == 0 ? null : a + b);
+            // The order may have been reloaded or left the index meanwhile; only its current demand gets units back
+            Demand demand = demandByLine.get(allocation.orderLineId());
+            if (demand != null) {
+                Bucket bucket = buckets.get(demand.productId).get(demand.destination);
+                demand.remaining += allocation.quantity();
+                bucket.open.put(demand.orderLineId, demand);
+                bucket.units += allocation.quantity();
+            }
+        });
+    }
+
+    /**
+     * Writes a confirmed match inside the receipt's transaction: cross-docked pallets are marked, their orders are
+     * attached to a shipment and the allocations are recorded. Orders without anything left to pick start processing.
+     */
+    public List<CrossDockDTO> route(Plan plan, List<Long> palletIds) {
+        Set<Long> orderIds = new LinkedHashSet<>();
+        forEachAllocation(plan, allocation -> orderIds.add(allocation.orderId()));
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Long> shipmentByOrder = new HashMap<>();
+        for (ShipmentOrderRow row : shipmentRepo.findOrderRows(orderIds)) {
+            shipmentByOrder.put(row.getOrderId(), row.getShipmentId());
+        }
+        List<Long> unassigned = orderIds.stream().filter(id -> !shipmentByOrder.containsKey(id)).toList();
+        Map<String, Shipment> shipmentByDestination = new HashMap<>();
+        for (Orders order : orderRepo.findAllById(unassigned)) {
+            Shipment shipment = shipmentByDestination.computeIfAbsent(
+                    ShippingAddress.destinationOf(order.getShippingAddress()), this::openShipment);
+            shipment.getOrders().add(order);
+            order.setShipment(shipment.getShipmentName());
+            shipmentByOrder.put(order.getId(), shipment.getId());
+        }
+        // Written before the plain updates below, so the attached orders are not flushed over them at commit
+        shipmentRepo.flush();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> allocations = new ArrayList<>();
+        List<Object[]> pallets = new ArrayList<>();
+        List<CrossDockDTO> crossDocked = new ArrayList<>();
+        for (int i = 0; i < palletIds.size(); i++) {
+            List<Allocation> matched = plan.byPallet().get(i);
+            if (matched == null) {
+                continue;
+            }
+            Long palletId = palletIds.get(i);
+            Map<Long, Integer> orderUnits = new LinkedHashMap<>();
+            for (Allocation allocation : matched) {
+                allocations.add(new Object[]{allocation.orderId(), allocation.orderLineId(), palletId,
+                        allocation.productId(), shipmentByOrder.get(allocation.orderId()), allocation.quantity(), now});
+                orderUnits.merge(allocation.orderId(), allocation.quantity(), Integer::sum);
+            }
+            pallets.add(new Object[]{palletId});
+            Allocation first = matched.get(0);
+            crossDocked.add(new CrossDockDTO(palletId, first.productId(), shipmentByOrder.get(first.orderId()),
+                    first.destination(), orderUnits));
+        }
+        jdbcTemplate.batchUpdate(INSERT_ALLOCATION, allocations);
+        jdbcTemplate.batchUpdate(MARK_PALLET, pallets);
+        jdbcTemplate.batchUpdate(START_ORDER, orderIds.stream().filter(this::isCovered).map(o -> new Object[]{o}).toList());
+        return crossDocked;
+    }
+
+    /**
+     * Open units per product over all destinations.
+     */
+    public synchronized Map<Long, Long> getOpenDemand() {
+        Map<Long, Long> open = new TreeMap<>();
+        buckets.forEach((productId, byDestination) ->
+                open.put(productId, byDestination.values().stream().mapToLong(b -> b.units).sum()));
+        open.values().removeIf(units -> units == 0);
+        return open;
+    }
+
+    /**
+     * Reads outside the lock, so receipts keep reserving while the database is scanned, and applies what was read
+     * only if nothing changed the index meanwhile. A receipt confirmed during the read would otherwise have its
+     * units neither in the allocations read nor in inFlight, and they would be handed out again.
+     */
+    private void reconcile(Supplier<Runnable> read) {
+        for (int attempt = 1; attempt < reconcileAttempts; attempt++) {
+            long seen;
+            synchronized (this) {
+                seen = changes;
+            }
+            Runnable apply = read.get();
+            synchronized (this) {
+                if (changes == seen) {
+                    apply.run();
+                    changes++;
+                    return;
+                }
+            }
+        }
+        synchronized (this) {
+            read.get().run();
+            changes++;
+        }
+    }
+
+    /**
+     * Drops the allocations of an order that left pending without being covered. Its pallets go back to put-away
+     * unless they still cover other orders.
+     */
+    private void releaseAllocations(Long orderId) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.executeWithoutResult(status -> {
+            List<CrossDockAllocation> released = crossDockAllocationRepo.findByOrderId(orderId);
+            if (released.isEmpty()) {
+                return;
+            }
+            crossDockAllocationRepo.deleteAllInBatch(released);
+            Set<Long> palletIds = new TreeSet<>();
+            Set<Long> shipmentIds = new TreeSet<>();
+            released.forEach(allocation -> {
+                palletIds.add(allocation.getPalletId());
+                shipmentIds.add(allocation.getShipmentId());
+            });
+            palletIds.removeAll(crossDockAllocationRepo.findAllocatedPalletIds(palletIds));
+            jdbcTemplate.batchUpdate(UNMARK_PALLET, palletIds.stream().map(id -> new Object[]{id}).toList());
+            palletIds.forEach(id -> eventPublisher.publishEvent(new PalletChangedEvent(id)));
+            eventPublisher.publishEvent(new ShipmentsChangedEvent(shipmentIds));
+            if (!palletIds.isEmpty()) {
+                eventPublisher.publishEvent(new CrossDockReleasedEvent(List.copyOf(palletIds)));
+            }
+        });
+    }
+
+    private Shipment openShipment(String destination) {
+        return shipmentRepo.findFirstByTypeNameAndStatusNameAndToNameOrderByIdDesc(CROSS_DOCK, "Pending", destination)
+                .orElseGet(() -> {
+                    Shipment shipment = new Shipment();
+                    shipment.setShipmentName("XD " + destination + " " + LocalDate.now());
+                    shipment.setFromName(CROSS_DOCK);
+                    shipment.setToName(destination);
+                    shipment.setShippingEmployee("");
+                    shipment.setTypeName(CROSS_DOCK);
+                    shipment.setStatusName("Pending");
+                    Shipment saved = shipmentRepo.save(shipment);
+                    eventPublisher.publishEvent(new ShipmentsChangedEvent(List.of(saved.getId())));
+                    return saved;
+                });
+    }
+
+    // The destination with the oldest open line that can take the whole pallet
+    private Bucket bucketFor(Long productId, int quantity) {
+        Bucket best = null;
+        for (Bucket bucket : buckets.getOrDefault(productId, Map.of()).values()) {
+            if (bucket.units >= quantity && (best == null || bucket.open.firstKey() < best.open.firstKey())) {
+                best = bucket;
+            }
+        }
+        return best;
+    }
+
+    private List<Allocation> take(Bucket bucket, int quantity) {
+        List<Allocation> allocations = new ArrayList<>();
+        Iterator<Demand> lines = bucket.open.values().iterator();
+        while (quantity > 0) {
+            Demand demand = lines.next();
+            int units = Math.min(demand.remaining, quantity);
+            demand.remaining -= units;
+            bucket.units -= units;
+            quantity -= units;
+            if (demand.remaining == 0) {
+                lines.remove();
+            }
+            inFlight.merge(demand.orderLineId, units, Integer::sum);
+            allocations.add(new Allocation(demand.orderId, demand.orderLineId, demand.productId, demand.destination, units));
+        }
+        return allocations;
+    }
+
+    private synchronized boolean isCovered(Long orderId) {
+        List<Demand> demands = demandByOrder.get(orderId);
+        return demands != null && demands.stream().allMatch(d -> d.remaining == 0);
+    }
+
+    private void addOrder(Orders order, Map<Long, Long> allocated) {
+        String destination = ShippingAddress.destinationOf(order.getShippingAddress());
+        List<Demand> demands = new ArrayList<>(order.getProducts().size());
+        for (OrderProduct line : order.getProducts()) {
+            if (line.getProduct() == null || line.getQuantity() <= 0) {
+                continue;
+            }
+            int remaining = (int) Math.max(0, line.getQuantity() - allocated.getOrDefault(line.getId(), 0L)
+                    - inFlight.getOrDefault(line.getId(), 0));
+            Demand demand = new Demand(order.getId(), line.getId(), line.getProduct().getId(), destination, remaining);
+            demands.add(demand);
+            demandByLine.put(line.getId(), demand);
+            Bucket bucket = buckets.computeIfAbsent(demand.productId, k -> new HashMap<>())
+                    .computeIfAbsent(destination, k -> new Bucket());
+            if (remaining > 0) {
+                bucket.open.put(line.getId(), demand);
+                bucket.units += remaining;
+            }
+        }
+        demandByOrder.put(order.getId(), demands);
+    }
+
+    private void removeOrder(Long orderId) {
+        List<Demand> demands = demandByOrder.remove(orderId);
+        if (demands == null) {
+            return;
+        }
+        for (Demand demand : demands) {
+            demandByLine.remove(demand.orderLineId);
+            Bucket bucket = buckets.get(demand.productId).get(demand.destination);
+            if (bucket.open.remove(demand.orderLineId) != null) {
+                bucket.units -= demand.remaining;
+            }
+        }
+    }
+
+    private static void forEachAllocation(Plan plan, java.util.function.Consumer<Allocation> action) {
+        plan.byPallet().stream().filter(Objects::nonNull).flatMap(List::stream).forEach(action);
+    }
+
+    private static Map<Long, Long> toMap(List<AllocatedLineRow> rows) {
+        Map<Long, Long> allocated = new HashMap<>();
+        rows.forEach(row -> allocated.put(row.getOrderLineId(), row.getQuantity()));
+        return allocated;
+    }
+}
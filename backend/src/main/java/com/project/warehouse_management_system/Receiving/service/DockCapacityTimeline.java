@@ -0,0 +1,78 @@
+package com.project.warehouse_management_system.Receiving.service;
+
+/**
+ * Number of trucks being unloaded per time slot over a fixed horizon, as a segment tree: adding an appointment and
+ * asking for the busiest slot of a window both cost O(log n). Slots are absolute ({@code epochMillis / slotMillis});
+ * the tree covers {@code [baseSlot, baseSlot + size)} and ignores the part of a range outside of it.
+ */
+final class DockCapacityTimeline {
+
+    private final long baseSlot;
+    private final int size;
+    // max[node] is the busiest slot below node including add[node]; add[node] applies to the node's whole range
+    private final int[] max;
+    private final int[] add;
+
+    DockCapacityTimeline(long baseSlot, int size) {
+        this.baseSlot = baseSlot;
+        this.size = size;
+        this.max = new int[4 * size];
+        this.add = new int[4 * size];
+    }
+
+    long baseSlot() {
+        return baseSlot;
+    }
+
+    long endSlot() {
+        return baseSlot + size;
+    }
+
+    void add(long fromSlot, long toSlot, int delta) {
+        int from = (int) Math.max(fromSlot - baseSlot, 0);
+        int to = (int) Math.min(toSlot - baseSlot, size) - 1;
+        if (from <= to) {
+            add(1, 0, size - 1, from, to, delta);
+        }
+    }
+
+    /**
+     * The most trucks unloaded at once in any slot of {@code [fromSlot, toSlot)}.
+     */
+    int max(long fromSlot, long toSlot) {
+        int from = (int) Math.max(fromSlot - baseSlot, 0);
+        int to = (int) Math.min(toSlot - baseSlot, size) - 1;
+        return from <= to ? max(1, 0, size - 1, from, to) : 0;
+    }
+
+    private void add(int node, int lo, int hi, int from, int to, int delta) {
+        if (from <= lo && hi <= to) {
+            add[node] += delta;
+            max[node] += delta;
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (from <= mid) {
+            add(2 * node, lo, mid, from, to, delta);
+        }
+        if (to > mid) {
+            add(2 * node + 1, mid + 1, hi, from, to, delta);
+        }
+        max[node] = add[node] + Math.max(max[2 * node], max[2 * node + 1]);
+    }
+
+    private int max(int node, int lo, int hi, int from, int to) {
+        if (from <= lo && hi <= to) {
+            return max[node];
+        }
+        int mid = (lo + hi) >>> 1;
+        int best = Integer.MIN_VALUE;
+        if (from <= mid) {
+            best = max(2 * node, lo, mid, from, to);
+        }
+        if (to > mid) {
+            best = Math.max(best, max(2 * node + 1, mid + 1, hi, from, to));
+        }
+        return add[node] + best;
+    }
+}
@@ -0,0 +1,378 @@
+package com.project.warehouse_management_system.Receiving.service;
+
+import com.project.warehouse_management_system.BaseClasses.AfterCommit;
+import com.project.warehouse_management_system.Inventory.event.PurchaseOrderCreatedEvent;
+import com.project.warehouse_management_system.Inventory.event.PurchaseOrderDeletingEvent;
+import com.project.warehouse_management_system.Inventory.model.PurchaseOrder;
+import com.project.warehouse_management_system.Inventory.repo.PurchaseOrderLineRow;
+import com.project.warehouse_management_system.Inventory.repo.PurchaseOrderRepo;
+import com.project.warehouse_management_system.Inventory.service.PurchaseOrderService;
+import com.project.warehouse_management_system.Receiving.Dto.DockAppointmentDTO;
+import com.project.warehouse_management_system.Receiving.Dto.DockAppointmentRequestDTO;
+import com.project.warehouse_management_system.Receiving.Dto.DockTimelineDTO;
+import com.project.warehouse_management_system.Receiving.model.DockAppointment;
+import com.project.warehouse_management_system.Receiving.repo.DockAppointmentRepo;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Books inbound trucks onto dock doors. Every appointment lasts a setup time plus a few minutes per expected pallet,
+ * rounded up to whole slots, and is placed at the purchase order's expected arrival or the first slot after it where
+ * a door is free and a receiving crew is available.
+ * <p>
+ * Each door keeps its appointments in a map ordered by start slot. A door never holds overlapping appointments, so
+ * the neighbours of a new start are the only ones that can overlap it: one floor and one higher lookup, O(log n).
+ * Crew capacity across all doors is a {@link DockCapacityTimeline}, also O(log n) per check. Both live in memory,
+ * are loaded from {@code dock_appointments} at startup and only serve this node.
+ */
+@Service
+public class DockSchedulerService {
+
+    private static final Logger log = LoggerFactory.getLogger(DockSchedulerService.class);
+
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    @Autowired
+    private DockAppointmentRepo dockAppointmentRepo;
+    @Autowired
+    private PurchaseOrderRepo purchaseOrderRepo;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dock.doors:D1,D2,D3,D4}")
+    private List<String> doorNames;
+
+    // Trucks the receiving crews can unload at the same time, over all doors
+    @Value("${dock.crews:2}")
+    private int crews;
+
+    @Value("${dock.slot-minutes:15}")
+    private int slotMinutes;
+
+    @Value("${dock.setup-minutes:15}")
+    private int setupMinutes;
+
+    @Value("${dock.minutes-per-pallet:2}")
+    private int minutesPerPallet;
+
+    @Value("${dock.horizon-days:14}")
+    private int horizonDays;
+
+    @Value("${dock.auto-schedule:true}")
+    private boolean autoSchedule;
+
+    private final Map<String, TreeMap<Long, Booking>> doors = new LinkedHashMap<>();
+    private final Map<Long, Booking> bookings = new HashMap<>();
+    private DockCapacityTimeline capacity;
+
+    private record Booking(Long purchaseOrderId, String supplierName, String dockDoor, long startSlot, long endSlot,
+                           int pallets, Date expectedArrivalTime) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onStartup() {
+        doors.clear();
+        doorNames.forEach(door -> doors.put(door.trim(), new TreeMap<>()));
+        bookings.clear();
+        for (DockAppointment appointment : dockAppointmentRepo.findEndingAfter(new Date())) {
+            PurchaseOrder purchaseOrder = appointment.getPurchaseOrder();
+            if (!doors.containsKey(appointment.getDockDoor())) {
+                log.warn("Dock appointment of purchase order {} is for unknown door {}", purchaseOrder.getId(),
+                        appointment.getDockDoor());
+                continue;
+            }
+            Booking booking = new Booking(purchaseOrder.getId(), purchaseOrder.getSupplierName(),
+                    appointment.getDockDoor(), slotOf(appointment.getStartTime()), slotOf(appointment.getEndTime()),
+                    appointment.getPallets(), purchaseOrder.getExpectedArrivalTime());
+            bookings.put(booking.purchaseOrderId(), booking);
+            doors.get(booking.dockDoor()).put(booking.startSlot(), booking);
+        }
+        rebuildCapacity();
+    }
+
+    /**
+     * Moves the capacity horizon forward and forgets appointments that are over.
+     */
+    @Scheduled(fixedDelayString = "${dock.rebuild-interval-ms:3600000}", initialDelayString = "${dock.rebuild-interval-ms:3600000}")
+    public synchronized void rebuildCapacity() {
+        long now = currentSlot();
+        bookings.values().removeIf(booking -> booking.endSlot() <= now);
+        doors.values().forEach(door -> door.values().removeIf(booking -> booking.endSlot() <= now));
+        capacity = new DockCapacityTimeline(now, (int) (horizonDays * 24L * 60 / slotMinutes));
+        bookings.values().forEach(booking -> capacity.add(booking.startSlot(), booking.endSlot(), 1));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurchaseOrderCreated(PurchaseOrderCreatedEvent event) {
+        if (!autoSchedule) {
+            return;
+        }
+        try {
+            schedule(new DockAppointmentRequestDTO(event.purchaseOrderId(), null, null));
+        } catch (RuntimeException e) {
+            log.warn("Could not book a dock appointment for purchase order {}: {}", event.purchaseOrderId(),
+                    e.getMessage());
+        }
+    }
+
+    // Runs in the deleting transaction, so the appointment goes before the purchase order it references
+    @EventListener
+    public void onPurchaseOrderDeleting(PurchaseOrderDeletingEvent event) {
+        dockAppointmentRepo.findByPurchaseOrderId(event.purchaseOrderId()).ifPresent(dockAppointmentRepo::delete);
+        dockAppointmentRepo.flush();
+        AfterCommit.run(() -> forget(event.purchaseOrderId()));
+    }
+
+    private synchronized void forget(Long purchaseOrderId) {
+        Booking booking = bookings.get(purchaseOrderId);
+        if (booking != null) {
+            release(booking);
+        }
+    }
+
+    /**
+     * Books or moves the appointment of a pending purchase order. With a door and/or start time only that door or
+     * slot is tried and a conflict is reported; otherwise the earliest free slot from the expected arrival is taken.
+     */
+    public DockAppointmentDTO schedule(DockAppointmentRequestDTO request) {
+        if (request.getPurchaseOrderId() == null) {
+            throw new ValidationException("Purchase order must be specified.");
+        }
+        String requestedDoor = request.getDockDoor() == null || request.getDockDoor().isBlank()
+                ? null : request.getDockDoor().trim();
+        if (requestedDoor != null && !doors.containsKey(requestedDoor)) {
+            throw new ValidationException("Unknown dock door " + requestedDoor + "; doors are " + doors.keySet() + ".");
+        }
+        PurchaseOrder purchaseOrder = purchaseOrderRepo.findById(request.getPurchaseOrderId())
+                .orElseThrow(() -> new EntityNotFoundException("Purchase order not found with id: "
+                        + request.getPurchaseOrderId()));
+        if (!purchaseOrder.getStatus().equals("Pending")) {
+            throw new IllegalStateException("Only pending purchase orders get a dock appointment; purchase order "
+                    + purchaseOrder.getId() + " is " + purchaseOrder.getStatus() + ".");
+        }
+        int pallets = expectedPallets(purchaseOrder.getId());
+        long length = Math.max(1, Math.ceilDiv(setupMinutes + (long) pallets * minutesPerPallet, slotMinutes));
+
+        synchronized (this) {
+            Booking previous = bookings.get(purchaseOrder.getId());
+            if (previous != null) {
+                release(previous);
+            }
+            Booking booking;
+            try {
+                booking = request.getStartTime() != null
+                        ? bookAt(purchaseOrder, requestedDoor, slotOf(request.getStartTime()), length, pallets)
+                        : bookEarliest(purchaseOrder, requestedDoor, length, pallets);
+                reserve(booking);
+            } catch (RuntimeException e) {
+                if (previous != null) {
+                    reserve(previous);
+                }
+                throw e;
+            }
+            try {
+                save(purchaseOrder, booking);
+            } catch (RuntimeException e) {
+                release(booking);
+                if (previous != null) {
+                    reserve(previous);
+                }
+                throw e;
+            }
+            return toDTO(booking);
+        }
+    }
+
+    /**
+     * Books every pending purchase order that has no appointment yet, earliest expected arrival first. Orders that
+     * cannot be placed within the horizon are left out of the result.
+     */
+    public List<DockAppointmentDTO> schedulePending() {
+        List<PurchaseOrder> pending = new ArrayList<>(purchaseOrderRepo.findByStatus("Pending"));
+        pending.sort(Comparator.comparing(PurchaseOrder::getExpectedArrivalTime));
+        List<DockAppointmentDTO> scheduled = new ArrayList<>();
+        for (PurchaseOrder purchaseOrder : pending) {
+            synchronized (this) {
+                if (bookings.containsKey(purchaseOrder.getId())) {
+                    continue;
+                }
+            }
+            try {
+                scheduled.add(schedule(new DockAppointmentRequestDTO(purchaseOrder.getId(), null, null)));
+            } catch (IllegalStateException e) {
+                log.warn("Could not book a dock appointment for purchase order {}: {}", purchaseOrder.getId(),
+                        e.getMessage());
+            }
+        }
+        return scheduled;
+    }
+
+    public synchronized void cancel(Long purchaseOrderId) {
+        Booking booking = bookings.get(purchaseOrderId);
+        if (booking == null) {
+            throw new EntityNotFoundException("No dock appointment for purchase order " + purchaseOrderId);
+        }
+        transaction().executeWithoutResult(status -> dockAppointmentRepo.findByPurchaseOrderId(purchaseOrderId)
+                .ifPresent(dockAppointmentRepo::delete));
+        release(booking);
+    }
+
+    /**
+     * Appointments on any door that overlap the next {@code hours}, in start order, and the most trucks that are
+     * unloaded at once in that window.
+     */
+    public synchronized DockTimelineDTO getTimeline(int hours) {
+        if (hours < 1 || hours > horizonDays * 24) {
+            throw new ValidationException("Hours must be between 1 and " + horizonDays * 24 + ".");
+        }
+        long from = currentSlot();
+        long to = from + Math.ceilDiv(hours * 60L, slotMinutes);
+        List<Booking> upcoming = new ArrayList<>();
+        for (TreeMap<Long, Booking> door : doors.values()) {
+            Long first = door.floorKey(from);
+            for (Booking booking : door.subMap(first != null ? first : from, true, to, false).values()) {
+                if (booking.endSlot() > from) {
+                    upcoming.add(booking);
+                }
+            }
+        }
+        upcoming.sort(Comparator.comparingLong(Booking::startSlot).thenComparing(Booking::dockDoor));
+        return new DockTimelineDTO(toDate(from), toDate(to), crews, capacity.max(from, to),
+                upcoming.stream().mapToLong(Booking::pallets).sum(), upcoming.stream().map(this::toDTO).toList());
+    }
+
+    private Booking bookAt(PurchaseOrder purchaseOrder, String requestedDoor, long start, long length, int pallets) {
+        long end = start + length;
+        if (start < currentSlot()) {
+            throw new ValidationException("Start time is in the past.");
+        }
+        if (end > capacity.endSlot()) {
+            throw new ValidationException("Start time is beyond the scheduling horizon of " + horizonDays + " days.");
+        }
+        if (capacity.max(start, end) >= crews) {
+            throw new IllegalStateException("All " + crews + " receiving crews are busy at some point between "
+                    + toDate(start) + " and " + toDate(end) + ".");
+        }
+        Booking conflict = null;
+        for (String door : requestedDoor != null ? List.of(requestedDoor) : doors.keySet()) {
+            Booking overlapping = overlapping(doors.get(door), start, end);
+            if (overlapping == null) {
+                return booking(purchaseOrder, door, start, end, pallets);
+            }
+            conflict = overlapping;
+        }
+        throw new IllegalStateException("Door " + conflict.dockDoor() + " is booked for purchase order "
+                + conflict.purchaseOrderId() + " from " + toDate(conflict.startSlot()) + " to "
+                + toDate(conflict.endSlot()) + ".");
+    }
+
+    private Booking bookEarliest(PurchaseOrder purchaseOrder, String requestedDoor, long length, int pallets) {
+        Collection<String> candidates = requestedDoor != null ? List.of(requestedDoor) : doors.keySet();
+        long start = Math.max(slotOf(purchaseOrder.getExpectedArrivalTime()), currentSlot());
+        for (; start + length <= capacity.endSlot(); start++) {
+            long end = start + length;
+            if (capacity.max(start, end) >= crews) {
+                continue;
+            }
+            for (String door : candidates) {
+                if (overlapping(doors.get(door), start, end) == null) {
+                    return booking(purchaseOrder, door, start, end, pallets);
+                }
+            }
+        }
+        throw new IllegalStateException("No dock door is free for " + length * slotMinutes
+                + " minutes within the next " + horizonDays + " days.");
+    }
+
+    private static Booking overlapping(TreeMap<Long, Booking> door, long start, long end) {
+        Map.Entry<Long, Booking> before = door.floorEntry(start);
+        if (before != null && before.getValue().endSlot() > start) {
+            return before.getValue();
+        }
+        Map.Entry<Long, Booking> after = door.higherEntry(start);
+        return after != null && after.getKey() < end ? after.getValue() : null;
+    }
+
+    private static Booking booking(PurchaseOrder purchaseOrder, String door, long start, long end, int pallets) {
+        return new Booking(purchaseOrder.getId(), purchaseOrder.getSupplierName(), door, start, end, pallets,
+                purchaseOrder.getExpectedArrivalTime());
+    }
+
+    private void reserve(Booking booking) {
+        bookings.put(booking.purchaseOrderId(), booking);
+        doors.get(booking.dockDoor()).put(booking.startSlot(), booking);
+        capacity.add(booking.startSlot(), booking.endSlot(), 1);
+    }
+
+    private void release(Booking booking) {
+        bookings.remove(booking.purchaseOrderId(), booking);
+        doors.get(booking.dockDoor()).remove(booking.startSlot(), booking);
+        capacity.add(booking.startSlot(), booking.endSlot(), -1);
+    }
+
+    private void save(PurchaseOrder purchaseOrder, Booking booking) {
+        transaction().executeWithoutResult(status -> {
+            DockAppointment appointment = dockAppointmentRepo.findByPurchaseOrderId(purchaseOrder.getId())
+                    .orElseGet(DockAppointment::new);
+            appointment.setPurchaseOrder(purchaseOrder);
+            appointment.setDockDoor(booking.dockDoor());
+            appointment.setStartTime(toDate(booking.startSlot()));
+            appointment.setEndTime(toDate(booking.endSlot()));
+            appointment.setPallets(booking.pallets());
+            dockAppointmentRepo.save(appointment);
+        });
+    }
+
+    // Its own transaction, so bookings made from an after-commit listener are written as well
+    private TransactionTemplate transaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    /**
+     * Total expected pallets of the order; a line without a numeric count is taken as one pallet.
+     */
+    private int expectedPallets(Long purchaseOrderId) {
+        int pallets = 0;
+        for (PurchaseOrderLineRow line : purchaseOrderRepo.findLineRows(List.of(purchaseOrderId))) {
+            Integer expected = PurchaseOrderService.parseExpectedPallets(line.getExpectedPallets());
+            pallets += expected != null && expected > 0 ? expected : 1;
+        }
+        return pallets;
+    }
+
+    private DockAppointmentDTO toDTO(Booking booking) {
+        Date start = toDate(booking.startSlot());
+        long delay = booking.expectedArrivalTime() == null
+                ? 0 : Math.max(0, (start.getTime() - booking.expectedArrivalTime().getTime()) / MINUTE_MILLIS);
+        return new DockAppointmentDTO(booking.purchaseOrderId(), booking.supplierName(), booking.dockDoor(), start,
+                toDate(booking.endSlot()), booking.pallets(), booking.expectedArrivalTime(), delay);
+    }
+
+    private long currentSlot() {
+        return System.currentTimeMillis() / (slotMinutes * MINUTE_MILLIS);
+    }
+
+    private long slotOf(Date time) {
+        return Math.floorDiv(time.getTime(), slotMinutes * MINUTE_MILLIS);
+    }
+
+    private Date toDate(long slot) {
+        return new Date(slot * slotMinutes * MINUTE_MILLIS);
+    }
+}
@@ -0,0 +1,349 @@
+package com.project.warehouse_management_system.Receiving.service;
+
+import com.project.warehouse_management_system.BinLocation.Service.BinCodeLinkService;
+import com.project.warehouse_management_system.Inventory.Dto.PalletDTO;
+import com.project.warehouse_management_system.Inventory.Dto.PalletReceiptDTO;
+import com.project.warehouse_management_system.Inventory.event.PalletChangedEvent;
+import com.project.warehouse_management_system.Inventory.model.PurchaseOrder;
+import com.project.warehouse_management_system.Inventory.repo.PurchaseOrderRepo;
+import com.project.warehouse_management_system.Inventory.service.PurchaseOrderService;
+import com.project.warehouse_management_system.Receiving.Dto.CrossDockDTO;
+import com.project.warehouse_management_system.Receiving.Dto.DockEventDTO;
+import com.project.warehouse_management_system.Receiving.Dto.DockReceiptDTO;
+import com.project.warehouse_management_system.Receiving.Dto.PutAwayDTO;
+import com.project.warehouse_management_system.Receiving.event.CrossDockReleasedEvent;
+import com.project.warehouse_management_system.WareHouse.event.PositionOccupancyChangedEvent;
+import com.project.warehouse_management_system.WareHouse.repo.PositionRepo;
+import com.project.warehouse_management_system.WareHouse.service.TopologyService;
+import com.project.warehouse_management_system.WareHouse.service.TopologySnapshot;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Turns a truck unloaded at a dock door into stored stock. Each dock event is one transaction: the purchase order is
+ * moved to Processing if needed, put-away positions are claimed with one conditional update, the pallets are
+ * inserted straight into those positions and the stock of every product is increased once. Pallets that pending
+ * orders are waiting for are cross-docked instead of put away, see {@link CrossDockService}.
+ * <p>
+ * Events run on {@code receivingExecutor}, so several trucks are processed at the same time. Positions picked for an
+ * event are reserved in memory until its transaction ends, which keeps concurrent events off each other's slots;
+ * events for the same purchase order are processed one after another. Cross-docked pallets whose orders were
+ * cancelled are put away the same way once {@link CrossDockService} releases them.
+ */
+@Service
+public class ReceivingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReceivingService.class);
+
+    private static final String INCREMENT_STOCK =
+            "update product set quantity_in_stock = quantity_in_stock + ? where id = ?";
+
+    private static final String FIND_RELEASED = "select id from pallet where status = '"
+            + CrossDockService.AWAITING_PUT_AWAY + "' and position_id is null order by id";
+    private static final String STORE_RELEASED = "update pallet set position_id = ?, status = 'stored' " +
+            "where id = ? and status = '" + CrossDockService.AWAITING_PUT_AWAY + "' and position_id is null";
+
+    private static final int LOCK_STRIPES = 64;
+
+    @Autowired
+    private PurchaseOrderService purchaseOrderService;
+    @Autowired
+    private PurchaseOrderRepo purchaseOrderRepo;
+    @Autowired
+    private PositionRepo positionRepo;
+    @Autowired
+    private TopologyService topologyService;
+    @Autowired
+    private CrossDockService crossDockService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    @Qualifier("receivingExecutor")
+    private Executor receivingExecutor;
+
+    // How often an event picks new slots when another writer took some of its slots first
+    @Value("${receiving.claim-attempts:3}")
+    private int claimAttempts;
+
+    private final Set<Long> reservedPositions = ConcurrentHashMap.newKeySet();
+    private final Object[] purchaseOrderLocks = new Object[LOCK_STRIPES];
+    private final Object releasedLock = new Object();
+
+    {
+        Arrays.setAll(purchaseOrderLocks, i -> new Object());
+    }
+
+    /**
+     * Queues a dock event. Throws {@link org.springframework.core.task.TaskRejectedException} when the receiving
+     * queue is full; the returned future fails with the event's validation or state error.
+     */
+    public CompletableFuture<DockReceiptDTO> submit(DockEventDTO event) {
+        if (event.getPurchaseOrderId() == null) {
+            throw new ValidationException("Purchase order must be specified.");
+        }
+        if (event.getPallets() == null || event.getPallets().isEmpty()) {
+            throw new ValidationException("At least one pallet must be received.");
+        }
+        return CompletableFuture.supplyAsync(() -> receive(event), receivingExecutor);
+    }
+
+    /**
+     * Processes several trucks concurrently and reports every event's outcome; one failing truck does not affect
+     * the others.
+     */
+    public CompletableFuture<List<DockReceiptDTO>> submitAll(List<DockEventDTO> events) {
+        List<CompletableFuture<DockReceiptDTO>> receipts = new ArrayList<>(events.size());
+        for (DockEventDTO event : events) {
+            CompletableFuture<DockReceiptDTO> receipt;
+            try {
+                receipt = submit(event);
+            } catch (RuntimeException e) {
+                receipt = CompletableFuture.failedFuture(e);
+            }
+            receipts.add(receipt.exceptionally(e -> failed(event, unwrap(e))));
+        }
+        return CompletableFuture.allOf(receipts.toArray(CompletableFuture[]::new))
+                .thenApply(done -> receipts.stream().map(CompletableFuture::join).toList());
+    }
+
+    public static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private DockReceiptDTO receive(DockEventDTO event) {
+        long started = System.currentTimeMillis();
+        CrossDockService.Plan crossDock = crossDockService.reserve(event.getPallets());
+        boolean received = false;
+        try {
+            DockReceiptDTO receipt = receive(event, crossDock);
+            receipt.setElapsedMillis(System.currentTimeMillis() - started);
+            received = true;
+            return receipt;
+        } finally {
+            if (received) {
+                crossDockService.confirm(crossDock);
+            } else {
+                crossDockService.release(crossDock);
+            }
+        }
+    }
+
+    private DockReceiptDTO receive(DockEventDTO event, CrossDockService.Plan crossDock) {
+        synchronized (purchaseOrderLocks[Math.floorMod(event.getPurchaseOrderId().hashCode(), LOCK_STRIPES)]) {
+            for (int attempt = 1; ; attempt++) {
+                List<Long> slots = reserveSlots(event.getAreaId(), crossDock.putAwayCount());
+                try {
+                    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                    DockReceiptDTO receipt = transaction.execute(status -> receiveInTransaction(event, slots, crossDock));
+                    receipt.setAttempts(attempt);
+                    return receipt;
+                } catch (PositionsTakenException e) {
+                    if (attempt >= claimAttempts) {
+                        throw new IllegalStateException("Put-away positions kept being taken by other writers; gave up after "
+                                + attempt + " attempts.");
+                    }
+                    log.debug("Dock event for purchase order {} lost {} positions, retrying", event.getPurchaseOrderId(),
+                            e.missing);
+                } finally {
+                    reservedPositions.removeAll(slots);
+                }
+            }
+        }
+    }
+
+    private DockReceiptDTO receiveInTransaction(DockEventDTO event, List<Long> slots, CrossDockService.Plan crossDock) {
+        Long purchaseOrderId = event.getPurchaseOrderId();
+        PurchaseOrder purchaseOrder = purchaseOrderRepo.findById(purchaseOrderId)
+                .orElseThrow(() -> new EntityNotFoundException("Purchase order not found with id: " + purchaseOrderId));
+        // The truck's arrival is what starts processing
+        if (purchaseOrder.getStatus().equals("Pending")) {
+            purchaseOrderService.updatePurchaseOrderStatus(purchaseOrderId, "Processing");
+        }
+
+        int claimed = slots.isEmpty() ? 0 : positionRepo.claimEmpty(slots);
+        if (claimed != slots.size()) {
+            throw new PositionsTakenException(slots.size() - claimed);
+        }
+
+        // Cross-docked pallets stay at the dock without a position
+        List<PalletDTO> pallets = event.getPallets();
+        List<Long> positionIds = new ArrayList<>(pallets.size());
+        Iterator<Long> freeSlots = slots.iterator();
+        for (int i = 0; i < pallets.size(); i++) {
+            positionIds.add(crossDock.isCrossDocked(i) ? null : freeSlots.next());
+        }
+        PalletReceiptDTO receipt;
+        try {
+            receipt = purchaseOrderService.receivePallets(purchaseOrderId, pallets, positionIds);
+        } catch (DataIntegrityViolationException e) {
+            // pallet.position_id is unique: a pallet stored elsewhere took one of the slots after it was picked
+            throw new PositionsTakenException(1);
+        }
+
+        Map<Long, Long> increments = new TreeMap<>();
+        for (PalletDTO pallet : pallets) {
+            increments.merge(pallet.getProductId(), (long) pallet.getQuantity(), Long::sum);
+        }
+        jdbcTemplate.batchUpdate(INCREMENT_STOCK, increments.entrySet().stream()
+                .map(e -> new Object[]{e.getValue(), e.getKey()})
+                .toList());
+
+        List<CrossDockDTO> crossDocked = crossDockService.route(crossDock, receipt.getPalletIds());
+
+        TopologySnapshot snapshot = topologyService.getSnapshot();
+        List<PutAwayDTO> putAway = new ArrayList<>(slots.size());
+        for (int i = 0; i < pallets.size(); i++) {
+            Long palletId = receipt.getPalletIds().get(i);
+            Long positionId = positionIds.get(i);
+            if (positionId == null) {
+                continue;
+            }
+            eventPublisher.publishEvent(new PositionOccupancyChangedEvent(positionId, palletId, true));
+            putAway.add(new PutAwayDTO(palletId, pallets.get(i).getProductId(), positionId,
+                    BinCodeLinkService.binCode(snapshot.path(positionId))));
+        }
+        return new DockReceiptDTO(purchaseOrderId, event.getDockDoor(), "RECEIVED", null, putAway, crossDocked,
+                increments, 0, 0);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCrossDockReleased(CrossDockReleasedEvent event) {
+        try {
+            receivingExecutor.execute(this::putAwayReleased);
+        } catch (TaskRejectedException e) {
+            log.warn("Receiving queue is full; {} released cross-dock pallets wait for the next put-away",
+                    event.palletIds().size());
+        }
+    }
+
+    // Also picks up pallets an earlier run could not place
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        receivingExecutor.execute(this::putAwayReleased);
+    }
+
+    /**
+     * Stores every pallet that is waiting for put-away after its cross-dock orders were cancelled. Runs one at a
+     * time, so two runs never place the same pallets.
+     */
+    private void putAwayReleased() {
+        synchronized (releasedLock) {
+            List<Long> palletIds = jdbcTemplate.queryForList(FIND_RELEASED, Long.class);
+            if (palletIds.isEmpty()) {
+                return;
+            }
+            try {
+                for (int attempt = 1; ; attempt++) {
+                    List<Long> slots = reserveSlots(null, palletIds.size());
+                    try {
+                        new TransactionTemplate(transactionManager)
+                                .executeWithoutResult(status -> storeReleased(palletIds, slots));
+                        return;
+                    } catch (PositionsTakenException e) {
+                        if (attempt >= claimAttempts) {
+                            throw new IllegalStateException("Put-away positions kept being taken by other writers; "
+                                    + "gave up after " + attempt + " attempts.");
+                        }
+                    } finally {
+                        reservedPositions.removeAll(slots);
+                    }
+                }
+            } catch (IllegalStateException e) {
+                log.warn("Could not put away {} released cross-dock pallets: {}", palletIds.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void storeReleased(List<Long> palletIds, List<Long> slots) {
+        int claimed = positionRepo.claimEmpty(slots);
+        if (claimed != slots.size()) {
+            throw new PositionsTakenException(slots.size() - claimed);
+        }
+        List<Object[]> args = new ArrayList<>(palletIds.size());
+        for (int i = 0; i < palletIds.size(); i++) {
+            args.add(new Object[]{slots.get(i), palletIds.get(i)});
+        }
+        int[] updated;
+        try {
+            updated = jdbcTemplate.batchUpdate(STORE_RELEASED, args);
+        } catch (DataIntegrityViolationException e) {
+            // pallet.position_id is unique: a pallet stored elsewhere took one of the slots after it was picked
+            throw new PositionsTakenException(1);
+        }
+        if (Arrays.stream(updated).anyMatch(count -> count == 0)) {
+            throw new IllegalStateException("Released cross-dock pallets were changed while being put away.");
+        }
+        for (int i = 0; i < palletIds.size(); i++) {
+            eventPublisher.publishEvent(new PositionOccupancyChangedEvent(slots.get(i), palletIds.get(i), true));
+            eventPublisher.publishEvent(new PalletChangedEvent(palletIds.get(i)));
+        }
+    }
+
+    /**
+     * Picks empty positions that no other in-flight event has picked. The candidate query asks for enough extra rows
+     * to skip every reserved position.
+     */
+    private synchronized List<Long> reserveSlots(Long areaId, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        // Copied before the query: a reservation released in between belongs to a committed claim the query already sees
+        Set<Long> reserved = Set.copyOf(reservedPositions);
+        List<Long> candidates = positionRepo.findPutAwayCandidates(areaId, Limit.of(count + reserved.size()));
+        List<Long> slots = candidates.stream().filter(id -> !reserved.contains(id)).limit(count).toList();
+        if (slots.size() < count) {
+            throw new IllegalStateException("Only " + slots.size() + " empty positions are available for "
+                    + count + " pallets.");
+        }
+        reservedPositions.addAll(slots);
+        return slots;
+    }
+
+    private static DockReceiptDTO failed(DockEventDTO event, Throwable e) {
+        boolean rejected = e instanceof ValidationException || e instanceof EntityNotFoundException
+                || e instanceof IllegalStateException || e instanceof OptimisticLockingFailureException;
+        if (!rejected) {
+            log.error("Dock event for purchase order {} failed", event.getPurchaseOrderId(), e);
+        }
+        return new DockReceiptDTO(event.getPurchaseOrderId(), event.getDockDoor(), rejected ? "REJECTED" : "FAILED",
+                e.getMessage(), null, null, null, 0, 0);
+    }
+
+    private static final class PositionsTakenException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int missing;
+
+        PositionsTakenException(int missing) {
+            super(missing + " put-away positions were taken concurrently.");
+            this.missing = missing;
+        }
+    }
+}
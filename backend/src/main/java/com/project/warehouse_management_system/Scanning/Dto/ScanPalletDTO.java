@@ -0,0 +1,21 @@
+package com.project.warehouse_management_system.Scanning.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScanPalletDTO {
+    private Long palletId;
+    private String licensePlate;
+    private String palletName;
+    private String status;
+    private int quantity;
+    private Date expiryDate;
+    private Long productId;
+    private String productName;
+}
@@ -0,0 +1,23 @@
+package com.project.warehouse_management_system.Scanning.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.warehouse_management_system.WareHouse.Dto.PositionPathDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ScanResultDTO {
+    private String scanned;
+    private String type;               // BIN, POSITION, PALLET or UNKNOWN
+    private String binCode;
+    private PositionPathDTO position;
+    private ScanPalletDTO pallet;
+    private List<String> candidates;   // bin codes when a position name matches several slots
+    private long lookupNanos;
+}
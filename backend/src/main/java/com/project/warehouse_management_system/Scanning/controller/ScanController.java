@@ -0,0 +1,30 @@
+package com.project.warehouse_management_system.Scanning.controller;
+
+import com.project.warehouse_management_system.Scanning.Dto.ScanResultDTO;
+import com.project.warehouse_management_system.Scanning.service.ScanIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("scan")
+@SecurityRequirement(name = "Keycloak")
+public class ScanController {
+
+    @Autowired
+    private ScanIndexService scanIndexService;
+
+    @GetMapping
+    @Operation(summary = "Resolve a scanned bin code, position name or pallet license plate")
+    public ResponseEntity<ScanResultDTO> resolve(@RequestParam String code) {
+        ScanResultDTO result = scanIndexService.resolve(code);
+        HttpStatus status = "UNKNOWN".equals(result.getType()) ? HttpStatus.NOT_FOUND : HttpStatus.OK;
+        return new ResponseEntity<>(result, status);
+    }
+}
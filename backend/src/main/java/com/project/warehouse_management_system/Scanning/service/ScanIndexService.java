@@ -0,0 +1,197 @@
+package com.project.warehouse_management_system.Scanning.service;
+
+import com.project.warehouse_management_system.BinLocation.Service.BinCodeLinkService;
+import com.project.warehouse_management_system.Inventory.event.PalletChangedEvent;
+import com.project.warehouse_management_system.Inventory.event.PalletsReceivedEvent;
+import com.project.warehouse_management_system.Inventory.repo.PalletRepo;
+import com.project.warehouse_management_system.Inventory.repo.PalletScanRow;
+import com.project.warehouse_management_system.Inventory.service.PalletLabelService;
+import com.project.warehouse_management_system.Scanning.Dto.ScanPalletDTO;
+import com.project.warehouse_management_system.Scanning.Dto.ScanResultDTO;
+import com.project.warehouse_management_system.WareHouse.event.TopologyRefreshedEvent;
+import com.project.warehouse_management_system.WareHouse.service.TopologyService;
+import com.project.warehouse_management_system.WareHouse.service.TopologySnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves scanned strings with hash lookups only. Slot keys (bin codes and position names) are rebuilt with every
+ * topology snapshot; pallets are loaded at startup and reloaded one by one as they change. A periodic full reload
+ * catches writes that bypass the pallet service.
+ */
+@Service
+public class ScanIndexService {
+
+    // A bare position letter like "A" matches a slot in every bay; only the first few are listed
+    private static final int MAX_CANDIDATES = 50;
+
+    @Autowired
+    private PalletRepo palletRepo;
+    @Autowired
+    private TopologyService topologyService;
+
+    private volatile SlotIndex slots = new SlotIndex(TopologySnapshot.empty());
+    private final Map<Long, PalletScanRow> pallets = new ConcurrentHashMap<>();
+    private final Map<Long, Long> palletByPosition = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        slots = new SlotIndex(topologyService.getSnapshot());
+        reloadPallets();
+    }
+
+    @EventListener
+    public void onTopologyRefreshed(TopologyRefreshedEvent event) {
+        slots = new SlotIndex(event.snapshot());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPalletChanged(PalletChangedEvent event) {
+        apply(event.palletId(), palletRepo.findScanRowById(event.palletId()).orElse(null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPalletsReceived(PalletsReceivedEvent event) {
+        Map<Long, PalletScanRow> rows = new HashMap<>();
+        for (PalletScanRow row : palletRepo.findScanRowsByIds(event.palletIds())) {
+            rows.put(row.getPalletId(), row);
+        }
+        event.palletIds().forEach(id -> apply(id, rows.get(id)));
+    }
+
+    @Scheduled(fixedDelayString = "${scan.index.reload-interval-ms:900000}", initialDelayString = "${scan.index.reload-interval-ms:900000}")
+    public synchronized void reloadPallets() {
+        Map<Long, PalletScanRow> loaded = new HashMap<>();
+        Map<Long, Long> byPosition = new HashMap<>();
+        for (PalletScanRow row : palletRepo.findAllScanRows()) {
+            loaded.put(row.getPalletId(), row);
+            if (row.getPositionId() != null) {
+                byPosition.put(row.getPositionId(), row.getPalletId());
+            }
+        }
+        pallets.keySet().retainAll(loaded.keySet());
+        pallets.putAll(loaded);
+        palletByPosition.keySet().retainAll(byPosition.keySet());
+        palletByPosition.putAll(byPosition);
+    }
+
+    private synchronized void apply(Long palletId, PalletScanRow row) {
+        PalletScanRow previous = row == null ? pallets.remove(palletId) : pallets.put(palletId, row);
+        if (previous != null && previous.getPositionId() != null) {
+            palletByPosition.remove(previous.getPositionId(), palletId);
+        }
+        if (row != null && row.getPositionId() != null) {
+            palletByPosition.put(row.getPositionId(), palletId);
+        }
+    }
+
+    public ScanResultDTO resolve(String scanned) {
+        long started = System.nanoTime();
+        ScanResultDTO result = lookup(scanned == null ? "" : scanned.trim().toUpperCase(Locale.ROOT));
+        result.setScanned(scanned);
+        result.setLookupNanos(System.nanoTime() - started);
+        return result;
+    }
+
+    private ScanResultDTO lookup(String key) {
+        Long palletId = PalletLabelService.parseLicensePlate(key);
+        if (palletId != null) {
+            return palletResult(palletId);
+        }
+
+        SlotIndex index = slots;
+        Long positionId = index.positionByCode.get(key);
+        if (positionId != null) {
+            return slotResult("BIN", index, positionId);
+        }
+
+        List<Long> named = index.positionsByName.get(key);
+        if (named != null) {
+            if (named.size() == 1) {
+                return slotResult("POSITION", index, named.get(0));
+            }
+            ScanResultDTO ambiguous = new ScanResultDTO();
+            ambiguous.setType("POSITION");
+            ambiguous.setCandidates(named.stream().limit(MAX_CANDIDATES).map(index.codeByPosition::get).toList());
+            return ambiguous;
+        }
+
+        if (!key.isEmpty() && key.length() < 19 && key.chars().allMatch(Character::isDigit)) {
+            return palletResult(Long.parseLong(key));
+        }
+        return unknown();
+    }
+
+    private ScanResultDTO slotResult(String type, SlotIndex index, Long positionId) {
+        ScanResultDTO result = new ScanResultDTO();
+        result.setType(type);
+        result.setBinCode(index.codeByPosition.get(positionId));
+        result.setPosition(index.snapshot.path(positionId));
+        Long palletId = palletByPosition.get(positionId);
+        if (palletId != null) {
+            result.setPallet(toDTO(pallets.get(palletId)));
+        }
+        return result;
+    }
+
+    private ScanResultDTO palletResult(Long palletId) {
+        PalletScanRow row = pallets.get(palletId);
+        if (row == null) {
+            return unknown();
+        }
+        ScanResultDTO result = new ScanResultDTO();
+        result.setType("PALLET");
+        result.setPallet(toDTO(row));
+        if (row.getPositionId() != null) {
+            SlotIndex index = slots;
+            result.setBinCode(index.codeByPosition.get(row.getPositionId()));
+            result.setPosition(index.snapshot.path(row.getPositionId()));
+        }
+        return result;
+    }
+
+    private static ScanResultDTO unknown() {
+        ScanResultDTO result = new ScanResultDTO();
+        result.setType("UNKNOWN");
+        return result;
+    }
+
+    private static ScanPalletDTO toDTO(PalletScanRow row) {
+        if (row == null) {
+            return null;
+        }
+        return new ScanPalletDTO(row.getPalletId(), PalletLabelService.licensePlate(row.getPalletId()),
+                row.getPalletName(), row.getStatus(), row.getQuantity(), row.getExpiryDate(),
+                row.getProductId(), row.getProductName());
+    }
+
+    private static final class SlotIndex {
+        final TopologySnapshot snapshot;
+        final Map<String, Long> positionByCode = new HashMap<>();
+        final Map<Long, String> codeByPosition = new HashMap<>();
+        final Map<String, List<Long>> positionsByName = new HashMap<>();
+
+        SlotIndex(TopologySnapshot snapshot) {
+            this.snapshot = snapshot;
+            for (TopologySnapshot.PositionNode position : snapshot.positions()) {
+                if (position.name() != null) {
+                    positionsByName.computeIfAbsent(position.name().trim().toUpperCase(Locale.ROOT), k -> new ArrayList<>(1))
+                            .add(position.id());
+                }
+                String code = BinCodeLinkService.binCode(snapshot.path(position.id()));
+                if (code == null) {
+                    continue;
+                }
+                codeByPosition.put(position.id(), code);
+                positionByCode.putIfAbsent(code.toUpperCase(Locale.ROOT), position.id());
+            }
+        }
+    }
+}
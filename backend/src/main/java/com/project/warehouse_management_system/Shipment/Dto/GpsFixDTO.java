@@ -0,0 +1,19 @@
+package com.project.warehouse_management_system.Shipment.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GpsFixDTO {
+    private Long truckId;
+    private Double latitude;
+    private Double longitude;
+    private Double speedKmh;
+    private Double heading;         // degrees clockwise from north
+    private LocalDateTime recordedAt;
+}
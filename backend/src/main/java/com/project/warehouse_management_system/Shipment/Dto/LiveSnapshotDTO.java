@@ -0,0 +1,15 @@
+package com.project.warehouse_management_system.Shipment.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveSnapshotDTO {
+    private List<ShipmentStatusDTO> shipments;
+    private List<GpsFixDTO> trucks;     // latest fix per truck
+}
@@ -0,0 +1,20 @@
+package com.project.warehouse_management_system.Shipment.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadPlanDTO {
+    private List<TruckLoadDTO> loads;
+    private List<UnplannedOrderDTO> unplanned;
+    private int plannedOrders;
+    private double weightKg;
+    private double fill;            // loaded weight over the capacity of the trucks used
+    private boolean committed;
+    private long elapsedMillis;
+}
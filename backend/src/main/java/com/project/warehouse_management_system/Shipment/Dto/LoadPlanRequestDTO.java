@@ -0,0 +1,16 @@
+package com.project.warehouse_management_system.Shipment.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadPlanRequestDTO {
+    private List<Long> orderIds;    // pending orders to load, all unshipped pending orders when empty
+    private List<Long> truckIds;    // trucks to load, all available trucks when empty
+    private boolean commit;         // create the shipments and assign the trucks, otherwise only plan
+}
@@ -0,0 +1,16 @@
+package com.project.warehouse_management_system.Shipment.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyDTO {
+    private Long id;
+    private String name;
+    private double latitude;
+    private double longitude;
+    private double distanceKm;
+}
@@ -0,0 +1,16 @@
+package com.project.warehouse_management_system.Shipment.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryReceiptDTO {
+    private int accepted;
+    private int rejected;
+    private Map<Integer, String> errors;    // reason per rejected fix, by its index in the batch
+}
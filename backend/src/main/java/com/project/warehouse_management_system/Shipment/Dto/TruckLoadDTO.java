@@ -0,0 +1,20 @@
+package com.project.warehouse_management_system.Shipment.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TruckLoadDTO {
+    private Long shipmentId;        // only set when the plan was committed
+    private Long truckId;
+    private String truckName;
+    private String destination;
+    private double capacityKg;
+    private double weightKg;
+    private List<Long> orderIds;
+}
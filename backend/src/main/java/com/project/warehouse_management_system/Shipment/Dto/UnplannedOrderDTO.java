@@ -0,0 +1,15 @@
+package com.project.warehouse_management_system.Shipment.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnplannedOrderDTO {
+    private Long orderId;
+    private String destination;
+    private Double weightKg;
+    private String reason;
+}
@@ -0,0 +1,88 @@
+package com.project.warehouse_management_system.Shipment.controller;
+
+import com.project.warehouse_management_system.Shipment.service.LiveFeedService;
+import com.project.warehouse_management_system.Shipment.service.SpatialIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("dispatch")
+@SecurityRequirement(name = "Keycloak")
+public class DispatchController {
+
+    @Autowired
+    private SpatialIndexService spatialIndexService;
+    @Autowired
+    private LiveFeedService liveFeedService;
+
+    @GetMapping("/trucks/nearest")
+    @Operation(summary = "The k trucks closest to a point, optionally within a maximum distance")
+    public ResponseEntity<?> nearestTrucks(@RequestParam Double latitude, @RequestParam Double longitude,
+                                           @RequestParam(defaultValue = "5") int k,
+                                           @RequestParam(required = false) Double maxKm) {
+        return nearest(SpatialIndexService.Kind.TRUCK, latitude, longitude, k, maxKm);
+    }
+
+    @GetMapping("/trucks/within")
+    @Operation(summary = "Trucks within a radius of a point, closest first")
+    public ResponseEntity<?> trucksWithin(@RequestParam Double latitude, @RequestParam Double longitude,
+                                          @RequestParam Double radiusKm) {
+        return within(SpatialIndexService.Kind.TRUCK, latitude, longitude, radiusKm);
+    }
+
+    @GetMapping("/locations/nearest")
+    @Operation(summary = "The k warehouse locations closest to a point, optionally within a maximum distance")
+    public ResponseEntity<?> nearestLocations(@RequestParam Double latitude, @RequestParam Double longitude,
+                                              @RequestParam(defaultValue = "1") int k,
+                                              @RequestParam(required = false) Double maxKm) {
+        return nearest(SpatialIndexService.Kind.LOCATION, latitude, longitude, k, maxKm);
+    }
+
+    @GetMapping("/locations/within")
+    @Operation(summary = "Warehouse locations within a radius of a point, closest first")
+    public ResponseEntity<?> locationsWithin(@RequestParam Double latitude, @RequestParam Double longitude,
+                                             @RequestParam Double radiusKm) {
+        return within(SpatialIndexService.Kind.LOCATION, latitude, longitude, radiusKm);
+    }
+
+    @GetMapping("/stream")
+    @Operation(summary = "Server-sent events: a snapshot of shipment statuses and truck positions, then only changes. " +
+            "Topics are SHIPMENTS and TRUCKS; every filter left out matches everything")
+    public ResponseEntity<?> stream(@RequestParam(required = false) List<String> topics,
+                                    @RequestParam(required = false) List<Long> shipmentIds,
+                                    @RequestParam(required = false) List<String> statuses,
+                                    @RequestParam(required = false) List<Long> truckIds) {
+        try {
+            return ResponseEntity.ok(liveFeedService.subscribe(
+                    LiveFeedService.Filter.of(topics, shipmentIds, statuses, truckIds)));
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private ResponseEntity<?> nearest(SpatialIndexService.Kind kind, Double latitude, Double longitude, int k,
+                                      Double maxKm) {
+        try {
+            return ResponseEntity.ok(spatialIndexService.nearest(kind, latitude, longitude, k, maxKm));
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private ResponseEntity<?> within(SpatialIndexService.Kind kind, Double latitude, Double longitude, Double radiusKm) {
+        try {
+            return ResponseEntity.ok(spatialIndexService.within(kind, latitude, longitude, radiusKm));
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.project.warehouse_management_system.Shipment.controller;
 
 import com.project.warehouse_management_system.BaseClasses.BaseController;
+import com.project.warehouse_management_system.Shipment.Dto.LoadPlanRequestDTO;
 import com.project.warehouse_management_system.Shipment.model.Shipment;
+import com.project.warehouse_management_system.Shipment.service.LoadBuildingService;
 import com.project.warehouse_management_system.Shipment.service.ShipmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
@@ -17,6 +20,8 @@ import java.util.List;
 public class ShipmentController extends BaseController<Shipment,Long> {
     @Autowired
     private ShipmentService shipmentService;
+    @Autowired
+    private LoadBuildingService loadBuildingService;
 
     /**
      * Endpoint to get all shipments for a specific employee/user
@@ -28,4 +33,24 @@ public class ShipmentController extends BaseController<Shipment,Long> {
         List<Shipment> shipments = shipmentService.getShipmentsByEmployeeId(userId);
         return ResponseEntity.ok(shipments);
     }
+
+    /**
+     * Endpoint to pack pending orders into truck loads by weight and destination
+     * @param request The orders and trucks to plan with, and whether to create the shipments
+     * @return The loads per truck and the orders that could not be loaded
+     */
+    @PostMapping("/load-plan")
+    @Operation(summary = "Pack pending orders into truck loads by weight and destination, optionally creating the shipments")
+    public ResponseEntity<?> buildLoads(@RequestBody LoadPlanRequestDTO request) {
+        try {
+            return ResponseEntity.ok(loadBuildingService.buildLoads(request));
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (DataIntegrityViolationException e) {
+            // shipment_orders.orders_id is unique: another plan shipped one of the orders first
+            return new ResponseEntity<>("Some orders were put on another shipment meanwhile.", HttpStatus.CONFLICT);
+        }
+    }
 }
@@ -1,11 +1,67 @@
 package com.project.warehouse_management_system.Shipment.controller;
 
 import com.project.warehouse_management_system.BaseClasses.BaseController;
+import com.project.warehouse_management_system.Shipment.Dto.GpsFixDTO;
 import com.project.warehouse_management_system.Shipment.model.Truck;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import com.project.warehouse_management_system.Shipment.service.TelemetryService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("truck")
 public class TruckController extends BaseController<Truck,Long> {
+
+    @Autowired
+    private TelemetryService telemetryService;
+
+    @PostMapping("/telemetry")
+    @Operation(summary = "Send a batch of GPS fixes of one or more trucks; history is stored in the background")
+    public ResponseEntity<?> ingest(@RequestBody List<GpsFixDTO> fixes) {
+        try {
+            return new ResponseEntity<>(telemetryService.ingest(fixes), HttpStatus.ACCEPTED);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/positions")
+    @Operation(summary = "Latest position of every truck that reported one")
+    public ResponseEntity<List<GpsFixDTO>> getPositions() {
+        return ResponseEntity.ok(telemetryService.getLatest());
+    }
+
+    @GetMapping("/{id}/position")
+    @Operation(summary = "Latest position of a truck")
+    public ResponseEntity<?> getPosition(@PathVariable Long id) {
+        return telemetryService.getLatest(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> new ResponseEntity<>("No position reported for truck " + id, HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/{id}/track")
+    @Operation(summary = "Most recent GPS fixes of a truck, oldest first")
+    public ResponseEntity<List<GpsFixDTO>> getTrack(@PathVariable Long id) {
+        return ResponseEntity.ok(telemetryService.getRecent(id));
+    }
+
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Stored GPS fixes of a truck within a time range, oldest first")
+    public ResponseEntity<?> getHistory(@PathVariable Long id,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                        @RequestParam(defaultValue = "1000") int limit) {
+        try {
+            return ResponseEntity.ok(telemetryService.getHistory(id, from, to, limit));
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package com.project.warehouse_management_system.Shipment.event;
+
+import java.util.Collection;
+
+/**
+ * Published after shipments were created, changed or deleted; listeners reload them by id.
+ */
+public record ShipmentsChangedEvent(Collection<Long> shipmentIds) {
+}
@@ -0,0 +1,11 @@
+package com.project.warehouse_management_system.Shipment.event;
+
+import com.project.warehouse_management_system.Shipment.Dto.GpsFixDTO;
+
+import java.util.List;
+
+/**
+ * Published once per telemetry batch with the new latest fix of every truck the batch moved.
+ */
+public record TrucksMovedEvent(List<GpsFixDTO> positions) {
+}
@@ -1,5 +1,6 @@
 package com.project.warehouse_management_system.Shipment.model;
 
+import com.project.warehouse_management_system.BaseClasses.GeoCoordinates;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -30,8 +31,25 @@ public class Truck {
     @Column(name = "latitude", nullable = false)
     private String latitude;
 
+    // Parsed from longitude and latitude on every write, for spatial queries
+    @Column(name = "longitude_degrees")
+    private Double longitudeDegrees;
+
+    @Column(name = "latitude_degrees")
+    private Double latitudeDegrees;
+
+    // Maximum payload; trucks without one are planned with shipping.truck-capacity-kg
+    @Column(name = "capacity_kg")
+    private Double capacityKg;
+
     @CreatedDate
     @Column(name = "created_at",nullable = false,updatable = false)
     private LocalDateTime createdAt;
 
+    @PrePersist
+    @PreUpdate
+    private void parseCoordinates() {
+        longitudeDegrees = GeoCoordinates.parseLongitude(longitude);
+        latitudeDegrees = GeoCoordinates.parseLatitude(latitude);
+    }
 }
@@ -0,0 +1,42 @@
+package com.project.warehouse_management_system.Shipment.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One GPS fix of a truck. Append-only: rows are written in batches by the telemetry flush and never updated, so the
+ * truck is a plain column rather than a relation.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "truck_positions", indexes = {
+        @Index(name = "idx_truck_positions_truck_recorded", columnList = "truck_id, recorded_at")})
+public class TruckPosition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "truck_id", nullable = false)
+    private Long truckId;
+
+    @Column(nullable = false)
+    private double latitude;
+
+    @Column(nullable = false)
+    private double longitude;
+
+    @Column(name = "speed_kmh")
+    private Double speedKmh;
+
+    private Double heading;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+}
@@ -0,0 +1,14 @@
+package com.project.warehouse_management_system.Shipment.repo;
+
+/**
+ * A pending order reduced to what load building needs: its destination and total weight in kg.
+ */
+public interface OrderLoadRow {
+    Long getOrderId();
+
+    String getCity();
+
+    String getZipCode();
+
+    double getWeight();
+}
@@ -0,0 +1,10 @@
+package com.project.warehouse_management_system.Shipment.repo;
+
+/**
+ * An order that is already part of a shipment.
+ */
+public interface ShipmentOrderRow {
+    Long getShipmentId();
+
+    Long getOrderId();
+}
@@ -2,13 +2,41 @@ package com.project.warehouse_management_system.Shipment.repo;
 
 import com.project.warehouse_management_system.BaseClasses.BaseRepo;
 import com.project.warehouse_management_system.Shipment.model.Shipment;
-import org.jboss.resteasy.annotations.Query;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ShipmentRepo extends BaseRepo<Shipment,Long> {
     List<Shipment> findByShippingEmployee(String userId);
+
+    Optional<Shipment> findFirstByTypeNameAndStatusNameAndToNameOrderByIdDesc(String typeName, String statusName,
+                                                                           String toName);
+
+    @Query("select s.id as shipmentId, o.id as orderId from Shipment s join s.orders o where o.id in :orderIds")
+    List<ShipmentOrderRow> findOrderRows(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("select s.id as id, s.shipmentName as shipmentName, s.typeName as typeName, s.statusName as statusName " +
+            "from Shipment s")
+    List<ShipmentStatusRow> findAllStatusRows();
+
+    @Query("select s.id as id, s.shipmentName as shipmentName, s.typeName as typeName, s.statusName as statusName " +
+            "from Shipment s where s.id in :ids")
+    List<ShipmentStatusRow> findStatusRowsByIds(@Param("ids") Collection<Long> ids);
+
+    String UNSHIPPED_PENDING_ORDER_LOADS = "select o.id as orderId, o.shippingAddress.city as city, " +
+            "o.shippingAddress.zipCode as zipCode, coalesce(sum(op.quantity * p.weight), 0) as weight " +
+            "from Orders o left join o.products op left join op.product p " +
+            "where lower(o.status) = 'pending' and not exists (select 1 from Shipment s join s.orders so where so.id = o.id) ";
+
+    @Query(UNSHIPPED_PENDING_ORDER_LOADS + "group by o.id, o.shippingAddress.city, o.shippingAddress.zipCode")
+    List<OrderLoadRow> findUnshippedPendingOrderLoads();
+
+    @Query(UNSHIPPED_PENDING_ORDER_LOADS + "and o.id in :orderIds " +
+            "group by o.id, o.shippingAddress.city, o.shippingAddress.zipCode")
+    List<OrderLoadRow> findUnshippedPendingOrderLoads(@Param("orderIds") Collection<Long> orderIds);
 }
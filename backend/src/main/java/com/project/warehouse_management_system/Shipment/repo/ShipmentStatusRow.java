@@ -0,0 +1,14 @@
+package com.project.warehouse_management_system.Shipment.repo;
+
+/**
+ * A shipment without its orders.
+ */
+public interface ShipmentStatusRow {
+    Long getId();
+
+    String getShipmentName();
+
+    String getTypeName();
+
+    String getStatusName();
+}
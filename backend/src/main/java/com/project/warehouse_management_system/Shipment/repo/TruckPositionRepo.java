@@ -0,0 +1,16 @@
+package com.project.warehouse_management_system.Shipment.repo;
+
+import com.project.warehouse_management_system.BaseClasses.BaseRepo;
+import com.project.warehouse_management_system.Shipment.model.TruckPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TruckPositionRepo extends BaseRepo<TruckPosition, Long> {
+
+    List<TruckPosition> findByTruckIdAndRecordedAtBetweenOrderByRecordedAt(Long truckId, LocalDateTime from,
+                                                                          LocalDateTime to, Limit limit);
+}
@@ -2,8 +2,23 @@ package com.project.warehouse_management_system.Shipment.repo;
 
 import com.project.warehouse_management_system.BaseClasses.BaseRepo;
 import com.project.warehouse_management_system.Shipment.model.Truck;
+import com.project.warehouse_management_system.WareHouse.repo.GeoPointRow;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface TruckRepo extends BaseRepo<Truck,Long> {
+
+    // Trucks without a shipment or whose last shipment is completed
+    @Query("select t from Truck t left join fetch t.shipment s where s is null or s.statusName = 'Completed'")
+    List<Truck> findAvailable();
+
+    @Query("select t.id from Truck t")
+    List<Long> findAllIds();
+
+    @Query("select t.id as id, t.truckName as name, t.latitudeDegrees as latitude, t.longitudeDegrees as longitude " +
+            "from Truck t")
+    List<GeoPointRow> findGeoPoints();
 }
@@ -0,0 +1,269 @@
+package com.project.warehouse_management_system.Shipment.service;
+
+import com.project.warehouse_management_system.BaseClasses.GeoCoordinates;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Points on the globe bucketed into cells of {@code cellDegrees} latitude by longitude, for nearest-k and
+ * within-radius queries in great-circle distance.
+ * <p>
+ * Nearest-k searches rings of cells around the query's cell, closest ring first, and stops once no point in the next
+ * ring can be closer than the k-th hit found. Within-radius scans the cells covering the circle's bounding box. Both
+ * fall back to scanning every point when that visits fewer entries than the cells they would have to look at, so a
+ * sparse grid never costs more than a linear scan.
+ */
+final class GeoGrid {
+
+    record Hit(long id, double latitude, double longitude, double distanceKm) {
+    }
+
+    private static final class Entry {
+        final long id;
+        double latitude;
+        double longitude;
+        long cell;
+        int slot;       // index in its cell's list
+
+        Entry(long id) {
+            this.id = id;
+        }
+    }
+
+    private static final Comparator<Hit> CLOSEST_FIRST =
+            Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::id);
+
+    private final double cellDegrees;
+    private final int latitudeCells;
+    private final int longitudeCells;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    GeoGrid(double cellDegrees) {
+        this.longitudeCells = (int) Math.ceil(360 / cellDegrees);
+        this.cellDegrees = 360.0 / longitudeCells;
+        this.latitudeCells = (int) Math.ceil(180 / this.cellDegrees);
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(long id, double latitude, double longitude) {
+        lock.writeLock().lock();
+        try {
+            putLocked(id, latitude, longitude);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.remove(id);
+            if (entry != null) {
+                unlink(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces every point; ids missing from {@code points} are removed. Values are {latitude, longitude}.
+     */
+    void replaceAll(Map<Long, double[]> points) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            cells.clear();
+            points.forEach((id, point) -> putLocked(id, point[0], point[1]));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<Hit> nearest(double latitude, double longitude, int k, double maxKm) {
+        lock.readLock().lock();
+        try {
+            if (k <= 0 || entries.isEmpty()) {
+                return List.of();
+            }
+            if (k >= entries.size()) {
+                return scan(latitude, longitude, k, maxKm);
+            }
+            // Farthest of the best k on top
+            PriorityQueue<Hit> best = new PriorityQueue<>(k + 1, CLOSEST_FIRST.reversed());
+            int latitudeCell = latitudeCell(latitude);
+            int longitudeCell = longitudeCell(longitude);
+            int visited = 0;
+            for (int ring = 0; ; ring++) {
+                double bound = ringBoundKm(ring, latitude);
+                if (bound > maxKm || best.size() == k && bound > best.peek().distanceKm()) {
+                    break;
+                }
+                if (2 * ring + 1 > longitudeCells || visited > entries.size()) {
+                    return scan(latitude, longitude, k, maxKm);
+                }
+                for (int dLat = -ring; dLat <= ring; dLat++) {
+                    int row = latitudeCell + dLat;
+                    if (row < 0 || row >= latitudeCells) {
+                        continue;
+                    }
+                    int step = Math.abs(dLat) == ring ? 1 : Math.max(2 * ring, 1);
+                    for (int dLon = -ring; dLon <= ring; dLon += step) {
+                        visited++;
+                        List<Entry> cell = cells.get(key(row, Math.floorMod(longitudeCell + dLon, longitudeCells)));
+                        if (cell == null) {
+                            continue;
+                        }
+                        for (Entry entry : cell) {
+                            Hit hit = hit(entry, latitude, longitude);
+                            if (hit.distanceKm() <= maxKm) {
+                                best.add(hit);
+                                if (best.size() > k) {
+                                    best.poll();
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(CLOSEST_FIRST);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Hit> within(double latitude, double longitude, double radiusKm) {
+        lock.readLock().lock();
+        try {
+            if (radiusKm < 0 || entries.isEmpty()) {
+                return List.of();
+            }
+            double radiusDegrees = Math.toDegrees(radiusKm / GeoCoordinates.EARTH_RADIUS_KM);
+            int fromRow = latitudeCell(Math.max(latitude - radiusDegrees, -90));
+            int toRow = latitudeCell(Math.min(latitude + radiusDegrees, 90));
+            // Half the longitude span of the circle, unless it reaches a pole
+            double sinSpan = Math.sin(Math.toRadians(radiusDegrees)) / Math.cos(Math.toRadians(latitude));
+            int columns = longitudeCells;
+            int fromColumn = 0;
+            if (latitude + radiusDegrees < 90 && latitude - radiusDegrees > -90 && sinSpan < 1) {
+                double span = Math.toDegrees(Math.asin(sinSpan));
+                fromColumn = (int) Math.floor((longitude - span + 180) / cellDegrees);
+                columns = Math.min((int) Math.floor((longitude + span + 180) / cellDegrees) - fromColumn + 1, longitudeCells);
+            }
+            if ((long) (toRow - fromRow + 1) * columns > entries.size()) {
+                return scan(latitude, longitude, Integer.MAX_VALUE, radiusKm);
+            }
+            List<Hit> hits = new ArrayList<>();
+            for (int row = fromRow; row <= toRow; row++) {
+                for (int column = 0; column < columns; column++) {
+                    List<Entry> cell = cells.get(key(row, Math.floorMod(fromColumn + column, longitudeCells)));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Entry entry : cell) {
+                        Hit hit = hit(entry, latitude, longitude);
+                        if (hit.distanceKm() <= radiusKm) {
+                            hits.add(hit);
+                        }
+                    }
+                }
+            }
+            hits.sort(CLOSEST_FIRST);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> scan(double latitude, double longitude, int k, double maxKm) {
+        List<Hit> hits = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            Hit hit = hit(entry, latitude, longitude);
+            if (hit.distanceKm() <= maxKm) {
+                hits.add(hit);
+            }
+        }
+        hits.sort(CLOSEST_FIRST);
+        return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+    }
+
+    /**
+     * A lower bound on the distance from the query to any point in ring {@code ring}: such a point is at least
+     * {@code ring - 1} cells away in latitude, or in longitude. The latter is bounded by the distance to the meridian
+     * that far away, {@code asin(cos(lat) · sin(Δlon))}, which for Δlon ≥ 90° is the distance to the pole.
+     */
+    private double ringBoundKm(int ring, double latitude) {
+        if (ring <= 1) {
+            return 0;
+        }
+        double gap = Math.toRadians((ring - 1) * cellDegrees);
+        double acrossMeridians = Math.asin(Math.cos(Math.toRadians(latitude)) * Math.sin(Math.min(gap, Math.PI / 2)));
+        return GeoCoordinates.EARTH_RADIUS_KM * Math.min(gap, acrossMeridians);
+    }
+
+    // Every entry in the map sits in exactly one cell
+    private void putLocked(long id, double latitude, double longitude) {
+        long cell = key(latitudeCell(latitude), longitudeCell(longitude));
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            entry = new Entry(id);
+            entries.put(id, entry);
+        } else if (entry.cell == cell) {
+            entry.latitude = latitude;
+            entry.longitude = longitude;
+            return;
+        } else {
+            unlink(entry);
+        }
+        entry.latitude = latitude;
+        entry.longitude = longitude;
+        List<Entry> target = cells.computeIfAbsent(cell, c -> new ArrayList<>());
+        entry.cell = cell;
+        entry.slot = target.size();
+        target.add(entry);
+    }
+
+    // Swap-remove from its cell
+    private void unlink(Entry entry) {
+        List<Entry> cell = cells.get(entry.cell);
+        Entry last = cell.remove(cell.size() - 1);
+        if (last != entry) {
+            cell.set(entry.slot, last);
+            last.slot = entry.slot;
+        }
+        if (cell.isEmpty()) {
+            cells.remove(entry.cell);
+        }
+    }
+
+    private static Hit hit(Entry entry, double latitude, double longitude) {
+        return new Hit(entry.id, entry.latitude, entry.longitude,
+                GeoCoordinates.distanceKm(latitude, longitude, entry.latitude, entry.longitude));
+    }
+
+    private int latitudeCell(double latitude) {
+        return Math.min((int) Math.floor((latitude + 90) / cellDegrees), latitudeCells - 1);
+    }
+
+    private int longitudeCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), longitudeCells);
+    }
+
+    private long key(int row, int column) {
+        return (long) row * longitudeCells + column;
+    }
+}
@@ -0,0 +1,262 @@
+package com.project.warehouse_management_system.Shipment.service;
+
+import com.project.warehouse_management_system.Shipment.Dto.GpsFixDTO;
+import com.project.warehouse_management_system.Shipment.Dto.LiveSnapshotDTO;
+import com.project.warehouse_management_system.Shipment.Dto.ShipmentStatusDTO;
+import com.project.warehouse_management_system.Shipment.event.ShipmentsChangedEvent;
+import com.project.warehouse_management_system.Shipment.event.TrucksMovedEvent;
+import com.project.warehouse_management_system.Shipment.repo.ShipmentRepo;
+import com.project.warehouse_management_system.Shipment.repo.ShipmentStatusRow;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Pushes shipment status and truck position changes to dashboards as server-sent events. A client first gets a
+ * {@code snapshot} of everything its filter matches, then {@code shipment}, {@code shipment-removed} and
+ * {@code truck} deltas.
+ * <p>
+ * Every client has a bounded buffer that publishers only append to; a {@code liveFeedExecutor} task drains it to the
+ * connection. When a slow client lets its buffer fill up, the buffered deltas are dropped and it is sent a fresh
+ * snapshot instead, so a stalled connection costs one buffer and never holds up the publisher or other clients.
+ */
+@Service
+public class LiveFeedService {
+
+    public enum Topic {SHIPMENTS, TRUCKS}
+
+    /**
+     * What a client wants to hear about; empty sets match everything. Statuses compare case-insensitively.
+     */
+    public record Filter(Set<Topic> topics, Set<Long> shipmentIds, Set<String> statuses, Set<Long> truckIds) {
+
+        public static Filter of(List<String> topics, List<Long> shipmentIds, List<String> statuses, List<Long> truckIds) {
+            Set<Topic> parsed = EnumSet.allOf(Topic.class);
+            if (topics != null && !topics.isEmpty()) {
+                parsed = EnumSet.noneOf(Topic.class);
+                for (String topic : topics) {
+                    try {
+                        parsed.add(Topic.valueOf(topic.trim().toUpperCase(Locale.ROOT)));
+                    } catch (IllegalArgumentException e) {
+                        throw new ValidationException("Unknown topic " + topic + ", expected one of " +
+                                Arrays.toString(Topic.values()) + ".");
+                    }
+                }
+            }
+            Set<String> lowerStatuses = new HashSet<>();
+            if (statuses != null) {
+                statuses.forEach(status -> lowerStatuses.add(status.trim().toLowerCase(Locale.ROOT)));
+            }
+            return new Filter(parsed, setOf(shipmentIds), lowerStatuses, setOf(truckIds));
+        }
+
+        boolean matchesShipment(Long id, String status) {
+            return topics.contains(Topic.SHIPMENTS) && (shipmentIds.isEmpty() || shipmentIds.contains(id))
+                    && (statuses.isEmpty() || status != null && statuses.contains(status.toLowerCase(Locale.ROOT)));
+        }
+
+        boolean matchesTruck(Long id) {
+            return topics.contains(Topic.TRUCKS) && (truckIds.isEmpty() || truckIds.contains(id));
+        }
+
+        private static Set<Long> setOf(List<Long> ids) {
+            return ids == null ? Set.of() : Set.copyOf(ids);
+        }
+    }
+
+    @Autowired
+    private ShipmentRepo shipmentRepo;
+    @Autowired
+    private TelemetryService telemetryService;
+    @Autowired
+    @Qualifier("liveFeedExecutor")
+    private TaskExecutor liveFeedExecutor;
+
+    // Deltas a client may lag behind before it is resynchronized with a snapshot
+    @Value("${live.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${live.max-subscribers:200}")
+    private int maxSubscribers;
+
+    @Value("${live.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    private final Map<Long, ShipmentStatusDTO> shipments = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        Map<Long, ShipmentStatusDTO> loaded = new HashMap<>();
+        for (ShipmentStatusRow row : shipmentRepo.findAllStatusRows()) {
+            loaded.put(row.getId(), toDTO(row));
+        }
+        shipments.keySet().retainAll(loaded.keySet());
+        shipments.putAll(loaded);
+    }
+
+    /**
+     * Sends a delta for every shipment whose name, type or status changed. A client filtering by status also hears
+     * about shipments that just left one of its statuses.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onShipmentsChanged(ShipmentsChangedEvent event) {
+        Map<Long, ShipmentStatusDTO> current = new HashMap<>();
+        for (ShipmentStatusRow row : shipmentRepo.findStatusRowsByIds(event.shipmentIds())) {
+            current.put(row.getId(), toDTO(row));
+        }
+        for (Long id : new LinkedHashSet<>(event.shipmentIds())) {
+            ShipmentStatusDTO shipment = current.get(id);
+            ShipmentStatusDTO previous = shipment == null ? shipments.remove(id) : shipments.put(id, shipment);
+            String previousStatus = previous == null ? null : previous.getStatusName();
+            if (shipment == null) {
+                if (previous != null) {
+                    broadcast("shipment-removed", previous, filter -> filter.matchesShipment(id, previousStatus));
+                }
+            } else if (!shipment.equals(previous)) {
+                broadcast("shipment", shipment, filter -> filter.matchesShipment(id, shipment.getStatusName())
+                        || previous != null && filter.matchesShipment(id, previousStatus));
+            }
+        }
+    }
+
+    @EventListener
+    public void onTrucksMoved(TrucksMovedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (GpsFixDTO position : event.positions()) {
+            broadcast("truck", position, filter -> filter.matchesTruck(position.getTruckId()));
+        }
+    }
+
+    /**
+     * Opens a stream for {@code filter}. Throws {@link IllegalStateException} when the subscriber limit is reached.
+     */
+    public SseEmitter subscribe(Filter filter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many live feed clients are connected, try again later.");
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, filter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // The snapshot is read when the first drain runs, after the subscriber can already receive deltas
+        subscriber.schedule();
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Keeps idle connections open through proxies and finds clients that went away
+    @Scheduled(fixedDelayString = "${live.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event().comment("keep-alive").build();
+        subscribers.forEach(subscriber -> subscriber.offer(frame));
+    }
+
+    private void broadcast(String name, Object data, Predicate<Filter> audience) {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = null;
+        for (Subscriber subscriber : subscribers) {
+            if (audience.test(subscriber.filter)) {
+                if (frame == null) {
+                    frame = SseEmitter.event().name(name).data(data).build();
+                }
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    private LiveSnapshotDTO snapshot(Filter filter) {
+        List<ShipmentStatusDTO> matching = shipments.values().stream()
+                .filter(shipment -> filter.matchesShipment(shipment.getId(), shipment.getStatusName()))
+                .sorted(Comparator.comparing(ShipmentStatusDTO::getId))
+                .toList();
+        List<GpsFixDTO> trucks = filter.topics().contains(Topic.TRUCKS)
+                ? telemetryService.getLatest().stream().filter(fix -> filter.matchesTruck(fix.getTruckId())).toList()
+                : List.of();
+        return new LiveSnapshotDTO(matching, trucks);
+    }
+
+    private static ShipmentStatusDTO toDTO(ShipmentStatusRow row) {
+        return new ShipmentStatusDTO(row.getId(), row.getShipmentName(), row.getTypeName(), row.getStatusName());
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final Filter filter;
+        final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> buffer;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        // Set on connect and on overflow: the next drain discards the buffer and sends a snapshot first
+        volatile boolean resync = true;
+
+        Subscriber(SseEmitter emitter, Filter filter, int capacity) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (!buffer.offer(frame)) {
+                resync = true;
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    liveFeedExecutor.execute(this::drain);
+                } catch (TaskRejectedException e) {
+                    // Retried with the next delta or heartbeat
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (resync) {
+                    resync = false;
+                    buffer.clear();
+                    emitter.send(SseEmitter.event().name("snapshot").data(snapshot(filter)));
+                }
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while (!resync && (frame = buffer.poll()) != null) {
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter callbacks remove it
+                subscribers.remove(this);
+                buffer.clear();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (resync || !buffer.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.project.warehouse_management_system.Shipment.service;
+
+import com.project.warehouse_management_system.Inventory.model.ShippingAddress;
+import com.project.warehouse_management_system.Shipment.Dto.LoadPlanDTO;
+import com.project.warehouse_management_system.Shipment.Dto.LoadPlanRequestDTO;
+import com.project.warehouse_management_system.Shipment.Dto.TruckLoadDTO;
+import com.project.warehouse_management_system.Shipment.Dto.UnplannedOrderDTO;
+import com.project.warehouse_management_system.Shipment.event.ShipmentsChangedEvent;
+import com.project.warehouse_management_system.Shipment.model.Shipment;
+import com.project.warehouse_management_system.Shipment.model.Truck;
+import com.project.warehouse_management_system.Shipment.repo.OrderLoadRow;
+import com.project.warehouse_management_system.Shipment.repo.ShipmentRepo;
+import com.project.warehouse_management_system.Shipment.repo.TruckRepo;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Packs pending orders that are not on a shipment yet into truck loads, see {@link LoadPacker}. Orders are grouped
+ * by the destination of their shipping address and weigh the sum of {@code Product.weight × quantity} over their
+ * lines. A committed plan creates one shipment per load and assigns the load's truck to it.
+ */
+@Service
+public class LoadBuildingService {
+
+    private static final String INSERT_SHIPMENT_ORDER = "insert into shipment_orders (shipment_id, orders_id) values (?, ?)";
+    private static final String SET_ORDER_SHIPMENT = "update orders set shipment = ? where id = ?";
+    // Conditional, so a truck dispatched by someone else meanwhile is not taken over
+    private static final String ASSIGN_TRUCK = "update truck set shipment_id = ? where id = ? and (shipment_id is null " +
+            "or shipment_id in (select id from shipment where status_name = 'Completed'))";
+
+    @Autowired
+    private ShipmentRepo shipmentRepo;
+    @Autowired
+    private TruckRepo truckRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${shipping.truck-capacity-kg:24000}")
+    private double defaultCapacityKg;
+
+    @Value("${shipping.origin-name:Yellow Brick Warehouse}")
+    private String originName;
+
+    @Transactional
+    public LoadPlanDTO buildLoads(LoadPlanRequestDTO request) {
+        long started = System.currentTimeMillis();
+        List<Long> requestedOrders = request.getOrderIds() == null ? List.of() : request.getOrderIds();
+        List<OrderLoadRow> rows = requestedOrders.isEmpty()
+                ? shipmentRepo.findUnshippedPendingOrderLoads()
+                : shipmentRepo.findUnshippedPendingOrderLoads(requestedOrders);
+        Map<Long, Truck> trucks = availableTrucks(request.getTruckIds());
+
+        List<LoadPacker.Item> items = new ArrayList<>(rows.size());
+        for (OrderLoadRow row : rows) {
+            items.add(new LoadPacker.Item(row.getOrderId(),
+                    ShippingAddress.destinationOf(row.getCity(), row.getZipCode()), row.getWeight()));
+        }
+        List<LoadPacker.Vehicle> vehicles = trucks.values().stream()
+                .map(truck -> new LoadPacker.Vehicle(truck.getId(), capacityOf(truck)))
+                .toList();
+        LoadPacker.Result result = LoadPacker.pack(items, vehicles);
+
+        List<UnplannedOrderDTO> unplanned = new ArrayList<>();
+        result.tooHeavy().forEach(item -> unplanned.add(unplanned(item, "Heavier than the largest available truck.")));
+        result.noTruck().forEach(item -> unplanned.add(unplanned(item, "No available truck left.")));
+        Set<Long> found = rows.stream().map(OrderLoadRow::getOrderId).collect(Collectors.toSet());
+        requestedOrders.stream().distinct().filter(id -> !found.contains(id)).forEach(id ->
+                unplanned.add(new UnplannedOrderDTO(id, null, null, "Not a pending order, or already on a shipment.")));
+
+        List<LoadPacker.Load> loads = new ArrayList<>(result.loads());
+        loads.sort(Comparator.comparing((LoadPacker.Load load) -> load.destination)
+                .thenComparing(Comparator.comparingDouble((LoadPacker.Load load) -> load.weight).reversed()));
+        List<Long> shipmentIds = request.isCommit() ? commit(loads, trucks) : null;
+
+        List<TruckLoadDTO> loadDTOs = new ArrayList<>(loads.size());
+        double weight = 0;
+        double capacity = 0;
+        int orders = 0;
+        for (int i = 0; i < loads.size(); i++) {
+            LoadPacker.Load load = loads.get(i);
+            loadDTOs.add(new TruckLoadDTO(shipmentIds == null ? null : shipmentIds.get(i), load.truck.truckId(),
+                    trucks.get(load.truck.truckId()).getTruckName(), load.destination, load.truck.capacity(), load.weight,
+                    load.items.stream().map(LoadPacker.Item::orderId).toList()));
+            weight += load.weight;
+            capacity += load.truck.capacity();
+            orders += load.items.size();
+        }
+        return new LoadPlanDTO(loadDTOs, unplanned, orders, weight, capacity == 0 ? 0 : weight / capacity,
+                request.isCommit(), System.currentTimeMillis() - started);
+    }
+
+    private Map<Long, Truck> availableTrucks(List<Long> truckIds) {
+        List<Truck> available = truckRepo.findAvailable();
+        if (truckIds == null || truckIds.isEmpty()) {
+            return available.stream().collect(Collectors.toMap(Truck::getId, Function.identity(), (a, b) -> a,
+                    LinkedHashMap::new));
+        }
+        Map<Long, Truck> byId = available.stream().collect(Collectors.toMap(Truck::getId, Function.identity()));
+        Map<Long, Truck> trucks = new LinkedHashMap<>();
+        for (Long id : truckIds) {
+            Truck truck = byId.get(id);
+            if (truck == null) {
+                if (!truckRepo.existsById(id)) {
+                    throw new EntityNotFoundException("Truck not found with id: " + id);
+                }
+                throw new IllegalStateException("Truck " + id + " is on a shipment that is not completed.");
+            }
+            trucks.put(id, truck);
+        }
+        return trucks;
+    }
+
+    private List<Long> commit(List<LoadPacker.Load> loads, Map<Long, Truck> trucks) {
+        List<Shipment> shipments = new ArrayList<>(loads.size());
+        LocalDate today = LocalDate.now();
+        for (LoadPacker.Load load : loads) {
+            Shipment shipment = new Shipment();
+            shipment.setShipmentName(load.destination + " " + today + " " + trucks.get(load.truck.truckId()).getTruckName());
+            shipment.setFromName(originName);
+            shipment.setToName(load.destination);
+            shipment.setShippingEmployee("");
+            shipment.setTypeName("Standard");
+            shipment.setStatusName("Pending");
+            shipments.add(shipment);
+        }
+        shipmentRepo.saveAll(shipments);
+        shipmentRepo.flush();
+
+        List<Object[]> shipmentOrders = new ArrayList<>();
+        List<Object[]> orderShipments = new ArrayList<>();
+        List<Object[]> truckShipments = new ArrayList<>(loads.size());
+        for (int i = 0; i < loads.size(); i++) {
+            Shipment shipment = shipments.get(i);
+            for (LoadPacker.Item item : loads.get(i).items) {
+                shipmentOrders.add(new Object[]{shipment.getId(), item.orderId()});
+                orderShipments.add(new Object[]{shipment.getShipmentName(), item.orderId()});
+            }
+            truckShipments.add(new Object[]{shipment.getId(), loads.get(i).truck.truckId()});
+        }
+        int[] assigned = jdbcTemplate.batchUpdate(ASSIGN_TRUCK, truckShipments);
+        for (int i = 0; i < assigned.length; i++) {
+            // Statement.SUCCESS_NO_INFO (-2) means the driver did not report counts for the rewritten batch
+            if (assigned[i] == 0) {
+                throw new IllegalStateException("Truck " + truckShipments.get(i)[1] + " was dispatched meanwhile.");
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SHIPMENT_ORDER, shipmentOrders);
+        jdbcTemplate.batchUpdate(SET_ORDER_SHIPMENT, orderShipments);
+        List<Long> shipmentIds = shipments.stream().map(Shipment::getId).toList();
+        eventPublisher.publishEvent(new ShipmentsChangedEvent(shipmentIds));
+        return shipmentIds;
+    }
+
+    private double capacityOf(Truck truck) {
+        return truck.getCapacityKg() == null || truck.getCapacityKg() <= 0 ? defaultCapacityKg : truck.getCapacityKg();
+    }
+
+    private static UnplannedOrderDTO unplanned(LoadPacker.Item item, String reason) {
+        return new UnplannedOrderDTO(item.orderId(), item.destination(), item.weight(), reason);
+    }
+}
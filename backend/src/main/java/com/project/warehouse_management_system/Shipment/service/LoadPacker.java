@@ -0,0 +1,190 @@
+package com.project.warehouse_management_system.Shipment.service;
+
+import java.util.*;
+
+/**
+ * Packs orders into truck loads, one destination at a time, biggest destination first. Orders are placed first-fit
+ * decreasing; a new load takes the largest free truck. A local improvement then shifts weight out of the lightest
+ * load of the destination, by moving orders into the room left on other loads or swapping them for lighter ones,
+ * until it is empty and its truck is freed or nothing moves anymore. Finally every load is moved to the smallest
+ * free truck that still carries it, so the large trucks stay free for the destinations that follow.
+ */
+final class LoadPacker {
+
+    record Item(long orderId, String destination, double weight) {
+    }
+
+    record Vehicle(long truckId, double capacity) {
+    }
+
+    static final class Load {
+        final String destination;
+        final List<Item> items = new ArrayList<>();
+        Vehicle truck;
+        double weight;
+
+        Load(String destination, Vehicle truck) {
+            this.destination = destination;
+            this.truck = truck;
+        }
+
+        double spare() {
+            return truck.capacity() - weight;
+        }
+
+        void add(Item item) {
+            items.add(item);
+            weight += item.weight();
+        }
+
+        void remove(int index) {
+            weight -= items.remove(index).weight();
+        }
+    }
+
+    record Result(List<Load> loads, List<Item> tooHeavy, List<Item> noTruck) {
+    }
+
+    private static final double EPSILON = 1e-6;
+    // Moves and swaps tried per destination, keeps one huge destination from dominating the run time
+    private static final int IMPROVEMENT_STEPS = 500;
+    private static final Comparator<Item> HEAVIEST_FIRST =
+            Comparator.comparingDouble(Item::weight).reversed().thenComparingLong(Item::orderId);
+
+    private final NavigableMap<Double, Deque<Vehicle>> freeTrucks = new TreeMap<>();
+
+    private LoadPacker(List<Vehicle> trucks) {
+        trucks.forEach(this::giveBack);
+    }
+
+    static Result pack(List<Item> items, List<Vehicle> trucks) {
+        return new LoadPacker(trucks).pack(items);
+    }
+
+    private Result pack(List<Item> items) {
+        double largest = freeTrucks.isEmpty() ? 0 : freeTrucks.lastKey();
+        List<Item> tooHeavy = new ArrayList<>();
+        Map<String, List<Item>> byDestination = new HashMap<>();
+        for (Item item : items) {
+            if (!freeTrucks.isEmpty() && item.weight() > largest + EPSILON) {
+                tooHeavy.add(item);
+            } else {
+                byDestination.computeIfAbsent(item.destination(), d -> new ArrayList<>()).add(item);
+            }
+        }
+        List<List<Item>> groups = new ArrayList<>(byDestination.values());
+        groups.sort(Comparator.comparingDouble(LoadPacker::totalWeight).reversed()
+                .thenComparing(group -> group.get(0).destination()));
+
+        List<Load> loads = new ArrayList<>();
+        List<Item> noTruck = new ArrayList<>();
+        for (List<Item> group : groups) {
+            List<Load> destinationLoads = firstFitDecreasing(group, noTruck);
+            improve(destinationLoads);
+            downsize(destinationLoads);
+            loads.addAll(destinationLoads);
+        }
+        return new Result(loads, tooHeavy, noTruck);
+    }
+
+    private List<Load> firstFitDecreasing(List<Item> group, List<Item> noTruck) {
+        group.sort(HEAVIEST_FIRST);
+        List<Load> loads = new ArrayList<>();
+        for (Item item : group) {
+            Load target = null;
+            for (Load load : loads) {
+                if (item.weight() <= load.spare() + EPSILON) {
+                    target = load;
+                    break;
+                }
+            }
+            if (target == null) {
+                Vehicle truck = take(freeTrucks.lastEntry());
+                if (truck == null || item.weight() > truck.capacity() + EPSILON) {
+                    if (truck != null) {
+                        giveBack(truck);
+                    }
+                    noTruck.add(item);
+                    continue;
+                }
+                target = new Load(item.destination(), truck);
+                loads.add(target);
+            }
+            target.add(item);
+        }
+        return loads;
+    }
+
+    private void improve(List<Load> loads) {
+        for (int step = 0; step < IMPROVEMENT_STEPS && loads.size() > 1; step++) {
+            Load lightest = Collections.min(loads, Comparator.comparingDouble(load -> load.weight));
+            if (!shiftWeight(lightest, loads)) {
+                return;
+            }
+            if (lightest.items.isEmpty()) {
+                loads.remove(lightest);
+                giveBack(lightest.truck);
+            }
+        }
+    }
+
+    // Moves one order off the light load, or swaps one for a lighter order of another load; false if neither fits
+    private static boolean shiftWeight(Load light, List<Load> loads) {
+        for (int i = 0; i < light.items.size(); i++) {
+            Item item = light.items.get(i);
+            for (Load other : loads) {
+                if (other == light) {
+                    continue;
+                }
+                double spare = other.spare();
+                if (item.weight() <= spare + EPSILON) {
+                    light.remove(i);
+                    other.add(item);
+                    return true;
+                }
+                for (int j = 0; j < other.items.size(); j++) {
+                    Item lighter = other.items.get(j);
+                    double gain = item.weight() - lighter.weight();
+                    if (gain > EPSILON && gain <= spare + EPSILON) {
+                        light.remove(i);
+                        other.remove(j);
+                        light.add(lighter);
+                        other.add(item);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void downsize(List<Load> loads) {
+        loads.sort(Comparator.comparingDouble((Load load) -> load.weight).reversed());
+        for (Load load : loads) {
+            Map.Entry<Double, Deque<Vehicle>> smaller = freeTrucks.ceilingEntry(load.weight - EPSILON);
+            if (smaller != null && smaller.getKey() < load.truck.capacity()) {
+                giveBack(load.truck);
+                load.truck = take(smaller);
+            }
+        }
+    }
+
+    private Vehicle take(Map.Entry<Double, Deque<Vehicle>> entry) {
+        if (entry == null) {
+            return null;
+        }
+        Vehicle truck = entry.getValue().poll();
+        if (entry.getValue().isEmpty()) {
+            freeTrucks.remove(entry.getKey());
+        }
+        return truck;
+    }
+
+    private void giveBack(Vehicle truck) {
+        freeTrucks.computeIfAbsent(truck.capacity(), c -> new ArrayDeque<>()).add(truck);
+    }
+
+    private static double totalWeight(List<Item> items) {
+        return items.stream().mapToDouble(Item::weight).sum();
+    }
+}
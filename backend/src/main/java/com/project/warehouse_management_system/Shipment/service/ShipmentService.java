@@ -1,10 +1,12 @@
 package com.project.warehouse_management_system.Shipment.service;
 
 import com.project.warehouse_management_system.BaseClasses.BaseService;
+import com.project.warehouse_management_system.Shipment.event.ShipmentsChangedEvent;
 import com.project.warehouse_management_system.Shipment.model.Shipment;
 import com.project.warehouse_management_system.Shipment.repo.ShipmentRepo;
 import org.jboss.resteasy.annotations.Query;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Service;
 
@@ -14,12 +16,41 @@ import java.util.List;
 public class ShipmentService extends BaseService<Shipment,Long> {
     @Autowired
     private ShipmentRepo shipmentRepo;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     protected void setEntityId(Shipment entity, Long id) {
         entity.setId(id);
     }
 
+    @Override
+    public Shipment create(Shipment entity) {
+        Shipment saved = super.create(entity);
+        eventPublisher.publishEvent(new ShipmentsChangedEvent(List.of(saved.getId())));
+        return saved;
+    }
+
+    @Override
+    public List<Shipment> createList(List<Shipment> entity) {
+        List<Shipment> saved = super.createList(entity);
+        eventPublisher.publishEvent(new ShipmentsChangedEvent(saved.stream().map(Shipment::getId).toList()));
+        return saved;
+    }
+
+    @Override
+    public Shipment update(Long id, Shipment entity) {
+        Shipment saved = super.update(id, entity);
+        eventPublisher.publishEvent(new ShipmentsChangedEvent(List.of(id)));
+        return saved;
+    }
+
+    @Override
+    public void delete(Long id) {
+        super.delete(id);
+        eventPublisher.publishEvent(new ShipmentsChangedEvent(List.of(id)));
+    }
+
     /**
      * Find all shipments associated with a specific employee/user
      * @param userId The ID of the employee/user
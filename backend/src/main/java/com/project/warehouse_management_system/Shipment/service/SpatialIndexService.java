@@ -0,0 +1,166 @@
+package com.project.warehouse_management_system.Shipment.service;
+
+import com.project.warehouse_management_system.BaseClasses.GeoCoordinates;
+import com.project.warehouse_management_system.Shipment.Dto.GpsFixDTO;
+import com.project.warehouse_management_system.Shipment.Dto.NearbyDTO;
+import com.project.warehouse_management_system.Shipment.event.TrucksMovedEvent;
+import com.project.warehouse_management_system.Shipment.repo.TruckRepo;
+import com.project.warehouse_management_system.WareHouse.event.TopologyRefreshedEvent;
+import com.project.warehouse_management_system.WareHouse.repo.GeoPointRow;
+import com.project.warehouse_management_system.WareHouse.repo.LocationRepo;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers nearest-k and within-radius queries over trucks and warehouse locations from two {@link GeoGrid}s.
+ * Truck positions follow the telemetry feed; trucks without telemetry and all locations are read from their numeric
+ * coordinate columns, again whenever a truck is written or the warehouse topology is refreshed.
+ */
+@Service
+public class SpatialIndexService {
+
+    public enum Kind {TRUCK, LOCATION}
+
+    // Rows written before the numeric columns existed, or with text that is not a coordinate
+    private static final String UNPARSED_TRUCKS =
+            "select id, latitude, longitude from truck where latitude_degrees is null or longitude_degrees is null";
+    private static final String UNPARSED_LOCATIONS =
+            "select id, latitude, longitude from locations where latitude_degrees is null or longitude_degrees is null";
+
+    @Autowired
+    private TruckRepo truckRepo;
+    @Autowired
+    private LocationRepo locationRepo;
+    @Autowired
+    private TelemetryService telemetryService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${geo.max-results:100}")
+    private int maxResults;
+
+    private final GeoGrid trucks;
+    private final GeoGrid locations;
+    private final Map<Long, String> truckNames = new ConcurrentHashMap<>();
+    private final Map<Long, String> locationNames = new ConcurrentHashMap<>();
+
+    public SpatialIndexService(@Value("${geo.cell-degrees:0.25}") double cellDegrees) {
+        this.trucks = new GeoGrid(cellDegrees);
+        this.locations = new GeoGrid(cellDegrees);
+    }
+
+    // Truck rows hold the last flushed fix, and the telemetry flush runs on shutdown
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        backfill(UNPARSED_TRUCKS, "truck");
+        backfill(UNPARSED_LOCATIONS, "locations");
+        reloadTrucks();
+        reloadLocations();
+    }
+
+    public synchronized void reloadTrucks() {
+        Map<Long, double[]> points = new HashMap<>();
+        Map<Long, String> names = new HashMap<>();
+        for (GeoPointRow row : truckRepo.findGeoPoints()) {
+            names.put(row.getId(), row.getName());
+            Optional<GpsFixDTO> latest = telemetryService.getLatest(row.getId());
+            if (latest.isPresent()) {
+                points.put(row.getId(), new double[]{latest.get().getLatitude(), latest.get().getLongitude()});
+            } else if (row.getLatitude() != null && row.getLongitude() != null) {
+                points.put(row.getId(), new double[]{row.getLatitude(), row.getLongitude()});
+            }
+        }
+        truckNames.keySet().retainAll(names.keySet());
+        truckNames.putAll(names);
+        trucks.replaceAll(points);
+    }
+
+    public synchronized void reloadLocations() {
+        Map<Long, double[]> points = new HashMap<>();
+        Map<Long, String> names = new HashMap<>();
+        for (GeoPointRow row : locationRepo.findGeoPoints()) {
+            names.put(row.getId(), row.getName());
+            if (row.getLatitude() != null && row.getLongitude() != null) {
+                points.put(row.getId(), new double[]{row.getLatitude(), row.getLongitude()});
+            }
+        }
+        locationNames.keySet().retainAll(names.keySet());
+        locationNames.putAll(names);
+        locations.replaceAll(points);
+    }
+
+    @EventListener
+    public synchronized void onTrucksMoved(TrucksMovedEvent event) {
+        for (GpsFixDTO position : event.positions()) {
+            trucks.put(position.getTruckId(), position.getLatitude(), position.getLongitude());
+        }
+    }
+
+    // Location writes refresh the topology
+    @EventListener
+    public void onTopologyRefreshed(TopologyRefreshedEvent event) {
+        reloadLocations();
+    }
+
+    public List<NearbyDTO> nearest(Kind kind, Double latitude, Double longitude, int k, Double maxKm) {
+        checkPoint(latitude, longitude);
+        if (k < 1 || k > maxResults) {
+            throw new ValidationException("k must be between 1 and " + maxResults + ".");
+        }
+        if (maxKm != null && maxKm < 0) {
+            throw new ValidationException("Maximum distance must not be negative.");
+        }
+        return toDTOs(kind, grid(kind).nearest(latitude, longitude, k, maxKm == null ? Double.POSITIVE_INFINITY : maxKm));
+    }
+
+    public List<NearbyDTO> within(Kind kind, Double latitude, Double longitude, Double radiusKm) {
+        checkPoint(latitude, longitude);
+        if (radiusKm == null || radiusKm < 0) {
+            throw new ValidationException("Radius must be specified and not be negative.");
+        }
+        List<GeoGrid.Hit> hits = grid(kind).within(latitude, longitude, radiusKm);
+        return toDTOs(kind, hits.size() > maxResults ? hits.subList(0, maxResults) : hits);
+    }
+
+    private GeoGrid grid(Kind kind) {
+        return kind == Kind.TRUCK ? trucks : locations;
+    }
+
+    private List<NearbyDTO> toDTOs(Kind kind, List<GeoGrid.Hit> hits) {
+        Map<Long, String> names = kind == Kind.TRUCK ? truckNames : locationNames;
+        List<NearbyDTO> nearby = new ArrayList<>(hits.size());
+        for (GeoGrid.Hit hit : hits) {
+            nearby.add(new NearbyDTO(hit.id(), names.get(hit.id()), hit.latitude(), hit.longitude(), hit.distanceKm()));
+        }
+        return nearby;
+    }
+
+    private void backfill(String query, String table) {
+        List<Object[]> parsed = new ArrayList<>();
+        jdbcTemplate.query(query, rs -> {
+            Double latitude = GeoCoordinates.parseLatitude(rs.getString(2));
+            Double longitude = GeoCoordinates.parseLongitude(rs.getString(3));
+            if (latitude != null && longitude != null) {
+                parsed.add(new Object[]{latitude, longitude, rs.getLong(1)});
+            }
+        });
+        if (!parsed.isEmpty()) {
+            jdbcTemplate.batchUpdate("update " + table + " set latitude_degrees = ?, longitude_degrees = ? where id = ?",
+                    parsed);
+        }
+    }
+
+    private static void checkPoint(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null || !(Math.abs(latitude) <= 90) || !(Math.abs(longitude) <= 180)) {
+            throw new ValidationException("Latitude must be within [-90, 90] and longitude within [-180, 180].");
+        }
+    }
+}
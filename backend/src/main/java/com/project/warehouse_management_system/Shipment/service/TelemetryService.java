@@ -0,0 +1,321 @@
+package com.project.warehouse_management_system.Shipment.service;
+
+import com.project.warehouse_management_system.Shipment.Dto.GpsFixDTO;
+import com.project.warehouse_management_system.Shipment.Dto.TelemetryReceiptDTO;
+import com.project.warehouse_management_system.Shipment.event.TrucksMovedEvent;
+import com.project.warehouse_management_system.Shipment.model.TruckPosition;
+import com.project.warehouse_management_system.Shipment.repo.TruckPositionRepo;
+import com.project.warehouse_management_system.Shipment.repo.TruckRepo;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Takes GPS fixes of trucks in batches without touching the database. Every truck keeps its recent fixes in a ring
+ * buffer and its latest fix in a field, so current positions are read from memory. A scheduled flush appends the
+ * fixes received since the previous flush to {@code truck_positions} with one JDBC batch and copies each truck's
+ * latest position onto the truck. When a flush fails the fixes stay pending for the next one; when a truck sends more
+ * fixes between two flushes than its buffer holds, the oldest unflushed ones are dropped.
+ */
+@Service
+public class TelemetryService {
+
+    private static final Logger log = LoggerFactory.getLogger(TelemetryService.class);
+
+    private static final String INSERT_POSITION = "insert into truck_positions (truck_id, latitude, longitude, " +
+            "speed_kmh, heading, recorded_at, received_at) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_TRUCK = "update truck set latitude = ?, longitude = ?, latitude_degrees = ?, " +
+            "longitude_degrees = ? where id = ?";
+    private static final String LATEST_POSITIONS = "select p.truck_id, p.latitude, p.longitude, p.speed_kmh, " +
+            "p.heading, p.recorded_at, p.received_at from truck_positions p join (select truck_id, max(recorded_at) " +
+            "recorded_at from truck_positions group by truck_id) l on l.truck_id = p.truck_id and l.recorded_at = p.recorded_at";
+
+    @Autowired
+    private TruckRepo truckRepo;
+    @Autowired
+    private TruckPositionRepo truckPositionRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Fixes kept per truck; also the most a truck can send between two flushes without losing any
+    @Value("${telemetry.buffer-size:512}")
+    private int bufferSize;
+
+    @Value("${telemetry.max-batch:5000}")
+    private int maxBatch;
+
+    // How far ahead of the server clock a fix may be recorded
+    @Value("${telemetry.max-clock-skew-ms:300000}")
+    private long maxClockSkewMillis;
+
+    @Value("${warehouse.jdbc.batch-size:1000}")
+    private int batchSize;
+
+    private final Map<Long, Track> tracks = new ConcurrentHashMap<>();
+    private final Set<Long> knownTrucks = ConcurrentHashMap.newKeySet();
+
+    record Fix(long truckId, double latitude, double longitude, Double speedKmh, Double heading,
+               LocalDateTime recordedAt, LocalDateTime receivedAt) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        knownTrucks.addAll(truckRepo.findAllIds());
+        jdbcTemplate.query(LATEST_POSITIONS, rs -> {
+            Fix fix = new Fix(rs.getLong(1), rs.getDouble(2), rs.getDouble(3), (Double) rs.getObject(4),
+                    (Double) rs.getObject(5), rs.getTimestamp(6).toLocalDateTime(), rs.getTimestamp(7).toLocalDateTime());
+            track(fix.truckId()).seed(fix);
+        });
+    }
+
+    /**
+     * Buffers a batch of fixes; invalid fixes are reported by index and do not affect the others. Trucks whose latest
+     * position changed are announced with one {@link TrucksMovedEvent}.
+     */
+    public TelemetryReceiptDTO ingest(List<GpsFixDTO> fixes) {
+        if (fixes == null || fixes.isEmpty()) {
+            throw new ValidationException("At least one fix must be sent.");
+        }
+        if (fixes.size() > maxBatch) {
+            throw new ValidationException("At most " + maxBatch + " fixes can be sent at once.");
+        }
+        LocalDateTime receivedAt = LocalDateTime.now();
+        LocalDateTime latestAllowed = receivedAt.plusNanos(maxClockSkewMillis * 1_000_000);
+        Map<Integer, String> errors = new TreeMap<>();
+        Map<Long, Boolean> checkedTrucks = new HashMap<>();
+        Map<Long, Fix> moved = new LinkedHashMap<>();
+        for (int i = 0; i < fixes.size(); i++) {
+            GpsFixDTO fix = fixes.get(i);
+            String error = validate(fix, latestAllowed, checkedTrucks);
+            if (error != null) {
+                errors.put(i, error);
+                continue;
+            }
+            Track track = track(fix.getTruckId());
+            if (track.append(new Fix(fix.getTruckId(), fix.getLatitude(), fix.getLongitude(), fix.getSpeedKmh(),
+                    fix.getHeading(), fix.getRecordedAt(), receivedAt))) {
+                moved.put(fix.getTruckId(), track.latest);
+            }
+        }
+        if (!moved.isEmpty()) {
+            eventPublisher.publishEvent(new TrucksMovedEvent(moved.values().stream().map(TelemetryService::toDTO).toList()));
+        }
+        return new TelemetryReceiptDTO(fixes.size() - errors.size(), errors.size(), errors);
+    }
+
+    public Optional<GpsFixDTO> getLatest(Long truckId) {
+        Track track = tracks.get(truckId);
+        return track == null || track.latest == null ? Optional.empty() : Optional.of(toDTO(track.latest));
+    }
+
+    public List<GpsFixDTO> getLatest() {
+        List<GpsFixDTO> latest = new ArrayList<>(tracks.size());
+        tracks.values().forEach(track -> {
+            Fix fix = track.latest;
+            if (fix != null) {
+                latest.add(toDTO(fix));
+            }
+        });
+        latest.sort(Comparator.comparing(GpsFixDTO::getTruckId));
+        return latest;
+    }
+
+    /**
+     * The fixes still in the truck's buffer, oldest first.
+     */
+    public List<GpsFixDTO> getRecent(Long truckId) {
+        Track track = tracks.get(truckId);
+        return track == null ? List.of() : track.recent().stream().map(TelemetryService::toDTO).toList();
+    }
+
+    /**
+     * Stored fixes of a truck; fixes reach the store with the next flush.
+     */
+    public List<GpsFixDTO> getHistory(Long truckId, LocalDateTime from, LocalDateTime to, int limit) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new ValidationException("A time range with from before to must be specified.");
+        }
+        if (limit < 1) {
+            throw new ValidationException("Limit must be at least 1.");
+        }
+        return truckPositionRepo.findByTruckIdAndRecordedAtBetweenOrderByRecordedAt(truckId, from, to, Limit.of(limit))
+                .stream()
+                .map(TelemetryService::toDTO)
+                .toList();
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${telemetry.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> positions = new ArrayList<>();
+        List<Object[]> trucks = new ArrayList<>();
+        Map<Track, Long> flushedUpTo = new HashMap<>();
+        long dropped = 0;
+        for (Track track : tracks.values()) {
+            Pending pending = track.pending();
+            dropped += pending.dropped();
+            if (pending.fixes().isEmpty()) {
+                continue;
+            }
+            for (Fix fix : pending.fixes()) {
+                positions.add(new Object[]{fix.truckId(), fix.latitude(), fix.longitude(), fix.speedKmh(), fix.heading(),
+                        Timestamp.valueOf(fix.recordedAt()), Timestamp.valueOf(fix.receivedAt())});
+            }
+            Fix latest = track.latest;
+            trucks.add(new Object[]{String.valueOf(latest.latitude()), String.valueOf(latest.longitude()), latest.latitude(),
+                    latest.longitude(), latest.truckId()});
+            flushedUpTo.put(track, pending.upTo());
+        }
+        if (dropped > 0) {
+            log.warn("{} GPS fixes were dropped because trucks sent more than {} fixes between two flushes",
+                    dropped, bufferSize);
+        }
+        if (positions.isEmpty()) {
+            return;
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                batchUpdate(INSERT_POSITION, positions);
+                batchUpdate(UPDATE_TRUCK, trucks);
+            });
+            flushedUpTo.forEach(Track::flushedUpTo);
+        } catch (DataAccessException e) {
+            log.warn("Flushing {} GPS fixes failed, retrying with the next flush", positions.size(), e);
+        }
+    }
+
+    private void batchUpdate(String sql, List<Object[]> args) {
+        for (int from = 0; from < args.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, args.subList(from, Math.min(from + batchSize, args.size())));
+        }
+    }
+
+    private String validate(GpsFixDTO fix, LocalDateTime latestAllowed, Map<Long, Boolean> checkedTrucks) {
+        if (fix == null || fix.getTruckId() == null) {
+            return "Truck must be specified.";
+        }
+        if (fix.getLatitude() == null || fix.getLongitude() == null
+                || !(Math.abs(fix.getLatitude()) <= 90) || !(Math.abs(fix.getLongitude()) <= 180)) {
+            return "Latitude must be within [-90, 90] and longitude within [-180, 180].";
+        }
+        if (fix.getRecordedAt() == null) {
+            return "Recording time must be specified.";
+        }
+        if (fix.getRecordedAt().isAfter(latestAllowed)) {
+            return "Recording time is in the future.";
+        }
+        if (!checkedTrucks.computeIfAbsent(fix.getTruckId(), this::isKnownTruck)) {
+            return "Truck not found with id: " + fix.getTruckId();
+        }
+        return null;
+    }
+
+    // Trucks created after startup are looked up once
+    private boolean isKnownTruck(Long truckId) {
+        if (knownTrucks.contains(truckId)) {
+            return true;
+        }
+        if (truckRepo.existsById(truckId)) {
+            knownTrucks.add(truckId);
+            return true;
+        }
+        return false;
+    }
+
+    private Track track(Long truckId) {
+        return tracks.computeIfAbsent(truckId, id -> new Track(bufferSize));
+    }
+
+    private static GpsFixDTO toDTO(Fix fix) {
+        return new GpsFixDTO(fix.truckId(), fix.latitude(), fix.longitude(), fix.speedKmh(), fix.heading(),
+                fix.recordedAt());
+    }
+
+    private static GpsFixDTO toDTO(TruckPosition position) {
+        return new GpsFixDTO(position.getTruckId(), position.getLatitude(), position.getLongitude(),
+                position.getSpeedKmh(), position.getHeading(), position.getRecordedAt());
+    }
+
+    private record Pending(List<Fix> fixes, long upTo, long dropped) {
+    }
+
+    /**
+     * Fixes of one truck in arrival order. {@code appended} and {@code flushed} count fixes since startup; the
+     * buffer holds the last {@code ring.length} of them.
+     */
+    private static final class Track {
+        private final Fix[] ring;
+        private long appended;
+        private long flushed;
+        // Latest by recording time; fixes arriving late go to the store but do not move the truck back
+        private volatile Fix latest;
+
+        Track(int size) {
+            this.ring = new Fix[size];
+        }
+
+        // True when the fix became the latest one
+        synchronized boolean append(Fix fix) {
+            ring[(int) (appended++ % ring.length)] = fix;
+            if (latest == null || !fix.recordedAt().isBefore(latest.recordedAt())) {
+                latest = fix;
+                return true;
+            }
+            return false;
+        }
+
+        // A fix that is already stored
+        synchronized void seed(Fix fix) {
+            append(fix);
+            flushed = appended;
+        }
+
+        synchronized List<Fix> recent() {
+            List<Fix> recent = new ArrayList<>(window(Math.max(appended - ring.length, 0)));
+            recent.sort(Comparator.comparing(Fix::recordedAt));
+            return recent;
+        }
+
+        synchronized Pending pending() {
+            long from = Math.max(flushed, appended - ring.length);
+            long dropped = from - flushed;
+            // Counted once: the dropped fixes are gone whether or not this flush succeeds
+            flushed = from;
+            return new Pending(window(from), appended, dropped);
+        }
+
+        synchronized void flushedUpTo(long upTo) {
+            flushed = Math.max(flushed, upTo);
+        }
+
+        private List<Fix> window(long from) {
+            List<Fix> fixes = new ArrayList<>((int) (appended - from));
+            for (long i = from; i < appended; i++) {
+                fixes.add(ring[(int) (i % ring.length)]);
+            }
+            return fixes;
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.project.warehouse_management_system.Shipment.service;
 
+import com.project.warehouse_management_system.BaseClasses.AfterCommit;
 import com.project.warehouse_management_system.BaseClasses.BaseService;
 import com.project.warehouse_management_system.Shipment.model.Truck;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class TruckService extends BaseService<Truck,Long> {
+    @Autowired
+    private SpatialIndexService spatialIndexService;
+
     @Override
     protected void setEntityId(Truck entity, Long id) {
         entity.setId(id);
     }
+
+    @Override
+    protected void afterWrite() {
+        AfterCommit.run(spatialIndexService::reloadTrucks);
+    }
 }
@@ -0,0 +1,17 @@
+package com.project.warehouse_management_system.WareHouse.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LayoutProvisionResultDTO {
+    private Long locationId;
+    private int areasCreated;
+    private int rowsCreated;
+    private int baysCreated;
+    private int positionsCreated;
+    private long elapsedMillis;
+}
@@ -0,0 +1,19 @@
+package com.project.warehouse_management_system.WareHouse.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LayoutRequestDTO {
+    private Long locationId;
+    private List<String> areas;     // e.g. ["A", "B"]
+    private int rows;               // rows per area
+    private int bays;               // bays per row
+    private int levels;             // levels per bay
+    private List<String> positions; // positions per level, e.g. ["A", "B", "C"]
+}
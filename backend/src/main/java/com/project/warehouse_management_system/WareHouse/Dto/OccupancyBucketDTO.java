@@ -0,0 +1,21 @@
+package com.project.warehouse_management_system.WareHouse.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OccupancyBucketDTO {
+    private String type; // area, row, bay, level
+    private Long id;
+    private String name;
+    private Long areaId;
+    private Integer level;
+    private int total;
+    private int occupied;
+    private double ratio;
+}
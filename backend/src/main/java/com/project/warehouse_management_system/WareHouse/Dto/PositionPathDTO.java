@@ -0,0 +1,22 @@
+package com.project.warehouse_management_system.WareHouse.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PositionPathDTO {
+    private Long positionId;
+    private String positionName;
+    private int level;
+    private Long bayId;
+    private String bayName;
+    private Long rowId;
+    private String rowName;
+    private Long areaId;
+    private String areaName;
+    private Long locationId;
+    private String locationName;
+}
@@ -0,0 +1,20 @@
+package com.project.warehouse_management_system.WareHouse.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class TopologyNodeDTO {
+    private String type; // location, area, row, bay, position
+    private Long id;
+    private String name;
+    private Integer level;
+    private List<TopologyNodeDTO> children;
+}
@@ -2,11 +2,28 @@ package com.project.warehouse_management_system.WareHouse.controller;
 
 import com.project.warehouse_management_system.BaseClasses.BaseController;
 import com.project.warehouse_management_system.WareHouse.model.Area;
+import com.project.warehouse_management_system.WareHouse.service.TopologyService;
+import com.project.warehouse_management_system.WareHouse.service.TopologySnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("areas")
 public class AreaController extends BaseController<Area,Long> {
+
+    @Autowired
+    private TopologyService topologyService;
+
+    @GetMapping("/{id}/rows")
+    public ResponseEntity<List<TopologySnapshot.RowNode>> getRows(@PathVariable Long id) {
+        return new ResponseEntity<>(topologyService.getSnapshot().rowsOf(id), HttpStatus.OK);
+    }
 }
@@ -2,10 +2,27 @@ package com.project.warehouse_management_system.WareHouse.controller;
 
 import com.project.warehouse_management_system.BaseClasses.BaseController;
 import com.project.warehouse_management_system.WareHouse.model.Bay;
+import com.project.warehouse_management_system.WareHouse.service.TopologyService;
+import com.project.warehouse_management_system.WareHouse.service.TopologySnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("bays")
 public class BayController extends BaseController<Bay,Long> {
+
+    @Autowired
+    private TopologyService topologyService;
+
+    @GetMapping("/{id}/positions")
+    public ResponseEntity<List<TopologySnapshot.PositionNode>> getPositions(@PathVariable Long id) {
+        return new ResponseEntity<>(topologyService.getSnapshot().positionsOf(id), HttpStatus.OK);
+    }
 }
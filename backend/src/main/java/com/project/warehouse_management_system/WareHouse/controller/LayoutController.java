@@ -0,0 +1,29 @@
+package com.project.warehouse_management_system.WareHouse.controller;
+
+import com.project.warehouse_management_system.WareHouse.Dto.LayoutProvisionResultDTO;
+import com.project.warehouse_management_system.WareHouse.Dto.LayoutRequestDTO;
+import com.project.warehouse_management_system.WareHouse.service.LayoutProvisioningService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("layouts")
+@SecurityRequirement(name = "Keycloak")
+public class LayoutController {
+
+    @Autowired
+    private LayoutProvisioningService layoutProvisioningService;
+
+    @PostMapping("/provision")
+    @Operation(summary = "Create all areas, rows, bays and positions of a layout in one call")
+    public ResponseEntity<LayoutProvisionResultDTO> provision(@RequestBody LayoutRequestDTO request) {
+        return new ResponseEntity<>(layoutProvisioningService.provision(request), HttpStatus.CREATED);
+    }
+}
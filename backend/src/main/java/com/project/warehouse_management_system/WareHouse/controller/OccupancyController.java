@@ -0,0 +1,38 @@
+package com.project.warehouse_management_system.WareHouse.controller;
+
+import com.project.warehouse_management_system.WareHouse.Dto.OccupancyBucketDTO;
+import com.project.warehouse_management_system.WareHouse.service.OccupancyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("occupancy")
+@SecurityRequirement(name = "Keycloak")
+public class OccupancyController {
+
+    @Autowired
+    private OccupancyService occupancyService;
+
+    @GetMapping("/heatmap")
+    @Operation(summary = "Get position occupancy per area, row, bay or area level")
+    public ResponseEntity<?> getHeatmap(@RequestParam(defaultValue = "area") String groupBy,
+                                        @RequestParam(required = false) Long areaId) {
+        OccupancyService.GroupBy grouping;
+        try {
+            grouping = OccupancyService.GroupBy.valueOf(groupBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>("groupBy must be one of area, row, bay, level", HttpStatus.BAD_REQUEST);
+        }
+        List<OccupancyBucketDTO> heatmap = occupancyService.getHeatmap(grouping, areaId);
+        return new ResponseEntity<>(heatmap, HttpStatus.OK);
+    }
+}
@@ -2,7 +2,7 @@ package com.project.warehouse_management_system.WareHouse.controller;
 
 import com.project.warehouse_management_system.BaseClasses.BaseController;
 import com.project.warehouse_management_system.WareHouse.model.Position;
-import com.project.warehouse_management_system.WareHouse.repo.PositionRepo;
+import com.project.warehouse_management_system.WareHouse.service.PositionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -15,10 +15,10 @@ import java.util.List;
 public class PositionController extends BaseController<Position,Long> {
 
     @Autowired
-    private PositionRepo positionRepo;
+    private PositionService positionService;
 
     @GetMapping("/empty")
     public List<Position> getEmptyPositions() {
-        return positionRepo.findByIsEmptyTrue();
+        return positionService.getEmpty();
     }
 }
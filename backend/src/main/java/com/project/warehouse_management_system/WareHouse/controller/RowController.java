@@ -2,11 +2,28 @@ package com.project.warehouse_management_system.WareHouse.controller;
 
 import com.project.warehouse_management_system.BaseClasses.BaseController;
 import com.project.warehouse_management_system.WareHouse.model.Row;
+import com.project.warehouse_management_system.WareHouse.service.TopologyService;
+import com.project.warehouse_management_system.WareHouse.service.TopologySnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("rows")
 public class RowController extends BaseController<Row,Long> {
+
+    @Autowired
+    private TopologyService topologyService;
+
+    @GetMapping("/{id}/bays")
+    public ResponseEntity<List<TopologySnapshot.BayNode>> getBays(@PathVariable Long id) {
+        return new ResponseEntity<>(topologyService.getSnapshot().baysOf(id), HttpStatus.OK);
+    }
 }
@@ -0,0 +1,60 @@
+package com.project.warehouse_management_system.WareHouse.controller;
+
+import com.project.warehouse_management_system.WareHouse.Dto.PositionPathDTO;
+import com.project.warehouse_management_system.WareHouse.Dto.TopologyNodeDTO;
+import com.project.warehouse_management_system.WareHouse.service.TopologyService;
+import com.project.warehouse_management_system.WareHouse.service.TopologySnapshot;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("topology")
+@SecurityRequirement(name = "Keycloak")
+public class TopologyController {
+
+    @Autowired
+    private TopologyService topologyService;
+
+    @GetMapping("/tree")
+    @Operation(summary = "Get the whole warehouse structure as one tree")
+    public ResponseEntity<List<TopologyNodeDTO>> getTree(WebRequest request) {
+        TopologySnapshot snapshot = topologyService.getSnapshot();
+        String etag = "\"" + snapshot.getVersion() + "\"";
+        // Clients that already hold this version get a 304 without a body
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(snapshot.getTree());
+    }
+
+    @GetMapping("/version")
+    @Operation(summary = "Get the current warehouse structure version")
+    public ResponseEntity<Map<String, Object>> getVersion() {
+        TopologySnapshot snapshot = topologyService.getSnapshot();
+        return ResponseEntity.ok(Map.of(
+                "version", snapshot.getVersion(),
+                "builtAt", snapshot.getBuiltAt()));
+    }
+
+    @GetMapping("/positions/{id}/path")
+    @Operation(summary = "Resolve the bay, row, area and location of a position")
+    public ResponseEntity<PositionPathDTO> getPositionPath(@PathVariable Long id) {
+        PositionPathDTO path = topologyService.getSnapshot().path(id);
+        if (path == null) {
+            throw new EntityNotFoundException("Position not found with id: " + id);
+        }
+        return new ResponseEntity<>(path, HttpStatus.OK);
+    }
+}
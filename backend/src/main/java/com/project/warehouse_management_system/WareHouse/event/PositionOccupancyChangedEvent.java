@@ -0,0 +1,8 @@
+package com.project.warehouse_management_system.WareHouse.event;
+
+/**
+ * Published when a pallet claims or releases a position. {@code palletId} is the pallet that was
+ * put into or taken out of the position.
+ */
+public record PositionOccupancyChangedEvent(Long positionId, Long palletId, boolean occupied) {
+}
@@ -0,0 +1,9 @@
+package com.project.warehouse_management_system.WareHouse.event;
+
+import com.project.warehouse_management_system.WareHouse.service.TopologySnapshot;
+
+/**
+ * Published after a new topology snapshot has been swapped in.
+ */
+public record TopologyRefreshedEvent(TopologySnapshot snapshot) {
+}
@@ -1,5 +1,6 @@
 package com.project.warehouse_management_system.WareHouse.model;
 
+import com.project.warehouse_management_system.BaseClasses.GeoCoordinates;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -28,6 +29,13 @@ public class Location {
     @Column(name = "latitude", nullable = false)
     private String latitude;
 
+    // Parsed from longitude and latitude on every write, for spatial queries
+    @Column(name = "longitude_degrees")
+    private Double longitudeDegrees;
+
+    @Column(name = "latitude_degrees")
+    private Double latitudeDegrees;
+
     @CreatedDate
     @Column(name = "created_at",nullable = false,updatable = false)
     private LocalDateTime createdAt;
@@ -35,4 +43,11 @@ public class Location {
     @LastModifiedDate
     @Column(name = "last_modified",insertable = false)
     private LocalDateTime lastModified;
+
+    @PrePersist
+    @PreUpdate
+    private void parseCoordinates() {
+        longitudeDegrees = GeoCoordinates.parseLongitude(longitude);
+        latitudeDegrees = GeoCoordinates.parseLatitude(latitude);
+    }
 }
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 @Getter
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "Position")
+@Table(name = "Position", uniqueConstraints = @UniqueConstraint(name = "uk_position_bin_code", columnNames = "bin_code"))
 public class Position {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,6 +31,10 @@ public class Position {
     @ManyToOne
     private Bay bay;
 
+    // e.g. A-01-01-1-A; derived from the Area/Row/Bay names and only written by BinCodeLinkService
+    @Column(name = "bin_code", length = 64, insertable = false, updatable = false)
+    private String binCode;
+
     @CreatedDate
     @Column(name = "created_at",nullable = false,updatable = false)
     private LocalDateTime createdAt;
@@ -2,8 +2,14 @@ package com.project.warehouse_management_system.WareHouse.repo;
 
 import com.project.warehouse_management_system.BaseClasses.BaseRepo;
 import com.project.warehouse_management_system.WareHouse.model.Area;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AreaRepo extends BaseRepo<Area,Long> {
+
+    @Query("select a.id as id, a.areaName as name, a.location.id as parentId from Area a order by a.id")
+    List<TopologyRow> findTopologyRows();
 }
@@ -2,8 +2,14 @@ package com.project.warehouse_management_system.WareHouse.repo;
 
 import com.project.warehouse_management_system.BaseClasses.BaseRepo;
 import com.project.warehouse_management_system.WareHouse.model.Bay;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface BayRepo extends BaseRepo<Bay,Long> {
+
+    @Query("select b.id as id, b.bayName as name, b.row_sy.id as parentId from Bay b order by b.id")
+    List<TopologyRow> findTopologyRows();
 }
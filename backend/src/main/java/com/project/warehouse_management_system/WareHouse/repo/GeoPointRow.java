@@ -0,0 +1,14 @@
+package com.project.warehouse_management_system.WareHouse.repo;
+
+/**
+ * A named place with numeric coordinates in degrees.
+ */
+public interface GeoPointRow {
+    Long getId();
+
+    String getName();
+
+    Double getLatitude();
+
+    Double getLongitude();
+}
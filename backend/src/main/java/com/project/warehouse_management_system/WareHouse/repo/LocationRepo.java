@@ -2,8 +2,18 @@ package com.project.warehouse_management_system.WareHouse.repo;
 
 import com.project.warehouse_management_system.BaseClasses.BaseRepo;
 import com.project.warehouse_management_system.WareHouse.model.Location;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface LocationRepo extends BaseRepo<Location,Long> {
+
+    @Query("select l.id as id, l.locationName as name from Location l order by l.id")
+    List<TopologyRow> findTopologyRows();
+
+    @Query("select l.id as id, l.locationName as name, l.latitudeDegrees as latitude, l.longitudeDegrees as longitude " +
+            "from Location l")
+    List<GeoPointRow> findGeoPoints();
 }
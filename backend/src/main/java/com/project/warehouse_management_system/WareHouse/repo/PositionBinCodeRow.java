@@ -0,0 +1,7 @@
+package com.project.warehouse_management_system.WareHouse.repo;
+
+public interface PositionBinCodeRow {
+    Long getId();
+
+    String getBinCode();
+}
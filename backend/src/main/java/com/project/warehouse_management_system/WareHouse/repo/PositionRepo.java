@@ -2,11 +2,40 @@ package com.project.warehouse_management_system.WareHouse.repo;
 
 import com.project.warehouse_management_system.BaseClasses.BaseRepo;
 import com.project.warehouse_management_system.WareHouse.model.Position;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PositionRepo extends BaseRepo<Position,Long> {
-    List<Position> findByIsEmptyTrue();
+
+    Optional<Position> findByBinCode(String binCode);
+
+    @Query("select p.id as id, p.binCode as binCode from Position p")
+    List<PositionBinCodeRow> findBinCodeRows();
+
+    @Query("select p.id as id, p.positionName as name, p.bay.id as parentId, p.level as level from Position p order by p.id")
+    List<TopologyRow> findTopologyRows();
+
+    @Query("select p.id from Position p where p.isEmpty = false")
+    List<Long> findOccupiedIds();
+
+    // Lower levels first, so put-away fills the slots that are easy to reach before the high ones.
+    // A pallet pointing at the position wins over a stale is_empty flag.
+    @Query("select p.id from Position p join p.bay b join b.row_sy r where p.isEmpty = true " +
+            "and not exists (select 1 from Pallet pl where pl.position = p) " +
+            "and (:areaId is null or r.area.id = :areaId) order by p.level, p.id")
+    List<Long> findPutAwayCandidates(@Param("areaId") Long areaId, Limit limit);
+
+    // Claims only positions that are still empty; a count below ids.size() means someone else was faster.
+    // Only the position rows are locked, so concurrent claims of other positions never wait on each other.
+    @Modifying
+    @Query("update Position p set p.isEmpty = false where p.id in :ids and p.isEmpty = true")
+    int claimEmpty(@Param("ids") Collection<Long> ids);
 }
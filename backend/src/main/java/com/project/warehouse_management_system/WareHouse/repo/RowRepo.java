@@ -2,8 +2,14 @@ package com.project.warehouse_management_system.WareHouse.repo;
 
 import com.project.warehouse_management_system.BaseClasses.BaseRepo;
 import com.project.warehouse_management_system.WareHouse.model.Row;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RowRepo extends BaseRepo<Row,Long> {
+
+    @Query("select r.id as id, r.rowName as name, r.area.id as parentId from Row r order by r.id")
+    List<TopologyRow> findTopologyRows();
 }
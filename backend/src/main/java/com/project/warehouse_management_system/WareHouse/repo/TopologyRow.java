@@ -0,0 +1,14 @@
+package com.project.warehouse_management_system.WareHouse.repo;
+
+/**
+ * Flat projection of one warehouse structure node, read without joining its parents.
+ */
+public interface TopologyRow {
+    Long getId();
+
+    String getName();
+
+    Long getParentId();
+
+    Integer getLevel();
+}
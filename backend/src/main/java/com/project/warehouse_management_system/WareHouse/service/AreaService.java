@@ -2,12 +2,42 @@ package com.project.warehouse_management_system.WareHouse.service;
 
 import com.project.warehouse_management_system.BaseClasses.BaseService;
 import com.project.warehouse_management_system.WareHouse.model.Area;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class AreaService extends BaseService<Area,Long> {
+    @Autowired
+    private TopologyService topologyService;
+
     @Override
     protected void setEntityId(Area entity, Long id) {
         entity.setId(id);
     }
+
+    /**
+     * Served from the topology snapshot instead of loading every area with its parent chain.
+     */
+    @Override
+    public List<Area> getAll() {
+        TopologySnapshot snapshot = topologyService.getSnapshot();
+        TopologyEntities entities = new TopologyEntities(snapshot);
+        return snapshot.areas().stream().map(node -> entities.area(node.id())).toList();
+    }
+
+    @Override
+    public Area getById(Long id) {
+        Area area = new TopologyEntities(topologyService.getSnapshot()).area(id);
+        if (area == null) {
+            throw new RuntimeException("Entity not found");
+        }
+        return area;
+    }
+
+    @Override
+    protected void afterWrite() {
+        topologyService.invalidate();
+    }
 }
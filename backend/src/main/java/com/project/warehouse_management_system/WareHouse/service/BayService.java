@@ -2,12 +2,42 @@ package com.project.warehouse_management_system.WareHouse.service;
 
 import com.project.warehouse_management_system.BaseClasses.BaseService;
 import com.project.warehouse_management_system.WareHouse.model.Bay;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class BayService extends BaseService<Bay,Long> {
+    @Autowired
+    private TopologyService topologyService;
+
     @Override
     protected void setEntityId(Bay entity, Long id) {
         entity.setId(id);
     }
+
+    /**
+     * Served from the topology snapshot instead of loading every bay with its parent chain.
+     */
+    @Override
+    public List<Bay> getAll() {
+        TopologySnapshot snapshot = topologyService.getSnapshot();
+        TopologyEntities entities = new TopologyEntities(snapshot);
+        return snapshot.bays().stream().map(node -> entities.bay(node.id())).toList();
+    }
+
+    @Override
+    public Bay getById(Long id) {
+        Bay bay = new TopologyEntities(topologyService.getSnapshot()).bay(id);
+        if (bay == null) {
+            throw new RuntimeException("Entity not found");
+        }
+        return bay;
+    }
+
+    @Override
+    protected void afterWrite() {
+        topologyService.invalidate();
+    }
 }
@@ -0,0 +1,159 @@
+package com.project.warehouse_management_system.WareHouse.service;
+
+import com.project.warehouse_management_system.BaseClasses.GeneratedKeyBatchInserter;
+import com.project.warehouse_management_system.WareHouse.Dto.LayoutProvisionResultDTO;
+import com.project.warehouse_management_system.WareHouse.Dto.LayoutRequestDTO;
+import com.project.warehouse_management_system.WareHouse.repo.LocationRepo;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates a whole Area/Row/Bay/Position hierarchy for a location in one transaction.
+ * Each level is written with batched inserts that return the generated ids, which the next level references.
+ */
+@Service
+public class LayoutProvisioningService {
+
+    private static final String INSERT_AREA =
+            "insert into area (`area-name`, location_id, created_at) values (?, ?, ?)";
+    private static final String INSERT_ROW =
+            "insert into the_row (`row-name`, area_id, created_at) values (?, ?, ?)";
+    private static final String INSERT_BAY =
+            "insert into bay (`bay-name`, row_sy_id, created_at) values (?, ?, ?)";
+    private static final String INSERT_POSITION =
+            "insert into position (`position-name`, level, is_empty, bay_id, created_at) values (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private GeneratedKeyBatchInserter batchInserter;
+    @Autowired
+    private LocationRepo locationRepo;
+    @Autowired
+    private TopologyService topologyService;
+
+    @Value("${warehouse.jdbc.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${warehouse.layout.max-positions:500000}")
+    private int maxPositions;
+
+    @Transactional
+    public LayoutProvisionResultDTO provision(LayoutRequestDTO request) {
+        long started = System.currentTimeMillis();
+        validate(request);
+
+        List<String> areas = request.getAreas();
+        int rows = request.getRows();
+        int bays = request.getBays();
+        int levels = request.getLevels();
+        List<String> positions = request.getPositions();
+
+        int areaCount = areas.size();
+        int rowCount = areaCount * rows;
+        int bayCount = rowCount * bays;
+        int positionCount = bayCount * levels * positions.size();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> areaArgs = new ArrayList<>(areaCount);
+        for (String area : areas) {
+            areaArgs.add(new Object[]{area, request.getLocationId(), now});
+        }
+        List<Long> areaIds = batchInserter.insertReturningIds(INSERT_AREA, areaArgs);
+
+        List<Object[]> rowArgs = new ArrayList<>(rowCount);
+        for (Long areaId : areaIds) {
+            for (int r = 0; r < rows; r++) {
+                rowArgs.add(new Object[]{String.format("%02d", r + 1), areaId, now});
+            }
+        }
+        List<Long> rowIds = batchInserter.insertReturningIds(INSERT_ROW, rowArgs);
+
+        List<Long> bayIds = new ArrayList<>(bayCount);
+        List<Object[]> bayArgs = new ArrayList<>(Math.min(bayCount, batchSize));
+        for (Long rowId : rowIds) {
+            for (int b = 0; b < bays; b++) {
+                bayArgs.add(new Object[]{String.format("%02d", b + 1), rowId, now});
+                if (bayArgs.size() == batchSize) {
+                    bayIds.addAll(batchInserter.insertReturningIds(INSERT_BAY, bayArgs));
+                    bayArgs.clear();
+                }
+            }
+        }
+        bayIds.addAll(batchInserter.insertReturningIds(INSERT_BAY, bayArgs));
+
+        // Positions are the bulk of a layout and nothing references them yet, so their arguments are built and
+        // flushed one batch at a time without reading keys back
+        List<Object[]> positionArgs = new ArrayList<>(Math.min(positionCount, batchSize));
+        for (Long bayId : bayIds) {
+            for (int level = 1; level <= levels; level++) {
+                for (String position : positions) {
+                    positionArgs.add(new Object[]{position, level, true, bayId, now});
+                    if (positionArgs.size() == batchSize) {
+                        insertInBatches(INSERT_POSITION, positionArgs);
+                        positionArgs.clear();
+                    }
+                }
+            }
+        }
+        insertInBatches(INSERT_POSITION, positionArgs);
+
+        topologyService.invalidate();
+
+        return new LayoutProvisionResultDTO(request.getLocationId(), areaCount, rowCount, bayCount, positionCount,
+                System.currentTimeMillis() - started);
+    }
+
+    private void insertInBatches(String sql, List<Object[]> args) {
+        for (int from = 0; from < args.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, args.subList(from, Math.min(from + batchSize, args.size())));
+        }
+    }
+
+    private void validate(LayoutRequestDTO request) {
+        if (request.getLocationId() == null) {
+            throw new ValidationException("Location must be specified.");
+        }
+        if (!locationRepo.existsById(request.getLocationId())) {
+            throw new EntityNotFoundException("Location not found with id: " + request.getLocationId());
+        }
+        if (request.getAreas() == null || request.getAreas().isEmpty()
+                || request.getPositions() == null || request.getPositions().isEmpty()) {
+            throw new ValidationException("At least one area and one position must be specified.");
+        }
+        if (request.getRows() < 1 || request.getBays() < 1 || request.getLevels() < 1) {
+            throw new ValidationException("Rows, bays and levels must be at least 1.");
+        }
+        if (Set.copyOf(request.getAreas()).size() != request.getAreas().size()
+                || Set.copyOf(request.getPositions()).size() != request.getPositions().size()) {
+            throw new ValidationException("Area and position names must be unique.");
+        }
+
+        long total = (long) request.getAreas().size() * request.getRows() * request.getBays()
+                * request.getLevels() * request.getPositions().size();
+        if (total > maxPositions) {
+            throw new ValidationException("Layout has " + total + " positions, the limit is " + maxPositions + ".");
+        }
+
+        Set<String> existing = topologyService.getSnapshot().areasOf(request.getLocationId()).stream()
+                .map(TopologySnapshot.AreaNode::name)
+                .collect(Collectors.toSet());
+        List<String> clashes = request.getAreas().stream().filter(existing::contains).toList();
+        if (!clashes.isEmpty()) {
+            throw new ValidationException("Areas already exist in this location: " + clashes);
+        }
+    }
+}
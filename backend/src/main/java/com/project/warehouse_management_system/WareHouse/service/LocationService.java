@@ -2,12 +2,21 @@ package com.project.warehouse_management_system.WareHouse.service;
 
 import com.project.warehouse_management_system.BaseClasses.BaseService;
 import com.project.warehouse_management_system.WareHouse.model.Location;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class LocationService extends BaseService<Location,Long> {
+    @Autowired
+    private TopologyService topologyService;
+
     @Override
     protected void setEntityId(Location entity, Long id) {
         entity.setId(id);
     }
+
+    @Override
+    protected void afterWrite() {
+        topologyService.invalidate();
+    }
 }
@@ -0,0 +1,162 @@
+package com.project.warehouse_management_system.WareHouse.service;
+
+import com.project.warehouse_management_system.WareHouse.Dto.OccupancyBucketDTO;
+import com.project.warehouse_management_system.WareHouse.event.PositionOccupancyChangedEvent;
+import com.project.warehouse_management_system.WareHouse.event.TopologyRefreshedEvent;
+import com.project.warehouse_management_system.WareHouse.repo.PositionRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps occupancy counters per area, row, bay and area level.
+ * Counters are rebuilt from the database when the topology changes and adjusted in place on every
+ * position claim or release, so heatmap reads only walk the buckets, never the positions.
+ */
+@Service
+public class OccupancyService {
+
+    public enum GroupBy { AREA, ROW, BAY, LEVEL }
+
+    @Autowired
+    private PositionRepo positionRepo;
+
+    private volatile State state = new State(TopologySnapshot.empty(), Set.of());
+
+    @EventListener
+    public void onTopologyRefreshed(TopologyRefreshedEvent event) {
+        rebuild(event.snapshot());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOccupancyChanged(PositionOccupancyChangedEvent event) {
+        if (event.occupied()) {
+            claim(event.positionId());
+        } else {
+            release(event.positionId());
+        }
+    }
+
+    public synchronized void rebuild(TopologySnapshot snapshot) {
+        state = new State(snapshot, new HashSet<>(positionRepo.findOccupiedIds()));
+    }
+
+    public synchronized void claim(Long positionId) {
+        Slot slot = state.slots.get(positionId);
+        if (slot != null && slot.occupied.compareAndSet(false, true)) {
+            slot.counters.forEach(c -> c.occupied.incrementAndGet());
+        }
+    }
+
+    public synchronized void release(Long positionId) {
+        Slot slot = state.slots.get(positionId);
+        if (slot != null && slot.occupied.compareAndSet(true, false)) {
+            slot.counters.forEach(c -> c.occupied.decrementAndGet());
+        }
+    }
+
+    public boolean isOccupied(long positionId) {
+        Slot slot = state.slots.get(positionId);
+        return slot != null && slot.occupied.get();
+    }
+
+    /**
+     * Returns one bucket per area, row, bay or area level, optionally limited to one area.
+     */
+    public List<OccupancyBucketDTO> getHeatmap(GroupBy groupBy, Long areaId) {
+        Map<Object, Counter> buckets = switch (groupBy) {
+            case AREA -> state.byArea;
+            case ROW -> state.byRow;
+            case BAY -> state.byBay;
+            case LEVEL -> state.byAreaLevel;
+        };
+        List<OccupancyBucketDTO> result = new ArrayList<>(buckets.size());
+        for (Counter counter : buckets.values()) {
+            if (areaId == null || areaId.equals(counter.areaId)) {
+                result.add(counter.toDTO());
+            }
+        }
+        return result;
+    }
+
+    private record AreaLevel(Long areaId, int level) {}
+
+    private static final class Counter {
+        final String type;
+        final Long id;
+        final String name;
+        final Long areaId;
+        final Integer level;
+        final AtomicInteger total = new AtomicInteger();
+        final AtomicInteger occupied = new AtomicInteger();
+
+        Counter(String type, Long id, String name, Long areaId, Integer level) {
+            this.type = type;
+            this.id = id;
+            this.name = name;
+            this.areaId = areaId;
+            this.level = level;
+        }
+
+        OccupancyBucketDTO toDTO() {
+            int t = total.get();
+            int o = occupied.get();
+            return new OccupancyBucketDTO(type, id, name, areaId, level, t, o, t == 0 ? 0 : (double) o / t);
+        }
+    }
+
+    private static final class Slot {
+        final List<Counter> counters;
+        final AtomicBoolean occupied = new AtomicBoolean();
+
+        Slot(List<Counter> counters) {
+            this.counters = counters;
+        }
+    }
+
+    private static final class State {
+        final Map<Long, Slot> slots = new HashMap<>();
+        final Map<Object, Counter> byArea = new LinkedHashMap<>();
+        final Map<Object, Counter> byRow = new LinkedHashMap<>();
+        final Map<Object, Counter> byBay = new LinkedHashMap<>();
+        final Map<Object, Counter> byAreaLevel = new TreeMap<>(
+                Comparator.comparing((Object k) -> ((AreaLevel) k).areaId(), Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparingInt(k -> ((AreaLevel) k).level()));
+
+        State(TopologySnapshot snapshot, Set<Long> occupiedIds) {
+            for (TopologySnapshot.PositionNode position : snapshot.positions()) {
+                TopologySnapshot.BayNode bay = snapshot.bay(position.bayId());
+                TopologySnapshot.RowNode row = bay == null ? null : snapshot.row(bay.rowId());
+                TopologySnapshot.AreaNode area = row == null ? null : snapshot.area(row.areaId());
+                Long areaId = area == null ? null : area.id();
+
+                // Positions outside a complete Area/Row/Bay chain are still counted at the levels they do have
+                List<Counter> counters = new ArrayList<>(4);
+                if (area != null) {
+                    counters.add(byArea.computeIfAbsent(area.id(), k -> new Counter("area", area.id(), area.name(), areaId, null)));
+                }
+                if (row != null) {
+                    counters.add(byRow.computeIfAbsent(row.id(), k -> new Counter("row", row.id(), row.name(), areaId, null)));
+                }
+                if (bay != null) {
+                    counters.add(byBay.computeIfAbsent(bay.id(), k -> new Counter("bay", bay.id(), bay.name(), areaId, null)));
+                }
+                counters.add(byAreaLevel.computeIfAbsent(new AreaLevel(areaId, position.level()),
+                        k -> new Counter("level", areaId, area == null ? null : area.name(), areaId, position.level())));
+
+                Slot slot = new Slot(List.copyOf(counters));
+                counters.forEach(c -> c.total.incrementAndGet());
+                if (occupiedIds.contains(position.id())) {
+                    slot.occupied.set(true);
+                    counters.forEach(c -> c.occupied.incrementAndGet());
+                }
+                slots.put(position.id(), slot);
+            }
+        }
+    }
+}
@@ -2,12 +2,58 @@ package com.project.warehouse_management_system.WareHouse.service;
 
 import com.project.warehouse_management_system.BaseClasses.BaseService;
 import com.project.warehouse_management_system.WareHouse.model.Position;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class PositionService extends BaseService<Position,Long> {
+    @Autowired
+    private TopologyService topologyService;
+    @Autowired
+    private OccupancyService occupancyService;
+
     @Override
     protected void setEntityId(Position entity, Long id) {
         entity.setId(id);
     }
+
+    /**
+     * Served from the topology snapshot instead of loading every position with its parent chain.
+     */
+    @Override
+    public List<Position> getAll() {
+        TopologySnapshot snapshot = topologyService.getSnapshot();
+        TopologyEntities entities = new TopologyEntities(snapshot);
+        return snapshot.positions().stream()
+                .map(node -> entities.position(node.id(), occupancyService::isOccupied))
+                .toList();
+    }
+
+    @Override
+    public Position getById(Long id) {
+        Position position = new TopologyEntities(topologyService.getSnapshot()).position(id, occupancyService::isOccupied);
+        if (position == null) {
+            throw new RuntimeException("Entity not found");
+        }
+        return position;
+    }
+
+    /**
+     * Empty positions by the occupancy counters, which every claim and release keeps current.
+     */
+    public List<Position> getEmpty() {
+        TopologySnapshot snapshot = topologyService.getSnapshot();
+        TopologyEntities entities = new TopologyEntities(snapshot);
+        return snapshot.positions().stream()
+                .filter(node -> !occupancyService.isOccupied(node.id()))
+                .map(node -> entities.position(node.id(), occupancyService::isOccupied))
+                .toList();
+    }
+
+    @Override
+    protected void afterWrite() {
+        topologyService.invalidate();
+    }
 }
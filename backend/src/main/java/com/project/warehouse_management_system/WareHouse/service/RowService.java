@@ -2,12 +2,42 @@ package com.project.warehouse_management_system.WareHouse.service;
 
 import com.project.warehouse_management_system.BaseClasses.BaseService;
 import com.project.warehouse_management_system.WareHouse.model.Row;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class RowService extends BaseService<Row,Long> {
+    @Autowired
+    private TopologyService topologyService;
+
     @Override
     protected void setEntityId(Row entity, Long id) {
         entity.setId(id);
     }
+
+    /**
+     * Served from the topology snapshot instead of loading every row with its parent chain.
+     */
+    @Override
+    public List<Row> getAll() {
+        TopologySnapshot snapshot = topologyService.getSnapshot();
+        TopologyEntities entities = new TopologyEntities(snapshot);
+        return snapshot.rows().stream().map(node -> entities.row(node.id())).toList();
+    }
+
+    @Override
+    public Row getById(Long id) {
+        Row row = new TopologyEntities(topologyService.getSnapshot()).row(id);
+        if (row == null) {
+            throw new RuntimeException("Entity not found");
+        }
+        return row;
+    }
+
+    @Override
+    protected void afterWrite() {
+        topologyService.invalidate();
+    }
 }
@@ -0,0 +1,102 @@
+package com.project.warehouse_management_system.WareHouse.service;
+
+import com.project.warehouse_management_system.BinLocation.Service.BinCodeLinkService;
+import com.project.warehouse_management_system.WareHouse.model.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Builds detached Area/Row/Bay/Position objects from a {@link TopologySnapshot}, so the generic list and lookup
+ * endpoints keep their JSON shape without querying the database. Parents are shared between the children of one
+ * call. Only what the snapshot holds is filled in; audit timestamps and location coordinates stay empty.
+ */
+final class TopologyEntities {
+
+    private final TopologySnapshot snapshot;
+    private final Map<Long, Location> locations = new HashMap<>();
+    private final Map<Long, Area> areas = new HashMap<>();
+    private final Map<Long, Row> rows = new HashMap<>();
+    private final Map<Long, Bay> bays = new HashMap<>();
+
+    TopologyEntities(TopologySnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    Location location(Long id) {
+        TopologySnapshot.LocationNode node = id == null ? null : snapshot.location(id);
+        if (node == null) {
+            return null;
+        }
+        return locations.computeIfAbsent(id, k -> {
+            Location location = new Location();
+            location.setId(node.id());
+            location.setLocationName(node.name());
+            return location;
+        });
+    }
+
+    Area area(Long id) {
+        TopologySnapshot.AreaNode node = id == null ? null : snapshot.area(id);
+        if (node == null) {
+            return null;
+        }
+        Area area = areas.get(id);
+        if (area == null) {
+            area = new Area();
+            area.setId(node.id());
+            area.setAreaName(node.name());
+            area.setLocation(location(node.locationId()));
+            areas.put(id, area);
+        }
+        return area;
+    }
+
+    Row row(Long id) {
+        TopologySnapshot.RowNode node = id == null ? null : snapshot.row(id);
+        if (node == null) {
+            return null;
+        }
+        Row row = rows.get(id);
+        if (row == null) {
+            row = new Row();
+            row.setId(node.id());
+            row.setRowName(node.name());
+            row.setArea(area(node.areaId()));
+            rows.put(id, row);
+        }
+        return row;
+    }
+
+    Bay bay(Long id) {
+        TopologySnapshot.BayNode node = id == null ? null : snapshot.bay(id);
+        if (node == null) {
+            return null;
+        }
+        Bay bay = bays.get(id);
+        if (bay == null) {
+            bay = new Bay();
+            bay.setId(node.id());
+            bay.setBayName(node.name());
+            bay.setRow_sy(row(node.rowId()));
+            bays.put(id, bay);
+        }
+        return bay;
+    }
+
+    Position position(Long id, LongPredicate occupied) {
+        TopologySnapshot.PositionNode node = id == null ? null : snapshot.position(id);
+        if (node == null) {
+            return null;
+        }
+        Position position = new Position();
+        position.setId(node.id());
+        position.setPositionName(node.name());
+        position.setLevel(node.level());
+        position.setIsEmpty(!occupied.test(node.id()));
+        position.setBay(bay(node.bayId()));
+        position.setBinCode(BinCodeLinkService.binCode(snapshot.path(node.id())));
+        return position;
+    }
+}
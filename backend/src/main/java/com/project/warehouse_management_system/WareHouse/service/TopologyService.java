@@ -0,0 +1,79 @@
+package com.project.warehouse_management_system.WareHouse.service;
+
+import com.project.warehouse_management_system.BaseClasses.AfterCommit;
+import com.project.warehouse_management_system.WareHouse.event.TopologyRefreshedEvent;
+import com.project.warehouse_management_system.WareHouse.repo.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link TopologySnapshot}. Reads never touch the database; every structural
+ * write rebuilds the snapshot with one query per level and swaps it in atomically.
+ */
+@Service
+public class TopologyService {
+
+    @Autowired
+    private LocationRepo locationRepo;
+    @Autowired
+    private AreaRepo areaRepo;
+    @Autowired
+    private RowRepo rowRepo;
+    @Autowired
+    private BayRepo bayRepo;
+    @Autowired
+    private PositionRepo positionRepo;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<TopologySnapshot> current = new AtomicReference<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    public TopologySnapshot getSnapshot() {
+        TopologySnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    /**
+     * Schedules a rebuild once the caller's transaction commits, so readers never see uncommitted structure.
+     */
+    public void invalidate() {
+        AfterCommit.run(this::refresh);
+    }
+
+    public synchronized TopologySnapshot refresh() {
+        TopologySnapshot previous = current.get();
+        long version = previous == null ? 1 : previous.getVersion() + 1;
+
+        // Runs in its own read-only transaction so all levels come from one consistent view,
+        // even when called from an after-commit callback of another transaction.
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        TopologySnapshot snapshot = template.execute(status -> TopologySnapshot.of(version,
+                locationRepo.findTopologyRows(),
+                areaRepo.findTopologyRows(),
+                rowRepo.findTopologyRows(),
+                bayRepo.findTopologyRows(),
+                positionRepo.findTopologyRows()));
+
+        current.set(snapshot);
+        eventPublisher.publishEvent(new TopologyRefreshedEvent(snapshot));
+        return snapshot;
+    }
+}
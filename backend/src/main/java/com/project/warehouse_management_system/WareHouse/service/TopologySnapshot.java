@@ -0,0 +1,260 @@
+package com.project.warehouse_management_system.WareHouse.service;
+
+import com.project.warehouse_management_system.WareHouse.Dto.PositionPathDTO;
+import com.project.warehouse_management_system.WareHouse.Dto.TopologyNodeDTO;
+import com.project.warehouse_management_system.WareHouse.repo.TopologyRow;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Immutable, versioned view of the warehouse structure (Location -> Area -> Row -> Bay -> Position).
+ * A snapshot is never modified after it is built; writes produce a new snapshot with a higher version.
+ */
+public final class TopologySnapshot {
+
+    public record LocationNode(long id, String name) {}
+
+    public record AreaNode(long id, String name, Long locationId) {}
+
+    public record RowNode(long id, String name, Long areaId) {}
+
+    public record BayNode(long id, String name, Long rowId) {}
+
+    public record PositionNode(long id, String name, int level, Long bayId) {}
+
+    private final long version;
+    private final LocalDateTime builtAt;
+
+    private final Map<Long, LocationNode> locations;
+    private final Map<Long, AreaNode> areas;
+    private final Map<Long, RowNode> rows;
+    private final Map<Long, BayNode> bays;
+    private final Map<Long, PositionNode> positions;
+
+    private final Map<Long, List<AreaNode>> areasByLocation;
+    private final Map<Long, List<RowNode>> rowsByArea;
+    private final Map<Long, List<BayNode>> baysByRow;
+    private final Map<Long, List<PositionNode>> positionsByBay;
+
+    private final List<TopologyNodeDTO> tree;
+
+    private TopologySnapshot(long version,
+                             List<LocationNode> locationNodes,
+                             List<AreaNode> areaNodes,
+                             List<RowNode> rowNodes,
+                             List<BayNode> bayNodes,
+                             List<PositionNode> positionNodes) {
+        this.version = version;
+        this.builtAt = LocalDateTime.now();
+
+        this.locations = index(locationNodes, LocationNode::id);
+        this.areas = index(areaNodes, AreaNode::id);
+        this.rows = index(rowNodes, RowNode::id);
+        this.bays = index(bayNodes, BayNode::id);
+        this.positions = index(positionNodes, PositionNode::id);
+
+        this.areasByLocation = group(areaNodes, AreaNode::locationId);
+        this.rowsByArea = group(rowNodes, RowNode::areaId);
+        this.baysByRow = group(bayNodes, BayNode::rowId);
+        this.positionsByBay = group(positionNodes, PositionNode::bayId);
+
+        this.tree = buildTree();
+    }
+
+    public static TopologySnapshot empty() {
+        return new TopologySnapshot(0, List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+
+    public static TopologySnapshot of(long version,
+                                      List<TopologyRow> locationRows,
+                                      List<TopologyRow> areaRows,
+                                      List<TopologyRow> rowRows,
+                                      List<TopologyRow> bayRows,
+                                      List<TopologyRow> positionRows) {
+        return new TopologySnapshot(version,
+                locationRows.stream().map(r -> new LocationNode(r.getId(), r.getName())).toList(),
+                areaRows.stream().map(r -> new AreaNode(r.getId(), r.getName(), r.getParentId())).toList(),
+                rowRows.stream().map(r -> new RowNode(r.getId(), r.getName(), r.getParentId())).toList(),
+                bayRows.stream().map(r -> new BayNode(r.getId(), r.getName(), r.getParentId())).toList(),
+                positionRows.stream()
+                        .map(r -> new PositionNode(r.getId(), r.getName(), r.getLevel() == null ? 0 : r.getLevel(), r.getParentId()))
+                        .toList());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public List<TopologyNodeDTO> getTree() {
+        return tree;
+    }
+
+    public LocationNode location(Long id) {
+        return locations.get(id);
+    }
+
+    public AreaNode area(Long id) {
+        return areas.get(id);
+    }
+
+    public RowNode row(Long id) {
+        return rows.get(id);
+    }
+
+    public BayNode bay(Long id) {
+        return bays.get(id);
+    }
+
+    public PositionNode position(Long id) {
+        return positions.get(id);
+    }
+
+    public Collection<LocationNode> locations() {
+        return locations.values();
+    }
+
+    public Collection<AreaNode> areas() {
+        return areas.values();
+    }
+
+    public Collection<RowNode> rows() {
+        return rows.values();
+    }
+
+    public Collection<BayNode> bays() {
+        return bays.values();
+    }
+
+    public Collection<PositionNode> positions() {
+        return positions.values();
+    }
+
+    public List<AreaNode> areasOf(Long locationId) {
+        return areasByLocation.getOrDefault(locationId, List.of());
+    }
+
+    public List<RowNode> rowsOf(Long areaId) {
+        return rowsByArea.getOrDefault(areaId, List.of());
+    }
+
+    public List<BayNode> baysOf(Long rowId) {
+        return baysByRow.getOrDefault(rowId, List.of());
+    }
+
+    public List<PositionNode> positionsOf(Long bayId) {
+        return positionsByBay.getOrDefault(bayId, List.of());
+    }
+
+    /**
+     * Resolves the full parent chain of a position, or null if the position is unknown.
+     * Missing parents (dangling or null foreign keys) are left empty in the result.
+     */
+    public PositionPathDTO path(Long positionId) {
+        PositionNode position = positions.get(positionId);
+        if (position == null) {
+            return null;
+        }
+        PositionPathDTO path = new PositionPathDTO();
+        path.setPositionId(position.id());
+        path.setPositionName(position.name());
+        path.setLevel(position.level());
+
+        BayNode bay = bays.get(position.bayId());
+        if (bay == null) {
+            return path;
+        }
+        path.setBayId(bay.id());
+        path.setBayName(bay.name());
+
+        RowNode row = rows.get(bay.rowId());
+        if (row == null) {
+            return path;
+        }
+        path.setRowId(row.id());
+        path.setRowName(row.name());
+
+        AreaNode area = areas.get(row.areaId());
+        if (area == null) {
+            return path;
+        }
+        path.setAreaId(area.id());
+        path.setAreaName(area.name());
+
+        LocationNode location = locations.get(area.locationId());
+        if (location != null) {
+            path.setLocationId(location.id());
+            path.setLocationName(location.name());
+        }
+        return path;
+    }
+
+    private List<TopologyNodeDTO> buildTree() {
+        List<TopologyNodeDTO> roots = new ArrayList<>();
+        for (LocationNode location : locations.values()) {
+            roots.add(node("location", location.id(), location.name(), null, areaChildren(areasOf(location.id()))));
+        }
+        // Nodes whose parent is missing are still part of the warehouse, so they hang off the root
+        roots.addAll(areaChildren(orphans(areas.values(), AreaNode::locationId, locations)));
+        roots.addAll(rowChildren(orphans(rows.values(), RowNode::areaId, areas)));
+        roots.addAll(bayChildren(orphans(bays.values(), BayNode::rowId, rows)));
+        roots.addAll(positionChildren(orphans(positions.values(), PositionNode::bayId, bays)));
+        return List.copyOf(roots);
+    }
+
+    private List<TopologyNodeDTO> areaChildren(List<AreaNode> nodes) {
+        return nodes.stream()
+                .map(a -> node("area", a.id(), a.name(), null, rowChildren(rowsOf(a.id()))))
+                .toList();
+    }
+
+    private List<TopologyNodeDTO> rowChildren(List<RowNode> nodes) {
+        return nodes.stream()
+                .map(r -> node("row", r.id(), r.name(), null, bayChildren(baysOf(r.id()))))
+                .toList();
+    }
+
+    private List<TopologyNodeDTO> bayChildren(List<BayNode> nodes) {
+        return nodes.stream()
+                .map(b -> node("bay", b.id(), b.name(), null, positionChildren(positionsOf(b.id()))))
+                .toList();
+    }
+
+    private List<TopologyNodeDTO> positionChildren(List<PositionNode> nodes) {
+        return nodes.stream()
+                .map(p -> node("position", p.id(), p.name(), p.level(), null))
+                .toList();
+    }
+
+    private static TopologyNodeDTO node(String type, long id, String name, Integer level, List<TopologyNodeDTO> children) {
+        return new TopologyNodeDTO(type, id, name, level, children);
+    }
+
+    private static <T> List<T> orphans(Collection<T> nodes, Function<T, Long> parent, Map<Long, ?> parents) {
+        return nodes.stream()
+                .filter(n -> parent.apply(n) == null || !parents.containsKey(parent.apply(n)))
+                .toList();
+    }
+
+    private static <T> Map<Long, T> index(List<T> nodes, Function<T, Long> id) {
+        Map<Long, T> map = new LinkedHashMap<>();
+        for (T node : nodes) {
+            map.put(id.apply(node), node);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static <T> Map<Long, List<T>> group(List<T> nodes, Function<T, Long> parent) {
+        Map<Long, List<T>> map = new HashMap<>();
+        for (T node : nodes) {
+            map.computeIfAbsent(parent.apply(node), k -> new ArrayList<>()).add(node);
+        }
+        map.replaceAll((k, v) -> List.copyOf(v));
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -7,10 +7,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan
 @EnableJpaAuditing
+@EnableScheduling
 @SecurityScheme(
 		name = "Keycloak",
 		openIdConnectUrl = "http://localhost:8081/realms/warehouse-dev/.well-known/openid-configuration",
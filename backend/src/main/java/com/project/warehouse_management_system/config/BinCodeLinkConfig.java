@@ -0,0 +1,24 @@
+package com.project.warehouse_management_system.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class BinCodeLinkConfig {
+
+    /**
+     * Links bin codes after topology refreshes, one snapshot at a time. Refreshes arriving meanwhile are coalesced
+     * into a single pending run, so the queue never holds more than one task.
+     */
+    @Bean(name = "binCodeLinkExecutor")
+    public ThreadPoolTaskExecutor binCodeLinkExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(2);
+        executor.setThreadNamePrefix("bin-code-link-");
+        executor.initialize();
+        return executor;
+    }
+}
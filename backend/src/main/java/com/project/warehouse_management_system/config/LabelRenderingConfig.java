@@ -0,0 +1,48 @@
+package com.project.warehouse_management_system.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class LabelRenderingConfig {
+
+    /**
+     * Workers for parallel label rendering. When the queue is full the submitting thread renders the chunk itself,
+     * which throttles producers instead of failing them.
+     */
+    @Bean(name = "labelRenderExecutor")
+    public ThreadPoolTaskExecutor labelRenderExecutor(
+            @Value("${labels.render.threads:0}") int threads,
+            @Value("${labels.render.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("label-render-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs whole label print jobs. Pool and queue are bounded so PDF work never competes with request threads;
+     * submissions beyond the queue are rejected.
+     */
+    @Bean(name = "labelJobExecutor")
+    public ThreadPoolTaskExecutor labelJobExecutor(
+            @Value("${labels.jobs.concurrency:2}") int concurrency,
+            @Value("${labels.jobs.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("label-job-");
+        executor.initialize();
+        return executor;
+    }
+}
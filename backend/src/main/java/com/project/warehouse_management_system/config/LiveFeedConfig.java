@@ -0,0 +1,27 @@
+package com.project.warehouse_management_system.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class LiveFeedConfig {
+
+    /**
+     * Writes buffered live-feed events to their clients, so publishers never wait on a client's connection. At most
+     * one task per client is queued at a time.
+     */
+    @Bean(name = "liveFeedExecutor")
+    public ThreadPoolTaskExecutor liveFeedExecutor(
+            @Value("${live.concurrency:4}") int concurrency,
+            @Value("${live.max-subscribers:200}") int maxSubscribers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(maxSubscribers);
+        executor.setThreadNamePrefix("live-feed-");
+        executor.initialize();
+        return executor;
+    }
+}
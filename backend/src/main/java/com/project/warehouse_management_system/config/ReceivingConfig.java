@@ -0,0 +1,27 @@
+package com.project.warehouse_management_system.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ReceivingConfig {
+
+    /**
+     * Processes dock events. Events of different purchase orders run side by side; submissions beyond the queue
+     * are rejected so a burst of trucks cannot pile up unbounded work.
+     */
+    @Bean(name = "receivingExecutor")
+    public ThreadPoolTaskExecutor receivingExecutor(
+            @Value("${receiving.concurrency:4}") int concurrency,
+            @Value("${receiving.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("receiving-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,103 @@
+package com.project.warehouse_management_system.BinLocation.Service;
+
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinCodeSpaceTest {
+
+    @Test
+    public void testPackRoundTripsEveryField() {
+        int[][] bins = {{0, 1, 1, 1, 0}, {3, 12, 7, 4, 2}, {65535, 65535, 65535, 255, 255}};
+        for (int[] bin : bins) {
+            long packed = BinCodeSpace.pack(bin[0], bin[1], bin[2], bin[3], bin[4]);
+            assertEquals(bin[0], BinCodeSpace.areaIndex(packed));
+            assertEquals(bin[1], BinCodeSpace.row(packed));
+            assertEquals(bin[2], BinCodeSpace.bay(packed));
+            assertEquals(bin[3], BinCodeSpace.level(packed));
+            assertEquals(bin[4], BinCodeSpace.positionIndex(packed));
+        }
+    }
+
+    @Test
+    public void testCodesMatchTheNestedLoopOrder() {
+        List<String> areas = List.of("A", "B");
+        List<String> positions = List.of("L", "R");
+        BinCodeSpace space = new BinCodeSpace(areas, 11, 3, 2, positions);
+
+        List<String> expected = new ArrayList<>();
+        for (String area : areas) {
+            for (int row = 1; row <= 11; row++) {
+                for (int bay = 1; bay <= 3; bay++) {
+                    for (int level = 1; level <= 2; level++) {
+                        for (String position : positions) {
+                            expected.add(String.format("%s-%02d-%02d-%d-%s", area, row, bay, level, position));
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals(expected.size(), space.size());
+        assertEquals(expected, space.codes().collect(Collectors.toList()));
+        assertEquals(expected.subList(17, 140), space.codes(17, 140).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testParallelStreamKeepsTheOrder() {
+        // Large enough for the spliterator to split
+        BinCodeSpace space = new BinCodeSpace(List.of("A", "B"), 50, 10, 3, List.of("L", "R"));
+        assertEquals(space.codes().collect(Collectors.toList()),
+                space.packed().parallel().mapToObj(space::format).collect(Collectors.toList()));
+        assertEquals(space.codes(1000, 5000).collect(Collectors.toList()),
+                space.packed(1000, 5000).parallel().mapToObj(space::format).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testFormatAndParseRoundTrip() {
+        BinCodeSpace space = new BinCodeSpace(List.of("COLD", "Z9"), 120, 40, 12, List.of("A", "B", "C"));
+        for (long ordinal = 0; ordinal < space.size(); ordinal += 37) {
+            long packed = space.packedAt(ordinal);
+            BinCodeSpace.Fields fields = BinCodeSpace.parse(space.format(packed));
+            assertNotNull(fields);
+            assertEquals(List.of("COLD", "Z9").get(BinCodeSpace.areaIndex(packed)), fields.area());
+            assertEquals(BinCodeSpace.row(packed), Integer.parseInt(fields.row()));
+            assertEquals(BinCodeSpace.bay(packed), Integer.parseInt(fields.bay()));
+            assertEquals(BinCodeSpace.level(packed), fields.level());
+            assertEquals(List.of("A", "B", "C").get(BinCodeSpace.positionIndex(packed)), fields.position());
+        }
+        assertEquals("A-03-B2-1-L", BinCodeSpace.formatCode("A", "3", "B2", 1, "L"));
+        assertEquals(new BinCodeSpace.Fields("A", "03", "B2", 1, "L"), BinCodeSpace.parse("A-03-B2-1-L"));
+    }
+
+    @Test
+    public void testRowFiltersNormalizeLikeStoredCodes() {
+        assertEquals("03", BinCodeSpace.twoDigits("3"));
+        assertEquals("03", BinCodeSpace.twoDigits("003"));
+        assertEquals("120", BinCodeSpace.twoDigits(" 0120 "));
+        assertEquals("B2", BinCodeSpace.twoDigits("B2"));
+    }
+
+    @Test
+    public void testNamesWithTheSeparatorAreRejected() {
+        assertThrows(ValidationException.class, () -> new BinCodeSpace(List.of("COLD-1"), 1, 1, 1, List.of("A")));
+        assertThrows(ValidationException.class, () -> new BinCodeSpace(List.of("A"), 1, 1, 1, List.of("L-1")));
+        assertNull(BinCodeSpace.parse("COLD-1-01-01-1-A"));
+        assertNull(BinCodeSpace.parse("A-01-01-X-A"));
+    }
+
+    @Test
+    public void testOversizedLayoutsAreRejected() {
+        List<String> areas = IntStream.range(0, 1 << 16).mapToObj(i -> "A" + i).toList();
+        List<String> positions = IntStream.range(0, 1 << 8).mapToObj(i -> "P" + i).toList();
+        // 2^64 bins: the product overflows a long
+        assertThrows(ValidationException.class, () -> new BinCodeSpace(areas, 65535, 65535, 255, positions));
+        assertThrows(ValidationException.class, () -> new BinCodeSpace(List.of("A"), 1000, 1000, 11, List.of("L")));
+        assertEquals(BinCodeSpace.MAX_SIZE, new BinCodeSpace(List.of("A"), 1000, 1000, 10, List.of("L")).size());
+    }
+}
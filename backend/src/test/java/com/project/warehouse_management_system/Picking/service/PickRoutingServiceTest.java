@@ -0,0 +1,83 @@
+package com.project.warehouse_management_system.Picking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PickRoutingServiceTest {
+
+    @Test
+    public void testTwoOptNeverLongerThanNearestNeighbour() {
+        Random random = new Random(5);
+        for (int run = 0; run < 300; run++) {
+            double[][] matrix = randomMatrix(random, 1 + random.nextInt(40));
+
+            int[] nearest = PickRoutingService.nearestNeighbour(matrix);
+            double nearestLength = length(matrix, nearest);
+            int[] improved = PickRoutingService.twoOpt(matrix, nearest.clone());
+
+            assertVisitsEveryStopOnce(improved, matrix.length - 1);
+            assertTrue(length(matrix, improved) <= nearestLength + 1e-9, "2-opt made the route longer");
+        }
+    }
+
+    @Test
+    public void testTwoOptUntanglesACrossing() {
+        // Depot at the origin, stops on the corners of a square; visiting them diagonally crosses the route
+        double[][] points = {{0, 0}, {0, 10}, {10, 0}, {10, 10}, {0, 10.5}};
+        double[][] matrix = euclidean(points);
+        int[] crossed = {1, 2, 3, 4};
+
+        int[] improved = PickRoutingService.twoOpt(matrix, crossed.clone());
+
+        assertVisitsEveryStopOnce(improved, 4);
+        assertTrue(length(matrix, improved) < length(matrix, crossed));
+    }
+
+    @Test
+    public void testSingleStop() {
+        double[][] matrix = {{0, 4}, {4, 0}};
+        assertEquals(1, PickRoutingService.twoOpt(matrix, PickRoutingService.nearestNeighbour(matrix))[0]);
+    }
+
+    // Closed tour depot -> stops -> depot, as PickRoutingService totals it
+    private static double length(double[][] matrix, int[] tour) {
+        double total = 0;
+        int previous = 0;
+        for (int stop : tour) {
+            total += matrix[previous][stop];
+            previous = stop;
+        }
+        return total + matrix[previous][0];
+    }
+
+    private static void assertVisitsEveryStopOnce(int[] tour, int stops) {
+        int[] sorted = tour.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < stops; i++) {
+            assertEquals(i + 1, sorted[i]);
+        }
+        assertEquals(stops, tour.length);
+    }
+
+    private static double[][] randomMatrix(Random random, int stops) {
+        double[][] points = new double[stops + 1][];
+        for (int i = 0; i <= stops; i++) {
+            points[i] = new double[]{random.nextDouble() * 100, random.nextDouble() * 40};
+        }
+        return euclidean(points);
+    }
+
+    private static double[][] euclidean(double[][] points) {
+        double[][] matrix = new double[points.length][points.length];
+        for (int i = 0; i < points.length; i++) {
+            for (int j = 0; j < points.length; j++) {
+                matrix[i][j] = Math.hypot(points[i][0] - points[j][0], points[i][1] - points[j][1]);
+            }
+        }
+        return matrix;
+    }
+}
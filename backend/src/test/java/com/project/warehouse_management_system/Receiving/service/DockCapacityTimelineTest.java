@@ -0,0 +1,69 @@
+package com.project.warehouse_management_system.Receiving.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DockCapacityTimelineTest {
+
+    @Test
+    public void testRangeAddAndMaxMatchAnArray() {
+        Random random = new Random(3);
+        long baseSlot = 1_000;
+        int size = 97;
+        DockCapacityTimeline timeline = new DockCapacityTimeline(baseSlot, size);
+        int[] slots = new int[size];
+
+        for (int step = 0; step < 5000; step++) {
+            long from = baseSlot - 5 + random.nextInt(size + 10);
+            long to = from + random.nextInt(20);
+            if (random.nextBoolean()) {
+                int delta = random.nextInt(5) - 2;
+                timeline.add(from, to, delta);
+                for (long slot = Math.max(from, baseSlot); slot < Math.min(to, baseSlot + size); slot++) {
+                    slots[(int) (slot - baseSlot)] += delta;
+                }
+            } else {
+                assertEquals(expectedMax(slots, baseSlot, from, to), timeline.max(from, to));
+            }
+        }
+    }
+
+    @Test
+    public void testReleasingAnAppointmentFreesItsSlots() {
+        DockCapacityTimeline timeline = new DockCapacityTimeline(0, 24);
+        timeline.add(8, 12, 1);
+        timeline.add(10, 14, 1);
+        assertEquals(2, timeline.max(0, 24));
+        assertEquals(1, timeline.max(12, 14));
+
+        timeline.add(10, 14, -1);
+        assertEquals(1, timeline.max(0, 24));
+        assertEquals(0, timeline.max(12, 14));
+    }
+
+    @Test
+    public void testRangesOutsideTheHorizonAreIgnored() {
+        DockCapacityTimeline timeline = new DockCapacityTimeline(100, 10);
+        timeline.add(90, 100, 3);
+        timeline.add(110, 120, 3);
+        assertEquals(0, timeline.max(100, 110));
+        assertEquals(0, timeline.max(50, 60));
+        assertEquals(0, timeline.max(105, 105));
+
+        timeline.add(95, 102, 2);
+        assertEquals(2, timeline.max(0, 1000));
+        assertEquals(0, timeline.max(102, 110));
+    }
+
+    // Empty or fully outside windows report 0, like the timeline
+    private static int expectedMax(int[] slots, long baseSlot, long from, long to) {
+        int best = Integer.MIN_VALUE;
+        for (long slot = Math.max(from, baseSlot); slot < Math.min(to, baseSlot + slots.length); slot++) {
+            best = Math.max(best, slots[(int) (slot - baseSlot)]);
+        }
+        return best == Integer.MIN_VALUE ? 0 : best;
+    }
+}
@@ -0,0 +1,106 @@
+package com.project.warehouse_management_system.Shipment.service;
+
+import com.project.warehouse_management_system.BaseClasses.GeoCoordinates;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeoGridTest {
+
+    @Test
+    public void testNearestMatchesBruteForce() {
+        Random random = new Random(7);
+        Map<Long, double[]> points = new HashMap<>();
+        for (long id = 0; id < 2000; id++) {
+            points.put(id, new double[]{random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180});
+        }
+        GeoGrid grid = new GeoGrid(2);
+        grid.replaceAll(points);
+
+        for (int query = 0; query < 200; query++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            assertSameHits(bruteForce(points, latitude, longitude, 10, Double.MAX_VALUE),
+                    grid.nearest(latitude, longitude, 10, Double.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void testNearestAcrossTheAntimeridian() {
+        Random random = new Random(11);
+        Map<Long, double[]> points = new HashMap<>();
+        for (long id = 0; id < 500; id++) {
+            double longitude = random.nextBoolean() ? 180 - random.nextDouble() * 5 : -180 + random.nextDouble() * 5;
+            points.put(id, new double[]{random.nextDouble() * 20 - 10, longitude});
+        }
+        GeoGrid grid = new GeoGrid(1);
+        grid.replaceAll(points);
+
+        for (double longitude : new double[]{179.9, -179.9, 180, -180}) {
+            for (int k : new int[]{1, 5, 50}) {
+                assertSameHits(bruteForce(points, 0, longitude, k, Double.MAX_VALUE), grid.nearest(0, longitude, k, Double.MAX_VALUE));
+                assertSameHits(bruteForce(points, 0, longitude, k, 300), grid.nearest(0, longitude, k, 300));
+            }
+            assertSameHits(bruteForce(points, 0, longitude, Integer.MAX_VALUE, 200), grid.within(0, longitude, 200));
+        }
+    }
+
+    @Test
+    public void testNearestNearThePoles() {
+        Random random = new Random(13);
+        Map<Long, double[]> points = new HashMap<>();
+        for (long id = 0; id < 500; id++) {
+            double latitude = 85 + random.nextDouble() * 5;
+            points.put(id, new double[]{random.nextBoolean() ? latitude : -latitude, random.nextDouble() * 360 - 180});
+        }
+        GeoGrid grid = new GeoGrid(1);
+        grid.replaceAll(points);
+
+        for (double[] query : new double[][]{{90, 0}, {-90, 0}, {89.5, 120}, {-88, -170}, {84, 45}}) {
+            for (int k : new int[]{1, 5, 50}) {
+                assertSameHits(bruteForce(points, query[0], query[1], k, Double.MAX_VALUE),
+                        grid.nearest(query[0], query[1], k, Double.MAX_VALUE));
+            }
+            assertSameHits(bruteForce(points, query[0], query[1], Integer.MAX_VALUE, 400),
+                    grid.within(query[0], query[1], 400));
+        }
+    }
+
+    @Test
+    public void testMovedAndRemovedPointsAreUpdated() {
+        GeoGrid grid = new GeoGrid(1);
+        grid.put(1, 10, 10);
+        grid.put(2, 20, 20);
+        grid.put(1, 40, 40);
+        grid.remove(2);
+
+        List<GeoGrid.Hit> hits = grid.nearest(10, 10, 5, Double.MAX_VALUE);
+        assertEquals(1, grid.size());
+        assertEquals(1, hits.size());
+        assertEquals(1, hits.get(0).id());
+        assertEquals(40, hits.get(0).latitude(), 0);
+    }
+
+    private static List<GeoGrid.Hit> bruteForce(Map<Long, double[]> points, double latitude, double longitude,
+                                                int k, double maxKm) {
+        List<GeoGrid.Hit> hits = new ArrayList<>();
+        points.forEach((id, point) -> {
+            double distance = GeoCoordinates.distanceKm(latitude, longitude, point[0], point[1]);
+            if (distance <= maxKm) {
+                hits.add(new GeoGrid.Hit(id, point[0], point[1], distance));
+            }
+        });
+        hits.sort(Comparator.comparingDouble(GeoGrid.Hit::distanceKm).thenComparingLong(GeoGrid.Hit::id));
+        return hits.subList(0, Math.min(k, hits.size()));
+    }
+
+    private static void assertSameHits(List<GeoGrid.Hit> expected, List<GeoGrid.Hit> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).id(), actual.get(i).id());
+            assertEquals(expected.get(i).distanceKm(), actual.get(i).distanceKm(), 1e-9);
+        }
+    }
+}
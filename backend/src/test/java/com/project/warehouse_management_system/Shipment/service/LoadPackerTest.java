@@ -0,0 +1,71 @@
+package com.project.warehouse_management_system.Shipment.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadPackerTest {
+
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    public void testLoadsRespectCapacityAndDestination() {
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            List<LoadPacker.Item> items = new ArrayList<>();
+            int orders = 1 + random.nextInt(60);
+            for (int i = 0; i < orders; i++) {
+                items.add(new LoadPacker.Item(i, "D" + random.nextInt(5), 1 + random.nextInt(1000)));
+            }
+            List<LoadPacker.Vehicle> trucks = new ArrayList<>();
+            int vehicles = random.nextInt(15);
+            for (int i = 0; i < vehicles; i++) {
+                trucks.add(new LoadPacker.Vehicle(i, 500 + random.nextInt(4) * 250));
+            }
+
+            LoadPacker.Result result = LoadPacker.pack(new ArrayList<>(items), trucks);
+
+            Set<Long> usedTrucks = new HashSet<>();
+            Set<Long> placed = new HashSet<>();
+            for (LoadPacker.Load load : result.loads()) {
+                assertFalse(load.items.isEmpty());
+                assertTrue(usedTrucks.add(load.truck.truckId()), "truck used by two loads");
+                double weight = 0;
+                for (LoadPacker.Item item : load.items) {
+                    assertEquals(load.destination, item.destination(), "load mixes destinations");
+                    assertTrue(placed.add(item.orderId()));
+                    weight += item.weight();
+                }
+                assertEquals(weight, load.weight, EPSILON);
+                assertTrue(weight <= load.truck.capacity() + EPSILON, "load exceeds truck capacity");
+            }
+            result.tooHeavy().forEach(item -> assertTrue(placed.add(item.orderId())));
+            result.noTruck().forEach(item -> assertTrue(placed.add(item.orderId())));
+            assertEquals(orders, placed.size(), "every order is loaded or reported once");
+        }
+    }
+
+    @Test
+    public void testOrderHeavierThanEveryTruckIsReported() {
+        LoadPacker.Result result = LoadPacker.pack(
+                new ArrayList<>(List.of(new LoadPacker.Item(1, "A", 900), new LoadPacker.Item(2, "A", 100))),
+                List.of(new LoadPacker.Vehicle(7, 500)));
+
+        assertEquals(1, result.tooHeavy().size());
+        assertEquals(1, result.tooHeavy().get(0).orderId());
+        assertEquals(1, result.loads().size());
+        assertEquals(7, result.loads().get(0).truck.truckId());
+    }
+
+    @Test
+    public void testDestinationsNeverShareALoad() {
+        LoadPacker.Result result = LoadPacker.pack(
+                new ArrayList<>(List.of(new LoadPacker.Item(1, "A", 10), new LoadPacker.Item(2, "B", 10))),
+                List.of(new LoadPacker.Vehicle(1, 1000), new LoadPacker.Vehicle(2, 1000)));
+
+        assertEquals(2, result.loads().size());
+        assertTrue(result.noTruck().isEmpty());
+    }
+}
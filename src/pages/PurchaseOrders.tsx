@@ -10,12 +10,14 @@ import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from '@
 import { Tabs, TabsContent, TabsList, TabsTrigger } from '@/components/ui/tabs';
 import { Badge } from '@/components/ui/badge';
 import { ScrollArea } from '@/components/ui/scroll-area';
-import { PurchaseOrder, PurchaseOrderProduct } from '../types/purchaseOrder';
+import { PurchaseOrder, PurchaseOrderProduct, PurchaseOrderStatus } from '../types/purchaseOrder';
 import { purchaseOrderApi, userApi, productApi } from '../services/api';
 import { useToast } from '@/components/ui/use-toast';
 import { useAuth } from '@/contexts/AuthContext';
 import { format } from 'date-fns';
 
+const PAGE_SIZE = 50;
+
 const PurchaseOrders: React.FC = () => {
   const { user } = useAuth();
   const { toast } = useToast();
@@ -24,6 +26,9 @@ const PurchaseOrders: React.FC = () => {
   const [purchaseOrders, setPurchaseOrders] = useState<PurchaseOrder[]>([]);
   const [loading, setLoading] = useState<boolean>(true);
   const [activeTab, setActiveTab] = useState<string>("all");
+  // The list is read one page at a time, newest first
+  const [page, setPage] = useState<number>(0);
+  const [totalPages, setTotalPages] = useState<number>(0);
   
   const [isCreateDialogOpen, setIsCreateDialogOpen] = useState<boolean>(false);
   const [isViewDialogOpen, setIsViewDialogOpen] = useState<boolean>(false);
@@ -56,25 +61,28 @@ const PurchaseOrders: React.FC = () => {
   const [loadingSuppliers, setLoadingSuppliers] = useState<boolean>(false);
 
   useEffect(() => {
-    fetchPurchaseOrders();
     fetchProducts();
     fetchSuppliers();
-  }, [activeTab, user]);
+  }, [user]);
+
+  useEffect(() => {
+    fetchPurchaseOrders();
+  }, [activeTab, user, page]);
+
+  const handleTabChange = (tab: string) => {
+    setActiveTab(tab);
+    setPage(0);
+  };
 
   const fetchPurchaseOrders = async () => {
     try {
       setLoading(true);
-      let orders: PurchaseOrder[] = [];
-      
-      if (user?.roles.includes('Supplier')) {
-        orders = await purchaseOrderApi.getBySupplier(user.username);
-      } else if (activeTab !== 'all') {
-        orders = await purchaseOrderApi.getByStatus(activeTab as any);
-      } else {
-        orders = await purchaseOrderApi.getAll();
-      }
-      
-      setPurchaseOrders(orders);
+      const status = activeTab !== 'all' ? (activeTab as PurchaseOrderStatus) : undefined;
+      const supplierName = user?.roles.includes('Supplier') ? user.username : undefined;
+      const result = await purchaseOrderApi.getPage(page, PAGE_SIZE, status, supplierName);
+
+      setPurchaseOrders(result.content);
+      setTotalPages(result.totalPages);
     } catch (error) {
       console.error('Error fetching purchase orders:', error);
       toast({
@@ -325,7 +333,7 @@ const PurchaseOrders: React.FC = () => {
         )}
       </div>
 
-      <Tabs defaultValue="all" value={activeTab} onValueChange={setActiveTab}>
+      <Tabs defaultValue="all" value={activeTab} onValueChange={handleTabChange}>
         <TabsList className="mb-4">
           <TabsTrigger value="all">All</TabsTrigger>
           <TabsTrigger value="Pending">Pending</TabsTrigger>
@@ -383,6 +391,27 @@ const PurchaseOrders: React.FC = () => {
               </TableBody>
             </Table>
           </Card>
+          {totalPages > 1 && (
+            <div className="flex justify-end items-center gap-2 mt-4">
+              <Button
+                variant="outline"
+                size="sm"
+                disabled={loading || page === 0}
+                onClick={() => setPage(page - 1)}
+              >
+                Previous
+              </Button>
+              <span className="text-sm">Page {page + 1} of {totalPages}</span>
+              <Button
+                variant="outline"
+                size="sm"
+                disabled={loading || page + 1 >= totalPages}
+                onClick={() => setPage(page + 1)}
+              >
+                Next
+              </Button>
+            </div>
+          )}
         </TabsContent>
       </Tabs>
 
@@ -1,6 +1,6 @@
 import axios from 'axios';
 import { keycloak } from '@/config/keycloak';
-import { Pallet, PurchaseOrder, PurchaseOrderStatus } from '../types/purchaseOrder';
+import { Page, Pallet, PurchaseOrder, PurchaseOrderStatus } from '../types/purchaseOrder';
 
 // Create axios instance with base configuration
 const api = axios.create({
@@ -27,8 +27,8 @@ api.interceptors.request.use(
 
 // Purchase Order API endpoints
 export const purchaseOrderApi = {
-  getAll: async (): Promise<PurchaseOrder[]> => {
-    const response = await api.get('/purchase-orders/get');
+  getPage: async (page = 0, size = 50, status?: PurchaseOrderStatus, supplierName?: string): Promise<Page<PurchaseOrder>> => {
+    const response = await api.get('/purchase-orders', { params: { page, size, status, supplierName } });
     return response.data;
   },
   getById: async (id: number): Promise<PurchaseOrder> => {
@@ -47,12 +47,12 @@ export const purchaseOrderApi = {
     const response = await api.post(`/purchase-orders/${purchaseOrderId}/pallets`, pallet);
     return response.data;
   },
-  getBySupplier: async (supplierName: string): Promise<PurchaseOrder[]> => {
-    const response = await api.get(`/purchase-orders/supplier/${supplierName}`);
+  getBySupplier: async (supplierName: string, page = 0, size = 50): Promise<Page<PurchaseOrder>> => {
+    const response = await api.get(`/purchase-orders/supplier/${supplierName}`, { params: { page, size } });
     return response.data;
   },
-  getByStatus: async (status: PurchaseOrderStatus): Promise<PurchaseOrder[]> => {
-    const response = await api.get(`/purchase-orders/status/${status}`);
+  getByStatus: async (status: PurchaseOrderStatus, page = 0, size = 50): Promise<Page<PurchaseOrder>> => {
+    const response = await api.get(`/purchase-orders/status/${status}`, { params: { page, size } });
     return response.data;
   },
 };
@@ -31,4 +31,12 @@ export interface PurchaseOrder {
   pallets: Pallet[];
 }
 
-export type PurchaseOrderStatus = "Pending" | "Processing" | "Ready to Ship" | "Shipping"; 
\ No newline at end of file
+export type PurchaseOrderStatus = "Pending" | "Processing" | "Ready to Ship" | "Shipping"; 
+
+export interface Page<T> {
+  content: T[];
+  page: number;
+  size: number;
+  totalElements: number;
+  totalPages: number;
+}